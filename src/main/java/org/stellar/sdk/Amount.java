@@ -0,0 +1,215 @@
+package org.stellar.sdk;
+
+import com.google.common.math.LongMath;
+
+import java.math.BigDecimal;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Represents an amount of an asset as a number of stroops, the smallest unit of amounts in Stellar: one unit of
+ * an asset, e.g. 1 XLM, is 10,000,000 stroops.
+ * <p>Amounts are backed by a <code>long</code>, so arithmetic is exact and throws {@link ArithmeticException} on
+ * overflow. {@link #parseStroops(CharSequence)} and {@link #appendTo(StringBuilder, long)} convert decimal
+ * strings used by Horizon and operations without allocating, for code converting amounts in bulk.</p>
+ */
+public final class Amount implements Comparable<Amount> {
+  /**
+   * Number of decimal places of amounts.
+   */
+  public static final int DECIMALS = 7;
+  /**
+   * Number of stroops in one unit of an asset.
+   */
+  public static final long STROOPS_PER_UNIT = 10000000L;
+
+  public static final Amount ZERO = new Amount(0);
+
+  private final long stroops;
+
+  private Amount(long stroops) {
+    this.stroops = stroops;
+  }
+
+  /**
+   * Returns an amount of the given number of stroops.
+   * @param stroops Ex. <code>12500000</code> for 1.25
+   */
+  public static Amount ofStroops(long stroops) {
+    return stroops == 0 ? ZERO : new Amount(stroops);
+  }
+
+  /**
+   * Parses a decimal amount.
+   * @param amount Ex. "1.25" or "1.2500000"
+   * @throws NumberFormatException when the amount is not a decimal number
+   * @throws ArithmeticException when the amount has more than {@link #DECIMALS} decimal places or doesn't fit
+   *     in a <code>long</code> number of stroops
+   */
+  public static Amount parse(String amount) {
+    return ofStroops(parseStroops(amount));
+  }
+
+  /**
+   * Parses a decimal amount to a number of stroops without allocating.
+   * @param amount Ex. "1.25" or "1.2500000"
+   * @return number of stroops, Ex. <code>12500000</code>
+   * @throws NumberFormatException when the amount is not a decimal number
+   * @throws ArithmeticException when the amount has more than {@link #DECIMALS} decimal places or doesn't fit
+   *     in a <code>long</code> number of stroops
+   */
+  public static long parseStroops(CharSequence amount) {
+    checkNotNull(amount, "amount cannot be null");
+    int length = amount.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (amount.charAt(0) == '-' || amount.charAt(0) == '+')) {
+      negative = amount.charAt(0) == '-';
+      i++;
+    }
+
+    // Accumulated as a negative number, like Long.parseLong, so Long.MIN_VALUE can be parsed.
+    long result = 0;
+    int decimals = -1;
+    boolean digits = false;
+    for (; i < length; i++) {
+      char c = amount.charAt(i);
+      if (c == '.' && decimals < 0) {
+        decimals = 0;
+        continue;
+      }
+      if (c == 'e' || c == 'E') {
+        // Scientific notation isn't used by Horizon, but is accepted for compatibility.
+        return new BigDecimal(amount.toString()).movePointRight(DECIMALS).longValueExact();
+      }
+      if (c < '0' || c > '9') {
+        throw new NumberFormatException("Invalid amount: " + amount);
+      }
+      digits = true;
+      int digit = c - '0';
+      if (decimals >= 0) {
+        if (decimals == DECIMALS) {
+          if (digit != 0) {
+            throw new ArithmeticException("Rounding necessary");
+          }
+          continue;
+        }
+        decimals++;
+      }
+      result = LongMath.checkedSubtract(LongMath.checkedMultiply(result, 10), digit);
+    }
+    if (!digits) {
+      throw new NumberFormatException("Invalid amount: " + amount);
+    }
+
+    for (int scale = Math.max(decimals, 0); scale < DECIMALS; scale++) {
+      result = LongMath.checkedMultiply(result, 10);
+    }
+    if (negative) {
+      return result;
+    }
+    if (result == Long.MIN_VALUE) {
+      throw new ArithmeticException("Overflow");
+    }
+    return -result;
+  }
+
+  /**
+   * Appends a number of stroops as a decimal amount without trailing zeros, Ex. "1.25" for
+   * <code>12500000</code>, without allocating.
+   * @param builder builder to append to
+   * @param stroops number of stroops
+   * @return <code>builder</code>
+   */
+  public static StringBuilder appendTo(StringBuilder builder, long stroops) {
+    long units = stroops / STROOPS_PER_UNIT;
+    long fraction = Math.abs(stroops % STROOPS_PER_UNIT);
+    if (stroops < 0) {
+      builder.append('-');
+      units = -units;
+    }
+    builder.append(units);
+    if (fraction == 0) {
+      return builder;
+    }
+
+    int decimals = DECIMALS;
+    while (fraction % 10 == 0) {
+      fraction /= 10;
+      decimals--;
+    }
+    builder.append('.');
+    for (long digit = LongMath.pow(10, decimals - 1); digit > 0; digit /= 10) {
+      builder.append((char) ('0' + fraction / digit % 10));
+    }
+    return builder;
+  }
+
+  /**
+   * Formats a number of stroops as a decimal amount without trailing zeros.
+   * @param stroops number of stroops, Ex. <code>12500000</code>
+   * @return decimal amount, Ex. "1.25"
+   */
+  public static String format(long stroops) {
+    return appendTo(new StringBuilder(21), stroops).toString();
+  }
+
+  /**
+   * Returns the number of stroops.
+   */
+  public long getStroops() {
+    return stroops;
+  }
+
+  public Amount add(Amount other) {
+    return ofStroops(LongMath.checkedAdd(stroops, other.stroops));
+  }
+
+  public Amount subtract(Amount other) {
+    return ofStroops(LongMath.checkedSubtract(stroops, other.stroops));
+  }
+
+  /**
+   * Returns this amount multiplied by an integer, Ex. a price of a number of items.
+   */
+  public Amount multiply(long multiplier) {
+    return ofStroops(LongMath.checkedMultiply(stroops, multiplier));
+  }
+
+  public Amount negate() {
+    return ofStroops(LongMath.checkedSubtract(0, stroops));
+  }
+
+  /**
+   * Returns -1, 0 or 1 when the amount is negative, zero or positive.
+   */
+  public int signum() {
+    return Long.signum(stroops);
+  }
+
+  @Override
+  public int compareTo(Amount other) {
+    return stroops < other.stroops ? -1 : (stroops == other.stroops ? 0 : 1);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (!(object instanceof Amount)) {
+      return false;
+    }
+    return stroops == ((Amount) object).stroops;
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) (stroops ^ (stroops >>> 32));
+  }
+
+  /**
+   * Returns the decimal amount without trailing zeros, Ex. "1.25".
+   */
+  @Override
+  public String toString() {
+    return format(stroops);
+  }
+}
@@ -74,6 +74,15 @@ public class ChangeTrustOperation extends Operation {
       this.limit = checkNotNull(limit, "limit cannot be null");
     }
 
+    /**
+     * Creates a new ChangeTrust builder.
+     * @param asset The asset of the trustline.
+     * @param limit The limit of the trustline.
+     */
+    public Builder(Asset asset, Amount limit) {
+      this(asset, checkNotNull(limit, "limit cannot be null").toString());
+    }
+
     /**
      * Set source account of this operation
      * @param sourceAccount Source account
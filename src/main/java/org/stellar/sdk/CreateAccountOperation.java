@@ -81,6 +81,15 @@ public class CreateAccountOperation extends Operation {
       this.startingBalance = startingBalance;
     }
 
+    /**
+     * Creates a new CreateAccount builder.
+     * @param destination The destination keypair (uses only the public key).
+     * @param startingBalance The initial balance to start with.
+     */
+    public Builder(KeyPair destination, Amount startingBalance) {
+      this(destination, checkNotNull(startingBalance, "startingBalance cannot be null").toString());
+    }
+
     /**
      * Sets the source account for this operation.
      * @param account The operation's source account.
@@ -112,6 +112,17 @@ public class CreatePassiveOfferOperation extends Operation {
       this.price = checkNotNull(price, "price cannot be null");
     }
 
+    /**
+     * Creates a new CreatePassiveOffer builder.
+     * @param selling The asset being sold in this operation
+     * @param buying The asset being bought in this operation
+     * @param amount Amount of selling being sold.
+     * @param price Price of 1 unit of selling in terms of buying.
+     */
+    public Builder(Asset selling, Asset buying, Amount amount, String price) {
+      this(selling, buying, checkNotNull(amount, "amount cannot be null").toString(), price);
+    }
+
     /**
      * Sets the source account for this operation.
      * @param sourceAccount The operation's source account.
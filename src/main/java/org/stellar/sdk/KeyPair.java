@@ -28,8 +28,12 @@ public class KeyPair {
 
   private static final EdDSANamedCurveSpec ed25519 = EdDSANamedCurveTable.getByName("ed25519-sha-512");
 
-  private final EdDSAPublicKey mPublicKey;
+  private final byte[] mPublicKeyBytes;
   private final EdDSAPrivateKey mPrivateKey;
+  // Decompressing the curve point of a public key is costly, so keys decoded from account IDs in responses are
+  // only materialized when a signature is verified.
+  private volatile EdDSAPublicKey mPublicKey;
+  private volatile String mAccountId;
 
   /**
    * Creates a new KeyPair without a private key. Useful to simply verify a signature from a
@@ -47,9 +51,16 @@ public class KeyPair {
    */
   public KeyPair(EdDSAPublicKey publicKey, EdDSAPrivateKey privateKey) {
     mPublicKey = checkNotNull(publicKey, "publicKey cannot be null");
+    mPublicKeyBytes = publicKey.getAbyte();
     mPrivateKey = privateKey;
   }
 
+  private KeyPair(byte[] publicKey, String accountId) {
+    mPublicKeyBytes = publicKey;
+    mPrivateKey = null;
+    mAccountId = accountId;
+  }
+
   /**
    * Returns true if this Keypair is capable of signing
    */
@@ -102,17 +113,26 @@ public class KeyPair {
    */
   public static KeyPair fromAccountId(String accountId) {
     byte[] decoded = StrKey.decodeStellarAccountId(accountId);
-    return fromPublicKey(decoded);
+    checkPublicKeyLength(decoded);
+    return new KeyPair(decoded, accountId);
   }
 
   /**
    * Creates a new Stellar keypair from a 32 byte address.
+   * The key is decoded to a curve point only when it's used to verify a signature.
    * @param publicKey The 32 byte public key.
    * @return {@link KeyPair}
    */
   public static KeyPair fromPublicKey(byte[] publicKey) {
-    EdDSAPublicKeySpec publicKeySpec = new EdDSAPublicKeySpec(publicKey, ed25519);
-    return new KeyPair(new EdDSAPublicKey(publicKeySpec));
+    checkPublicKeyLength(publicKey);
+    // Copied, so reusing the caller's buffer doesn't change key pairs shared between responses.
+    return new KeyPair(publicKey.clone(), null);
+  }
+
+  private static void checkPublicKeyLength(byte[] publicKey) {
+    if (publicKey.length != 32) {
+      throw new IllegalArgumentException("public-key length is wrong");
+    }
   }
 
   /**
@@ -128,7 +148,12 @@ public class KeyPair {
    * Returns the human readable account ID encoded in strkey.
    */
   public String getAccountId() {
-    return StrKey.encodeStellarAccountId(mPublicKey.getAbyte());
+    String accountId = mAccountId;
+    if (accountId == null) {
+      accountId = StrKey.encodeStellarAccountId(mPublicKeyBytes);
+      mAccountId = accountId;
+    }
+    return accountId;
   }
 
   /**
@@ -138,8 +163,23 @@ public class KeyPair {
     return StrKey.encodeStellarSecretSeed(mPrivateKey.getSeed());
   }
 
+  /**
+   * Returns a copy of the 32 byte public key.
+   */
   public byte[] getPublicKey() {
-    return mPublicKey.getAbyte();
+    return mPublicKeyBytes.clone();
+  }
+
+  /**
+   * Returns the public key, decoding it to a curve point on first use.
+   */
+  private EdDSAPublicKey publicKey() {
+    EdDSAPublicKey publicKey = mPublicKey;
+    if (publicKey == null) {
+      publicKey = new EdDSAPublicKey(new EdDSAPublicKeySpec(mPublicKeyBytes, ed25519));
+      mPublicKey = publicKey;
+    }
+    return publicKey;
   }
 
   public SignatureHint getSignatureHint() {
@@ -229,7 +269,7 @@ public class KeyPair {
   public boolean verify(byte[] data, byte[] signature) {
     try {
       Signature sgr = new EdDSAEngine(MessageDigest.getInstance("SHA-512"));
-      sgr.initVerify(mPublicKey);
+      sgr.initVerify(publicKey());
       sgr.update(data);
       return sgr.verify(signature);
     } catch (SignatureException e) {
@@ -6,7 +6,6 @@ import org.stellar.sdk.xdr.XdrDataOutputStream;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.math.BigDecimal;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -18,17 +17,13 @@ public abstract class Operation {
 
   private KeyPair mSourceAccount;
 
-  private static final BigDecimal ONE = new BigDecimal(10).pow(7);
-
   protected static long toXdrAmount(String value) {
     value = checkNotNull(value, "value cannot be null");
-    BigDecimal amount = new BigDecimal(value).multiply(Operation.ONE);
-    return amount.longValueExact();
+    return Amount.parseStroops(value);
   }
 
   protected static String fromXdrAmount(long value) {
-    BigDecimal amount = new BigDecimal(value).divide(Operation.ONE);
-    return amount.toPlainString();
+    return Amount.format(value);
   }
 
   /**
@@ -155,6 +155,20 @@ public class PathPaymentOperation extends Operation {
       this.destAmount = checkNotNull(destAmount, "destAmount cannot be null");
     }
 
+    /**
+     * Creates a new PathPaymentOperation builder.
+     * @param sendAsset The asset deducted from the sender's account.
+     * @param sendMax The maximum amount of send asset to deduct.
+     * @param destination Payment destination
+     * @param destAsset The asset the destination account receives.
+     * @param destAmount The amount of destination asset the destination account receives.
+     */
+    public Builder(Asset sendAsset, Amount sendMax, KeyPair destination,
+        Asset destAsset, Amount destAmount) {
+      this(sendAsset, checkNotNull(sendMax, "sendMax cannot be null").toString(), destination,
+          destAsset, checkNotNull(destAmount, "destAmount cannot be null").toString());
+    }
+
     /**
      * Sets path for this operation
      * @param path The assets (other than send asset and destination asset) involved in the offers the path takes. For example, if you can only find a path from USD to EUR through XLM and BTC, the path would be USD -&raquo; XLM -&raquo; BTC -&raquo; EUR and the path field would contain XLM and BTC.
@@ -99,6 +99,16 @@ public class PaymentOperation extends Operation {
       this.amount = amount;
     }
 
+    /**
+     * Creates a new PaymentOperation builder.
+     * @param destination The destination keypair (uses only the public key).
+     * @param asset The asset to send.
+     * @param amount The amount to send.
+     */
+    public Builder(KeyPair destination, Asset asset, Amount amount) {
+      this(destination, asset, checkNotNull(amount, "amount cannot be null").toString());
+    }
+
     /**
      * Sets the source account for this operation.
      * @param account The operation's source account.
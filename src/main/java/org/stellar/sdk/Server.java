@@ -1,11 +1,20 @@
 package org.stellar.sdk;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
 import okhttp3.*;
 import org.stellar.sdk.requests.*;
 import org.stellar.sdk.responses.GsonSingleton;
 import org.stellar.sdk.responses.SubmitTransactionResponse;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Main class used to connect to Horizon server.
@@ -13,84 +22,177 @@ import java.io.IOException;
 public class Server {
     private OkHttpClient httpClient;
     private HttpUrl serverUrl;
+    private RequestContext requestContext;
+    private PriorityDispatcher priorityDispatcher;
 
     public Server(String serverUrl) {
-        this(new OkHttpClient.Builder().build(), serverUrl);
+        this(new Builder(serverUrl));
     }
 
     public Server(OkHttpClient httpClient, String serverUrl) {
+        this(new Builder(serverUrl).httpClient(httpClient));
+    }
+
+    /**
+     * @param httpClient HTTP client
+     * @param serverUrl Horizon server URL
+     * @param decodeExecutor Executor used to decode responses of asynchronous requests
+     */
+    public Server(OkHttpClient httpClient, String serverUrl, Executor decodeExecutor) {
+        this(new Builder(serverUrl).httpClient(httpClient).decodeExecutor(decodeExecutor));
+    }
+
+    /**
+     * @param httpClient HTTP client
+     * @param serverUrl Horizon server URL
+     * @param decodeExecutor Executor used to decode responses of asynchronous requests
+     * @param rateLimitGovernor {@link RateLimitGovernor} shared by all requests sent to this server
+     *                          or <code>null</code> if requests should not be paced
+     */
+    public Server(OkHttpClient httpClient, String serverUrl, Executor decodeExecutor, RateLimitGovernor rateLimitGovernor) {
+        this(new Builder(serverUrl).httpClient(httpClient).decodeExecutor(decodeExecutor).rateLimitGovernor(rateLimitGovernor));
+    }
+
+    /**
+     * Creates a server that routes requests between Horizon servers of the given {@link HorizonPool}.
+     * @param httpClient HTTP client
+     * @param horizonPool Horizon servers to use
+     */
+    public Server(OkHttpClient httpClient, HorizonPool horizonPool) {
+        this(new Builder(horizonPool).httpClient(httpClient));
+    }
+
+    /**
+     * Creates a server that routes requests between Horizon servers of the given {@link HorizonPool}.
+     * @param httpClient HTTP client
+     * @param horizonPool Horizon servers to use
+     * @param decodeExecutor Executor used to decode responses of asynchronous requests
+     * @param rateLimitGovernor {@link RateLimitGovernor} shared by all requests sent to this server
+     *                          or <code>null</code> if requests should not be paced
+     */
+    public Server(OkHttpClient httpClient, HorizonPool horizonPool, Executor decodeExecutor, RateLimitGovernor rateLimitGovernor) {
+        this(new Builder(horizonPool).httpClient(httpClient).decodeExecutor(decodeExecutor).rateLimitGovernor(rateLimitGovernor));
+    }
+
+    private Server(Builder builder) {
+        OkHttpClient httpClient = builder.httpClient != null ? builder.httpClient : new OkHttpClient.Builder().build();
+        ResponseCache responseCache = builder.responseCache;
+        if (builder.rateLimitGovernor != null || builder.horizonPool != null || builder.circuitBreaker != null ||
+                (responseCache != null && responseCache.getDiskCache() != null) ||
+                builder.transportProfile != null || builder.metricsSink != null || builder.priorityDispatcher != null) {
+            OkHttpClient.Builder httpClientBuilder = httpClient.newBuilder();
+            if (builder.transportProfile != null) {
+                builder.transportProfile.applyTo(httpClientBuilder);
+            }
+            if (builder.priorityDispatcher != null) {
+                // Calls reach OkHttp only when the priority dispatcher has a slot for them, so OkHttp's dispatcher
+                // must not queue them again in FIFO order.
+                Dispatcher dispatcher = new Dispatcher();
+                dispatcher.setMaxRequests(builder.priorityDispatcher.getMaxRequests());
+                dispatcher.setMaxRequestsPerHost(builder.priorityDispatcher.getMaxRequests());
+                httpClientBuilder.dispatcher(dispatcher);
+            }
+            if (builder.metricsSink != null) {
+                httpClientBuilder.eventListenerFactory(TimingEventListener.factory(builder.metricsSink));
+            }
+            if (builder.rateLimitGovernor != null) {
+                httpClientBuilder.addInterceptor(builder.rateLimitGovernor);
+            }
+            if (builder.horizonPool != null) {
+                httpClientBuilder.addInterceptor(builder.horizonPool);
+            }
+            if (builder.circuitBreaker != null) {
+                // After the pool, so requests are checked against the circuit of the selected server.
+                httpClientBuilder.addInterceptor(builder.circuitBreaker);
+            }
+            if (responseCache != null && responseCache.getDiskCache() != null) {
+                httpClientBuilder.cache(responseCache.getDiskCache());
+                httpClientBuilder.addNetworkInterceptor(responseCache.getNetworkInterceptor());
+            }
+            httpClient = httpClientBuilder.build();
+        }
         this.httpClient = httpClient;
-        this.serverUrl = HttpUrl.parse(serverUrl);
+        this.priorityDispatcher = builder.priorityDispatcher;
+        this.serverUrl = builder.horizonPool != null ? builder.horizonPool.getPrimaryUrl() : HttpUrl.parse(builder.serverUrl);
+        this.requestContext = new RequestContext.Builder(httpClient)
+                .decodeExecutor(builder.decodeExecutor)
+                .responseCache(responseCache)
+                .requestCoalescer(builder.requestCoalescer)
+                .requestHedger(builder.requestHedger)
+                .metricsSink(builder.metricsSink)
+                .priorityDispatcher(builder.priorityDispatcher)
+                .rateLimitGovernor(builder.rateLimitGovernor)
+                .build();
     }
 
     /**
      * Returns {@link AccountsRequestBuilder} instance.
      */
     public AccountsRequestBuilder accounts() {
-        return new AccountsRequestBuilder(httpClient, serverUrl);
+        return new AccountsRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link EffectsRequestBuilder} instance.
      */
     public EffectsRequestBuilder effects() {
-        return new EffectsRequestBuilder(httpClient, serverUrl);
+        return new EffectsRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link LedgersRequestBuilder} instance.
      */
     public LedgersRequestBuilder ledgers() {
-        return new LedgersRequestBuilder(httpClient, serverUrl);
+        return new LedgersRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link OffersRequestBuilder} instance.
      */
     public OffersRequestBuilder offers() {
-        return new OffersRequestBuilder(httpClient, serverUrl);
+        return new OffersRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link OperationsRequestBuilder} instance.
      */
     public OperationsRequestBuilder operations() {
-        return new OperationsRequestBuilder(httpClient, serverUrl);
+        return new OperationsRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link OrderBookRequestBuilder} instance.
      */
     public OrderBookRequestBuilder orderBook() {
-        return new OrderBookRequestBuilder(httpClient, serverUrl);
+        return new OrderBookRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link TradesRequestBuilder} instance.
      */
     public TradesRequestBuilder trades() {
-        return new TradesRequestBuilder(httpClient, serverUrl);
+        return new TradesRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link PathsRequestBuilder} instance.
      */
     public PathsRequestBuilder paths() {
-        return new PathsRequestBuilder(httpClient, serverUrl);
+        return new PathsRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link PaymentsRequestBuilder} instance.
      */
     public PaymentsRequestBuilder payments() {
-        return new PaymentsRequestBuilder(httpClient, serverUrl);
+        return new PaymentsRequestBuilder(requestContext, serverUrl);
     }
 
     /**
      * Returns {@link TransactionsRequestBuilder} instance.
      */
     public TransactionsRequestBuilder transactions() {
-        return new TransactionsRequestBuilder(httpClient, serverUrl);
+        return new TransactionsRequestBuilder(requestContext, serverUrl);
     }
 
     /**
@@ -100,6 +202,129 @@ public class Server {
      * @throws IOException
      */
     public SubmitTransactionResponse submitTransaction(Transaction transaction) throws IOException {
+        okhttp3.Response httpResponse = execute(this.httpClient.newCall(buildSubmitTransactionRequest(transaction)));
+        try {
+            return handleSubmitTransactionResponse(httpResponse);
+        } finally {
+            httpResponse.close();
+        }
+    }
+
+    /**
+     * Submits transaction to the network, cancelling the HTTP call when <code>cancellationToken</code> is cancelled.
+     * A cancelled submission may still have reached the network, so check the transaction before resubmitting it.
+     * @param transaction transaction to submit to the network.
+     * @param cancellationToken token cancelling the submission
+     * @return {@link SubmitTransactionResponse}
+     * @throws java.io.InterruptedIOException when the token is cancelled, {@link java.net.SocketTimeoutException}
+     *     when its deadline passes
+     * @throws IOException
+     */
+    public SubmitTransactionResponse submitTransaction(Transaction transaction, CancellationToken cancellationToken) throws IOException {
+        checkNotNull(cancellationToken, "cancellationToken cannot be null");
+        cancellationToken.throwIfCancelled();
+        final Call call = this.httpClient.newCall(buildSubmitTransactionRequest(transaction));
+        Runnable cancel = new Runnable() {
+            @Override
+            public void run() {
+                call.cancel();
+            }
+        };
+        cancellationToken.addListener(cancel);
+        try {
+            okhttp3.Response httpResponse = execute(call);
+            try {
+                return handleSubmitTransactionResponse(httpResponse);
+            } finally {
+                httpResponse.close();
+            }
+        } catch (IOException e) {
+            cancellationToken.throwIfCancelled();
+            throw e;
+        } finally {
+            cancellationToken.removeListener(cancel);
+        }
+    }
+
+    /**
+     * Submits transaction to the network asynchronously.
+     * Cancelling the returned future cancels the HTTP call.
+     * @param transaction transaction to submit to the network.
+     * @return future completed with {@link SubmitTransactionResponse}
+     */
+    public ListenableFuture<SubmitTransactionResponse> submitTransactionAsync(Transaction transaction) {
+        final SettableFuture<SubmitTransactionResponse> future = SettableFuture.create();
+        final Call call = this.httpClient.newCall(buildSubmitTransactionRequest(transaction));
+        future.addListener(new Runnable() {
+            @Override
+            public void run() {
+                if (future.isCancelled()) {
+                    call.cancel();
+                }
+            }
+        }, MoreExecutors.directExecutor());
+
+        Callback callback = new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.setException(e);
+            }
+
+            @Override
+            public void onResponse(Call call, final okhttp3.Response httpResponse) {
+                try {
+                    requestContext.getDecodeExecutor().execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                future.set(handleSubmitTransactionResponse(httpResponse));
+                            } catch (Throwable e) {
+                                future.setException(e);
+                            } finally {
+                                httpResponse.close();
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    httpResponse.close();
+                    future.setException(e);
+                }
+            }
+        };
+        if (priorityDispatcher != null) {
+            priorityDispatcher.enqueue(call, callback);
+        } else {
+            call.enqueue(callback);
+        }
+        return future;
+    }
+
+    /**
+     * Submits transaction to the network asynchronously, cancelling the HTTP call when
+     * <code>cancellationToken</code> is cancelled.
+     * @param transaction transaction to submit to the network.
+     * @param cancellationToken token cancelling the submission
+     * @return future completed with {@link SubmitTransactionResponse}, or failed like
+     *     {@link #submitTransaction(Transaction, CancellationToken)} when the token is cancelled
+     */
+    public ListenableFuture<SubmitTransactionResponse> submitTransactionAsync(Transaction transaction, CancellationToken cancellationToken) {
+        checkNotNull(cancellationToken, "cancellationToken cannot be null");
+        try {
+            cancellationToken.throwIfCancelled();
+        } catch (IOException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+        return cancellationToken.bind(submitTransactionAsync(transaction));
+    }
+
+    private okhttp3.Response execute(Call call) throws IOException {
+        if (priorityDispatcher != null) {
+            return priorityDispatcher.execute(call);
+        }
+        return call.execute();
+    }
+
+    private okhttp3.Request buildSubmitTransactionRequest(Transaction transaction) {
         HttpUrl.Builder urlBuilder = serverUrl.newBuilder();
         urlBuilder.addPathSegment("transactions");
         HttpUrl transactionsUrl = urlBuilder.build();
@@ -108,22 +333,156 @@ public class Server {
         formBodyBuilder.add("tx",  transaction.toEnvelopeXdrBase64());
         FormBody formBody = formBodyBuilder.build();
 
-        okhttp3.Request httpRequest = new Request.Builder().url(transactionsUrl).post(formBody).build();
-        okhttp3.Response httpResponse = this.httpClient.newCall(httpRequest).execute();
+        return new Request.Builder().url(transactionsUrl).post(formBody).tag(RequestPriority.HIGH).build();
+    }
 
+    private SubmitTransactionResponse handleSubmitTransactionResponse(okhttp3.Response httpResponse) throws IOException {
         if (httpResponse.isSuccessful()) {
             ResponseBody httpResponseBody = httpResponse.body();
             if (httpResponseBody == null) {
                 throw new ClientProtocolException("Response contains no content");
             }
 
-            String json = httpResponseBody.string();
-            return GsonSingleton.getInstance().fromJson(json, SubmitTransactionResponse.class);
+            return GsonSingleton.getInstance().fromJson(httpResponseBody.charStream(), SubmitTransactionResponse.class);
         } else {
             int statusCode = httpResponse.code();
             String statusMessage = httpResponse.message();
             throw new HttpResponseException(statusCode, statusMessage);
         }
+    }
+
+    /**
+     * Builds a new {@link Server}.
+     */
+    public static class Builder {
+        private final String serverUrl;
+        private final HorizonPool horizonPool;
+        private OkHttpClient httpClient;
+        private Executor decodeExecutor = MoreExecutors.directExecutor();
+        private RateLimitGovernor rateLimitGovernor;
+        private ResponseCache responseCache;
+        private RequestCoalescer requestCoalescer = new RequestCoalescer();
+        private RequestHedger requestHedger;
+        private CircuitBreaker circuitBreaker;
+        private TransportProfile transportProfile;
+        private MetricsSink metricsSink;
+        private PriorityDispatcher priorityDispatcher;
+
+        /**
+         * @param serverUrl Horizon server URL
+         */
+        public Builder(String serverUrl) {
+            this.serverUrl = checkNotNull(serverUrl, "serverUrl cannot be null");
+            this.horizonPool = null;
+        }
 
+        /**
+         * @param horizonPool Horizon servers to route requests between
+         */
+        public Builder(HorizonPool horizonPool) {
+            this.serverUrl = null;
+            this.horizonPool = checkNotNull(horizonPool, "horizonPool cannot be null");
+        }
+
+        /**
+         * Sets HTTP client used to send requests.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder httpClient(OkHttpClient httpClient) {
+            this.httpClient = checkNotNull(httpClient, "httpClient cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets executor used to decode responses of asynchronous requests.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder decodeExecutor(Executor decodeExecutor) {
+            this.decodeExecutor = checkNotNull(decodeExecutor, "decodeExecutor cannot be null");
+            return this;
+        }
+
+        /**
+         * Sets {@link RateLimitGovernor} shared by all requests. Requests are not paced by default.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder rateLimitGovernor(RateLimitGovernor rateLimitGovernor) {
+            this.rateLimitGovernor = rateLimitGovernor;
+            return this;
+        }
+
+        /**
+         * Sets {@link ResponseCache} shared by all request builders. Responses are not cached by default.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Sets {@link RequestCoalescer} shared by all request builders. By default identical <code>GET</code>
+         * requests in flight are coalesced, <code>null</code> disables coalescing.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder requestCoalescer(RequestCoalescer requestCoalescer) {
+            this.requestCoalescer = requestCoalescer;
+            return this;
+        }
+
+        /**
+         * Sets {@link RequestHedger} shared by all request builders. <code>GET</code> requests are not hedged
+         * by default.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder requestHedger(RequestHedger requestHedger) {
+            this.requestHedger = requestHedger;
+            return this;
+        }
+
+        /**
+         * Sets {@link CircuitBreaker} shared by all requests. There is no circuit breaker by default.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder circuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * Sets {@link TransportProfile} applied to the HTTP client, e.g. {@link TransportProfile#highThroughput()}.
+         * By default settings of the HTTP client are used.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder transportProfile(TransportProfile transportProfile) {
+            this.transportProfile = transportProfile;
+            return this;
+        }
+
+        /**
+         * Sets {@link MetricsSink} receiving DNS, connect, TLS, time to first byte, call and decode timings of
+         * every request, e.g. {@link EndpointMetrics}. It replaces the event listener of the HTTP client.
+         * Timings are not recorded by default.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder metricsSink(MetricsSink metricsSink) {
+            this.metricsSink = metricsSink;
+            return this;
+        }
+
+        /**
+         * Sets {@link PriorityDispatcher} limiting requests in flight and starting waiting requests by their
+         * {@link RequestPriority}. It replaces the dispatcher of the HTTP client with one allowing as many requests
+         * as the priority dispatcher. Requests are started in FIFO order by default.
+         * @return Builder object so you can chain methods.
+         */
+        public Builder priorityDispatcher(PriorityDispatcher priorityDispatcher) {
+            this.priorityDispatcher = priorityDispatcher;
+            return this;
+        }
+
+        public Server build() {
+            return new Server(this);
+        }
     }
 }
@@ -129,8 +129,7 @@ public class FederationServer {
           throw new ClientProtocolException("Response contains no content");
         }
 
-        String json = httpResponseBody.string();
-        return GsonSingleton.getInstance().fromJson(json, FederationResponse.class);
+        return GsonSingleton.getInstance().fromJson(httpResponseBody.charStream(), FederationResponse.class);
       } else {
         int statusCode = httpResponse.code();
         if (statusCode == 404) {
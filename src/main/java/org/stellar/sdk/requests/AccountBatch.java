@@ -0,0 +1,247 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.AccountResponse;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Loads many accounts with a bounded number of requests in flight.
+ * <p>Results are returned by the iterator in the order requests complete. A failure to load one account,
+ * like a 404 for an account that doesn't exist, is reported in its {@link Result} and doesn't stop the
+ * other requests. Requests go through the {@link org.stellar.sdk.Server}'s HTTP client, so they are
+ * delayed by its {@link RateLimitGovernor} when the rate limit is close to being exhausted.</p>
+ * <p>Results can be iterated only once. Closing the batch cancels requests in flight and ends the iteration.</p>
+ */
+public class AccountBatch implements Iterable<AccountBatch.Result>, Closeable {
+  private static final Result CLOSED = new Result(null, null, null);
+
+  private final Iterator<KeyPair> accounts;
+  private final int size;
+  private final int maxConcurrency;
+  private final AccountFetcher fetcher;
+  private final BlockingQueue<Result> completed = new LinkedBlockingQueue<Result>();
+  private final Set<ListenableFuture<AccountResponse>> inFlight = new HashSet<ListenableFuture<AccountResponse>>();
+  private int permits;
+  private boolean sending;
+  private boolean closed;
+  private boolean iterated;
+
+  AccountBatch(Collection<KeyPair> accounts, int maxConcurrency, AccountFetcher fetcher) {
+    checkNotNull(accounts, "accounts cannot be null");
+    checkArgument(maxConcurrency > 0, "maxConcurrency must be positive");
+    this.accounts = new ArrayList<KeyPair>(accounts).iterator();
+    this.size = accounts.size();
+    this.maxConcurrency = maxConcurrency;
+    this.fetcher = fetcher;
+  }
+
+  void start() {
+    requestMore(maxConcurrency);
+  }
+
+  /**
+   * Returns number of accounts in this batch.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns iterator over results in the order they complete. {@link Iterator#hasNext()} blocks until
+   * the next result is available.
+   * @throws IllegalStateException when called more than once
+   */
+  @Override
+  public synchronized Iterator<Result> iterator() {
+    if (iterated) {
+      throw new IllegalStateException("Results can be iterated only once.");
+    }
+    iterated = true;
+    return new ResultIterator();
+  }
+
+  /**
+   * Cancels requests in flight. Accounts that haven't been loaded yet won't be requested.
+   */
+  @Override
+  public void close() {
+    List<ListenableFuture<AccountResponse>> cancelled;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      cancelled = new ArrayList<ListenableFuture<AccountResponse>>(inFlight);
+      inFlight.clear();
+    }
+    for (ListenableFuture<AccountResponse> future : cancelled) {
+      future.cancel(true);
+    }
+    completed.add(CLOSED);
+  }
+
+  /**
+   * Allows <code>count</code> more requests to be sent. Responses served synchronously, like cached ones,
+   * complete while requests are being sent, so requests are sent in a loop by a single thread at a time
+   * instead of recursively.
+   */
+  private void requestMore(int count) {
+    synchronized (this) {
+      permits += count;
+      if (sending) {
+        return;
+      }
+      sending = true;
+    }
+    while (true) {
+      KeyPair account;
+      synchronized (this) {
+        if (closed || permits == 0 || !accounts.hasNext()) {
+          sending = false;
+          return;
+        }
+        permits--;
+        account = accounts.next();
+      }
+      send(account);
+    }
+  }
+
+  private void send(final KeyPair account) {
+    final ListenableFuture<AccountResponse> future;
+    try {
+      future = fetcher.fetch(account);
+    } catch (RuntimeException e) {
+      complete(null, new Result(account, null, e));
+      return;
+    }
+    synchronized (this) {
+      if (closed) {
+        future.cancel(true);
+        return;
+      }
+      inFlight.add(future);
+    }
+    Futures.addCallback(future, new FutureCallback<AccountResponse>() {
+      @Override
+      public void onSuccess(AccountResponse response) {
+        complete(future, new Result(account, response, null));
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        complete(future, new Result(account, null, t));
+      }
+    });
+  }
+
+  private void complete(ListenableFuture<AccountResponse> future, Result result) {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      inFlight.remove(future);
+    }
+    completed.add(result);
+    requestMore(1);
+  }
+
+  interface AccountFetcher {
+    ListenableFuture<AccountResponse> fetch(KeyPair account);
+  }
+
+  /**
+   * Result of loading a single account: either a response or the error that occurred.
+   */
+  public static class Result {
+    private final KeyPair account;
+    private final AccountResponse response;
+    private final Throwable error;
+
+    Result(KeyPair account, AccountResponse response, Throwable error) {
+      this.account = account;
+      this.response = response;
+      this.error = error;
+    }
+
+    public KeyPair getAccount() {
+      return account;
+    }
+
+    /**
+     * Returns loaded account or <code>null</code> if the request failed.
+     */
+    public AccountResponse getResponse() {
+      return response;
+    }
+
+    /**
+     * Returns error that occurred or <code>null</code> if the account was loaded. A missing account is reported
+     * as {@link org.stellar.sdk.HttpResponseException} with status code 404.
+     */
+    public Throwable getError() {
+      return error;
+    }
+
+    public boolean isSuccessful() {
+      return error == null;
+    }
+  }
+
+  private class ResultIterator implements Iterator<Result> {
+    private int returned;
+    private Result next;
+    private boolean finished;
+
+    @Override
+    public boolean hasNext() {
+      if (next != null) {
+        return true;
+      }
+      if (finished || returned == size) {
+        return false;
+      }
+      Result result = Uninterruptibles.takeUninterruptibly(completed);
+      if (result == CLOSED) {
+        finished = true;
+        return false;
+      }
+      next = result;
+      return true;
+    }
+
+    @Override
+    public Result next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Result result = next;
+      next = null;
+      returned++;
+      return result;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
@@ -7,15 +8,21 @@ import okhttp3.OkHttpClient;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.responses.AccountResponse;
 import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.RawRecord;
 
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * Builds requests connected to accounts.
  */
 public class AccountsRequestBuilder extends RequestBuilder {
   public AccountsRequestBuilder(OkHttpClient httpClient, HttpUrl serverUrl) {
-    super(httpClient, serverUrl, "accounts");
+    this(new RequestContext(httpClient), serverUrl);
+  }
+
+  public AccountsRequestBuilder(RequestContext context, HttpUrl serverUrl) {
+    super(context, serverUrl, "accounts");
   }
 
   /**
@@ -38,6 +45,47 @@ public class AccountsRequestBuilder extends RequestBuilder {
     return this.account(this.buildUrl());
   }
 
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link AccountResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<AccountResponse> accountAsync(HttpUrl url) {
+    return getAsync(url, AccountResponse.class);
+  }
+
+  /**
+   * Asynchronously requests <code>GET /accounts/{account}</code>
+   * @param account Account to fetch
+   * @return future completed with {@link AccountResponse}
+   */
+  public ListenableFuture<AccountResponse> accountAsync(KeyPair account) {
+    this.setPathSegments("accounts", account.getAccountId());
+    return this.accountAsync(this.buildUrl());
+  }
+
+  /**
+   * Loads many accounts, requesting <code>GET /accounts/{account}</code> for each of them with at most
+   * <code>maxConcurrency</code> requests in flight.
+   * @param accounts Accounts to fetch
+   * @param maxConcurrency maximum number of requests in flight
+   * @return {@link AccountBatch} returning results as they complete
+   */
+  public AccountBatch accounts(Collection<KeyPair> accounts, int maxConcurrency) {
+    final HttpUrl serverUrl = this.urlBuilder.build();
+    AccountBatch batch = new AccountBatch(accounts, maxConcurrency, new AccountBatch.AccountFetcher() {
+      @Override
+      public ListenableFuture<AccountResponse> fetch(KeyPair account) {
+        HttpUrl url = serverUrl.newBuilder()
+                .addPathSegment("accounts")
+                .addPathSegment(account.getAccountId())
+                .build();
+        return accountAsync(url);
+      }
+    });
+    batch.start();
+    return batch;
+  }
+
   /**
    * Allows to stream SSE events from horizon.
    * Certain endpoints in Horizon can be called in streaming mode using Server-Sent Events.
@@ -46,25 +94,37 @@ public class AccountsRequestBuilder extends RequestBuilder {
    * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
    * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
    * @param listener {@link EventListener} implementation with {@link AccountResponse} type
-   * @return EventSource object, so you can <code>close()</code> connection when not needed anymore
+   * @return SSEStream object, so you can <code>close()</code> connection when not needed anymore
    */
-  /*
-  public EventSource stream(final EventListener<AccountResponse> listener) {
-    Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
-    WebTarget target = client.target(this.buildUri());
-    EventSource eventSource = new EventSource(target) {
-      @Override
-      public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
-        }
-        AccountResponse account = GsonSingleton.getInstance().fromJson(data, AccountResponse.class);
-        listener.onEvent(account);
-      }
-    };
-    return eventSource;
-  }*/
+  public SSEStream<AccountResponse> stream(final EventListener<AccountResponse> listener) {
+    return stream(listener, AccountResponse.class);
+  }
+
+  @Override
+  public SSEStream<RawRecord> streamRaw(EventListener<RawRecord> listener) {
+    return super.streamRaw(listener);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream. Up to {@link StreamPublisher#DEFAULT_BUFFER_SIZE} events are buffered for a subscriber
+   * and reading from the connection is paused when the buffer is full.
+   * @return {@link StreamPublisher} of {@link AccountResponse}
+   */
+  public StreamPublisher<AccountResponse> publisher() {
+    return this.publisher(StreamPublisher.DEFAULT_BUFFER_SIZE, StreamPublisher.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream.
+   * @param bufferSize maximum number of events buffered for a subscriber ahead of its demand
+   * @param overflowPolicy what to do with new events when the buffer is full
+   * @return {@link StreamPublisher} of {@link AccountResponse}
+   */
+  public StreamPublisher<AccountResponse> publisher(int bufferSize, StreamPublisher.OverflowPolicy overflowPolicy) {
+    return publisher(AccountResponse.class, bufferSize, overflowPolicy);
+  }
 
   /**
    * Build and execute request. <strong>Warning!</strong> {@link AccountResponse}s in {@link Page} will contain only <code>keypair</code> field.
@@ -88,6 +148,93 @@ public class AccountsRequestBuilder extends RequestBuilder {
     return get(url, typeToken.getType());
   }
 
+  /**
+   * Build and execute request asynchronously.
+   * @return future completed with {@link Page} of {@link AccountResponse}
+   */
+  public ListenableFuture<Page<AccountResponse>> executeAsync() {
+    return this.executeAsync(this.buildUrl());
+  }
+
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link Page} of {@link AccountResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<Page<AccountResponse>> executeAsync(HttpUrl url) {
+    TypeToken typeToken = new TypeToken<Page<AccountResponse>>() {};
+    return getAsync(url, typeToken.getType());
+  }
+
+  /**
+   * Compiles the query built so far into an immutable {@link QueryTemplate} returning {@link Page} of {@link AccountResponse},
+   * which can be executed repeatedly from any thread. This builder shouldn't be used afterwards.
+   * @return {@link QueryTemplate} of the query
+   */
+  public QueryTemplate<Page<AccountResponse>> template() {
+    TypeToken typeToken = new TypeToken<Page<AccountResponse>>() {};
+    return template(typeToken.getType());
+  }
+
+  @Override
+  public AccountsRequestBuilder priority(RequestPriority priority) {
+    super.priority(priority);
+    return this;
+  }
+
+  @Override
+  public AccountsRequestBuilder cancellation(CancellationToken token) {
+    super.cancellation(token);
+    return this;
+  }
+
+  /**
+   * Iterates over all {@link AccountResponse} records, following <code>next</code> links and fetching one page
+   * in the background ahead of the consumer. Page size is set using {@link #limit(int)}.
+   * @return {@link PagingIterable} of {@link AccountResponse}
+   */
+  public PagingIterable<AccountResponse> iterate() {
+    return this.iterate(1);
+  }
+
+  /**
+   * Iterates over all {@link AccountResponse} records, following <code>next</code> links.
+   * Page size is set using {@link #limit(int)}.
+   * @param prefetchDepth number of pages fetched in the background ahead of the consumer
+   * @return {@link PagingIterable} of {@link AccountResponse}
+   */
+  public PagingIterable<AccountResponse> iterate(int prefetchDepth) {
+    TypeToken typeToken = new TypeToken<Page<AccountResponse>>() {};
+    return iterate(typeToken.getType(), prefetchDepth);
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw() {
+    return super.iterateRaw();
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw(int prefetchDepth) {
+    return super.iterateRaw(prefetchDepth);
+  }
+
+  @Override
+  public AccountsRequestBuilder checkpoint(CursorStore store, String key) {
+    super.checkpoint(store, key);
+    return this;
+  }
+
+  @Override
+  public AccountsRequestBuilder adaptiveLimit(int minLimit, int maxLimit) {
+    super.adaptiveLimit(minLimit, maxLimit);
+    return this;
+  }
+
+  @Override
+  public AccountsRequestBuilder fields(String... fields) {
+    super.fields(fields);
+    return this;
+  }
+
   @Override
   public AccountsRequestBuilder cursor(String token) {
     super.cursor(token);
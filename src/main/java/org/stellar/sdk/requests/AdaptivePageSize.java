@@ -0,0 +1,86 @@
+package org.stellar.sdk.requests;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Tunes the <code>limit</code> of pages requested by a {@link PagingIterable} for maximum records per second.
+ * <p>Every page size is measured over {@link #SAMPLES_PER_STEP} full pages: records received divided by the time
+ * from sending the request to decoding the response, so it reflects both round trips and payload size. The size
+ * is then multiplied or divided by a step, keeping the direction while the rate improves and turning around
+ * with a smaller step when it drops, until the step reaches {@link #MIN_STEP}. The size stays within
+ * <code>minLimit</code> and <code>maxLimit</code>, which also bounds the memory used by a page.</p>
+ */
+class AdaptivePageSize {
+  static final int SAMPLES_PER_STEP = 2;
+  static final double INITIAL_STEP = 2;
+  static final double MIN_STEP = 1.1;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private int limit;
+  private double step = INITIAL_STEP;
+  private boolean increasing = true;
+  private double previousRate = -1;
+  private long records;
+  private long nanos;
+  private int samples;
+
+  /**
+   * @param minLimit minimum page size
+   * @param maxLimit maximum page size, at most {@link RequestBuilder#MAX_LIMIT} accepted by Horizon
+   * @param initialLimit page size of the first request, moved within the bounds
+   */
+  AdaptivePageSize(int minLimit, int maxLimit, int initialLimit) {
+    checkArgument(minLimit > 0, "minLimit must be positive");
+    checkArgument(maxLimit >= minLimit, "maxLimit cannot be lower than minLimit");
+    checkArgument(maxLimit <= RequestBuilder.MAX_LIMIT, "maxLimit cannot be greater than %s", RequestBuilder.MAX_LIMIT);
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = bound(initialLimit);
+  }
+
+  /**
+   * Returns the page size to request.
+   */
+  synchronized int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Records a received page.
+   * @param requestedLimit page size of the request
+   * @param recordCount number of records in the page
+   * @param elapsedNanos time from sending the request to decoding the page
+   */
+  synchronized void record(int requestedLimit, int recordCount, long elapsedNanos) {
+    // Pages requested with an older size or cut short at the end of the collection don't measure the current size.
+    if (requestedLimit != limit || recordCount < requestedLimit || elapsedNanos <= 0) {
+      return;
+    }
+    records += recordCount;
+    nanos += elapsedNanos;
+    if (++samples < SAMPLES_PER_STEP) {
+      return;
+    }
+
+    double rate = records / (double) nanos;
+    records = 0;
+    nanos = 0;
+    samples = 0;
+    if (previousRate >= 0 && rate < previousRate) {
+      increasing = !increasing;
+      step = Math.max(MIN_STEP, Math.sqrt(step));
+    }
+    previousRate = rate;
+    int next = bound(increasing ? (int) Math.ceil(limit * step) : (int) Math.floor(limit / step));
+    if (next == limit) {
+      // Stuck at a bound, explore the other direction.
+      increasing = !increasing;
+    }
+    limit = next;
+  }
+
+  private int bound(int value) {
+    return Math.min(maxLimit, Math.max(minLimit, value));
+  }
+}
@@ -0,0 +1,202 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Cancels requests when the caller gives up on them or when their deadline passes.
+ * <p>A token is passed to {@link RequestBuilder#cancellation(CancellationToken)} or
+ * {@link org.stellar.sdk.Server#submitTransaction(org.stellar.sdk.Transaction, CancellationToken)}. When it's
+ * cancelled, HTTP calls in flight are cancelled right away, which releases their connections, and requests fail
+ * with {@link InterruptedIOException}, or {@link SocketTimeoutException} when the deadline passed.
+ * Iterations fail at the next page and streams are closed.</p>
+ * <p>One token can be shared by all requests serving the same upstream call.</p>
+ */
+public final class CancellationToken {
+  private static ScheduledExecutorService scheduler;
+
+  private final List<Runnable> listeners = new ArrayList<Runnable>();
+  private boolean cancelled;
+  private boolean deadlineExceeded;
+  private ScheduledFuture<?> deadline;
+
+  /**
+   * Creates a token cancelled only by {@link #cancel()}.
+   */
+  public CancellationToken() {
+  }
+
+  /**
+   * Creates a token cancelled by {@link #cancel()} or when <code>timeout</code> elapses.
+   * @param timeout time after which the token is cancelled
+   * @param unit unit of <code>timeout</code>
+   */
+  public static CancellationToken withTimeout(long timeout, TimeUnit unit) {
+    checkArgument(timeout >= 0, "timeout cannot be negative");
+    checkNotNull(unit, "unit cannot be null");
+    final CancellationToken token = new CancellationToken();
+    ScheduledFuture<?> deadline = scheduler().schedule(new Runnable() {
+      @Override
+      public void run() {
+        token.cancel(true);
+      }
+    }, timeout, unit);
+    synchronized (token) {
+      token.deadline = deadline;
+    }
+    return token;
+  }
+
+  /**
+   * Cancels requests using this token. Does nothing if the token is already cancelled.
+   */
+  public void cancel() {
+    cancel(false);
+  }
+
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Returns <code>true</code> if the token was cancelled because its deadline passed.
+   */
+  public synchronized boolean isDeadlineExceeded() {
+    return deadlineExceeded;
+  }
+
+  /**
+   * Throws the exception requests using this token fail with, if it's cancelled.
+   * @throws InterruptedIOException when the token is cancelled
+   * @throws SocketTimeoutException when the deadline passed
+   */
+  public void throwIfCancelled() throws IOException {
+    if (isCancelled()) {
+      throw exception();
+    }
+  }
+
+  /**
+   * Runs <code>listener</code> when the token is cancelled, or right away if it's cancelled already.
+   * The listener runs on the thread cancelling the token, so it should be quick.
+   */
+  public void addListener(Runnable listener) {
+    checkNotNull(listener, "listener cannot be null");
+    synchronized (this) {
+      if (!cancelled) {
+        listeners.add(listener);
+        return;
+      }
+    }
+    listener.run();
+  }
+
+  /**
+   * Removes a listener added by {@link #addListener(Runnable)}, e.g. when the work it cancels is done.
+   */
+  public synchronized void removeListener(Runnable listener) {
+    listeners.remove(listener);
+  }
+
+  synchronized int getListenerCount() {
+    return listeners.size();
+  }
+
+  /**
+   * Returns a future completed like <code>future</code>, which fails when this token is cancelled first.
+   * <code>future</code> is then cancelled, as it is when the returned future is cancelled.
+   * @param future future of the work to cancel
+   */
+  public <T> ListenableFuture<T> bind(final ListenableFuture<T> future) {
+    checkNotNull(future, "future cannot be null");
+    final SettableFuture<T> result = SettableFuture.create();
+    final Runnable cancel = new Runnable() {
+      @Override
+      public void run() {
+        if (result.setException(exception())) {
+          future.cancel(true);
+        }
+      }
+    };
+    result.addListener(new Runnable() {
+      @Override
+      public void run() {
+        removeListener(cancel);
+        if (result.isCancelled()) {
+          future.cancel(true);
+        }
+      }
+    }, MoreExecutors.directExecutor());
+    Futures.addCallback(future, new FutureCallback<T>() {
+      @Override
+      public void onSuccess(T value) {
+        result.set(value);
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        result.setException(t);
+      }
+    });
+    addListener(cancel);
+    return result;
+  }
+
+  /**
+   * Returns the exception requests using this token fail with after it's cancelled.
+   */
+  IOException exception() {
+    return isDeadlineExceeded() ? new SocketTimeoutException("Deadline exceeded") : new InterruptedIOException("Canceled");
+  }
+
+  private void cancel(boolean deadlineExceeded) {
+    List<Runnable> cancelled;
+    synchronized (this) {
+      if (this.cancelled) {
+        return;
+      }
+      this.cancelled = true;
+      this.deadlineExceeded = deadlineExceeded;
+      if (deadline != null) {
+        deadline.cancel(false);
+        deadline = null;
+      }
+      cancelled = new ArrayList<Runnable>(listeners);
+      listeners.clear();
+    }
+    for (Runnable listener : cancelled) {
+      listener.run();
+    }
+  }
+
+  private static synchronized ScheduledExecutorService scheduler() {
+    if (scheduler == null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "stellar-request-deadline");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return scheduler;
+  }
+}
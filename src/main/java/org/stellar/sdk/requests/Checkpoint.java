@@ -0,0 +1,26 @@
+package org.stellar.sdk.requests;
+
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Cursor of a single stream or scan kept in a {@link CursorStore}.
+ */
+class Checkpoint {
+  private final CursorStore store;
+  private final String key;
+
+  Checkpoint(CursorStore store, String key) {
+    this.store = checkNotNull(store, "store cannot be null");
+    this.key = checkNotNull(key, "key cannot be null");
+  }
+
+  String load() throws IOException {
+    return store.load(key);
+  }
+
+  void save(String cursor) throws IOException {
+    store.save(key, cursor);
+  }
+}
@@ -0,0 +1,230 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Stops sending requests to an endpoint of a Horizon server while it is failing, so callers fail fast instead
+ * of waiting for timeouts.
+ * <p>There is a circuit for every host and endpoint class (the first path segment, like <code>accounts</code>
+ * or <code>transactions</code>). A circuit is <code>CLOSED</code> while the share of failed calls among the
+ * last <code>windowSize</code> calls is below <code>failureRateThreshold</code>. A call fails when it throws
+ * an exception, returns a <code>5xx</code> response or takes longer than <code>slowCallMillis</code>. Then
+ * the circuit becomes <code>OPEN</code> and requests fail immediately with
+ * {@link CircuitBreakerOpenException}. After <code>openMillis</code> the circuit is <code>HALF_OPEN</code>
+ * and lets a single trial request through: the circuit closes when it succeeds and opens again when it fails.</p>
+ * <p>When requests are routed by a {@link HorizonPool}, a request to an endpoint with an open circuit is sent
+ * to another server. Cancelled calls are not counted.</p>
+ */
+public class CircuitBreaker implements Interceptor {
+  public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+  public static final long DEFAULT_SLOW_CALL_MILLIS = 10000;
+  public static final int DEFAULT_WINDOW_SIZE = 20;
+  public static final long DEFAULT_OPEN_MILLIS = 30000;
+
+  /**
+   * State of a circuit.
+   */
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final double failureRateThreshold;
+  private final long slowCallNanos;
+  private final int windowSize;
+  private final long openNanos;
+  private final Ticker ticker;
+  private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<String, Circuit>();
+
+  public CircuitBreaker() {
+    this(DEFAULT_FAILURE_RATE_THRESHOLD, DEFAULT_SLOW_CALL_MILLIS, DEFAULT_WINDOW_SIZE, DEFAULT_OPEN_MILLIS);
+  }
+
+  /**
+   * @param failureRateThreshold share of failed calls, between 0 and 1, at which a circuit opens
+   * @param slowCallMillis calls taking longer are counted as failed
+   * @param windowSize number of recent calls used to compute the failure rate; a circuit doesn't open until half of them were made
+   * @param openMillis how long a circuit stays open before a trial request is let through
+   */
+  public CircuitBreaker(double failureRateThreshold, long slowCallMillis, int windowSize, long openMillis) {
+    this(failureRateThreshold, slowCallMillis, windowSize, openMillis, Ticker.systemTicker());
+  }
+
+  CircuitBreaker(double failureRateThreshold, long slowCallMillis, int windowSize, long openMillis, Ticker ticker) {
+    checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 1, "failureRateThreshold must be between 0 and 1");
+    checkArgument(slowCallMillis > 0, "slowCallMillis must be positive");
+    checkArgument(windowSize > 0, "windowSize must be positive");
+    checkArgument(openMillis >= 0, "openMillis cannot be negative");
+    this.failureRateThreshold = failureRateThreshold;
+    this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+    this.windowSize = windowSize;
+    this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+    this.ticker = ticker;
+  }
+
+  @Override
+  public okhttp3.Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    Circuit circuit = circuit(request.url());
+    boolean trial = circuit.acquire();
+
+    long start = ticker.read();
+    okhttp3.Response response;
+    try {
+      response = chain.proceed(request);
+    } catch (IOException e) {
+      if (chain.call().isCanceled()) {
+        circuit.release(trial);
+      } else {
+        circuit.record(false, trial);
+      }
+      throw e;
+    }
+
+    circuit.record(response.code() < 500 && ticker.read() - start < slowCallNanos, trial);
+    return response;
+  }
+
+  /**
+   * Returns state of the circuit of the endpoint serving the given URL.
+   */
+  public State getState(HttpUrl url) {
+    Circuit circuit = circuits.get(name(url));
+    return circuit != null ? circuit.getState() : State.CLOSED;
+  }
+
+  /**
+   * Returns states of all circuits that were used, keyed by <code>host:port/endpoint</code>.
+   */
+  public Map<String, State> getStates() {
+    Map<String, State> states = new TreeMap<String, State>();
+    for (Map.Entry<String, Circuit> entry : circuits.entrySet()) {
+      states.put(entry.getKey(), entry.getValue().getState());
+    }
+    return states;
+  }
+
+  private Circuit circuit(HttpUrl url) {
+    String name = name(url);
+    Circuit circuit = circuits.get(name);
+    if (circuit == null) {
+      circuits.putIfAbsent(name, new Circuit(name));
+      circuit = circuits.get(name);
+    }
+    return circuit;
+  }
+
+  static String name(HttpUrl url) {
+    String endpoint = "";
+    for (String segment : url.pathSegments()) {
+      if (!segment.isEmpty()) {
+        endpoint = segment;
+        break;
+      }
+    }
+    return url.host() + ":" + url.port() + "/" + endpoint;
+  }
+
+  private class Circuit {
+    private final String name;
+    private final boolean[] outcomes = new boolean[windowSize];
+    private int calls;
+    private int next;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    Circuit(String name) {
+      this.name = name;
+    }
+
+    /**
+     * Lets a request through or throws when the circuit is open.
+     * @return <code>true</code> if the request is the trial request of a half-open circuit
+     */
+    synchronized boolean acquire() throws CircuitBreakerOpenException {
+      State current = getState();
+      if (current == State.CLOSED) {
+        return false;
+      }
+      if (current == State.OPEN) {
+        throw new CircuitBreakerOpenException(name, TimeUnit.NANOSECONDS.toMillis(openedAtNanos + openNanos - ticker.read()));
+      }
+      state = State.HALF_OPEN;
+      if (trialInFlight) {
+        throw new CircuitBreakerOpenException(name, 0);
+      }
+      trialInFlight = true;
+      return true;
+    }
+
+    synchronized void release(boolean trial) {
+      if (trial) {
+        trialInFlight = false;
+      }
+    }
+
+    synchronized void record(boolean success, boolean trial) {
+      if (trial) {
+        trialInFlight = false;
+        if (success) {
+          state = State.CLOSED;
+          calls = 0;
+          next = 0;
+          failures = 0;
+        } else {
+          open();
+        }
+        return;
+      }
+      if (state != State.CLOSED) {
+        // Result of a call sent before the circuit opened.
+        return;
+      }
+
+      if (calls == outcomes.length) {
+        if (!outcomes[next]) {
+          failures--;
+        }
+      } else {
+        calls++;
+      }
+      outcomes[next] = success;
+      next = (next + 1) % outcomes.length;
+      if (!success) {
+        failures++;
+      }
+
+      if (calls * 2 >= outcomes.length && failures >= failureRateThreshold * calls) {
+        open();
+      }
+    }
+
+    synchronized State getState() {
+      if (state == State.OPEN && ticker.read() - openedAtNanos >= openNanos) {
+        return State.HALF_OPEN;
+      }
+      return state;
+    }
+
+    private void open() {
+      state = State.OPEN;
+      openedAtNanos = ticker.read();
+    }
+  }
+}
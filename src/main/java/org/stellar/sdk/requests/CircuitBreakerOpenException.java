@@ -0,0 +1,32 @@
+package org.stellar.sdk.requests;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown by {@link CircuitBreaker} when a request is not sent because the circuit of its
+ * endpoint is open. It extends {@link IOException}, so it is reported like other failures of HTTP calls.
+ */
+public class CircuitBreakerOpenException extends IOException {
+  private final String circuit;
+  private final long retryAfterMillis;
+
+  public CircuitBreakerOpenException(String circuit, long retryAfterMillis) {
+    super("Circuit " + circuit + " is open.");
+    this.circuit = circuit;
+    this.retryAfterMillis = retryAfterMillis;
+  }
+
+  /**
+   * Returns name of the open circuit: <code>host:port/endpoint</code>.
+   */
+  public String getCircuit() {
+    return circuit;
+  }
+
+  /**
+   * Returns number of milliseconds after which the circuit lets a trial request through.
+   */
+  public long getRetryAfterMillis() {
+    return retryAfterMillis;
+  }
+}
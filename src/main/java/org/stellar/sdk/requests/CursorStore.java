@@ -0,0 +1,22 @@
+package org.stellar.sdk.requests;
+
+import java.io.IOException;
+
+/**
+ * Stores the last processed <code>paging_token</code> of long-running streams and scans, so they can resume
+ * where they stopped after a restart.
+ * @see RequestBuilder#checkpoint(CursorStore, String)
+ * @see FileCursorStore
+ */
+public interface CursorStore {
+  /**
+   * Returns the cursor saved under <code>key</code> or <code>null</code> if there is none.
+   */
+  String load(String key) throws IOException;
+
+  /**
+   * Saves the cursor under <code>key</code>, replacing the previous one. Implementations may persist cursors
+   * in batches, but a persisted cursor must never be older than one persisted before it.
+   */
+  void save(String key, String cursor) throws IOException;
+}
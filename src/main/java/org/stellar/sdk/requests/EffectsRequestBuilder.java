@@ -1,11 +1,13 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.RawRecord;
 import org.stellar.sdk.responses.effects.EffectResponse;
 
 import java.io.IOException;
@@ -17,7 +19,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class EffectsRequestBuilder extends RequestBuilder {
   public EffectsRequestBuilder(OkHttpClient httpClient, HttpUrl serverUrl) {
-    super(httpClient, serverUrl, "effects");
+    this(new RequestContext(httpClient), serverUrl);
+  }
+
+  public EffectsRequestBuilder(RequestContext context, HttpUrl serverUrl) {
+    super(context, serverUrl, "effects");
   }
 
   /**
@@ -70,25 +76,37 @@ public class EffectsRequestBuilder extends RequestBuilder {
    * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
    * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
    * @param listener {@link EventListener} implementation with {@link EffectResponse} type
-   * @return EventSource object, so you can <code>close()</code> connection when not needed anymore
+   * @return SSEStream object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<EffectResponse> stream(final EventListener<EffectResponse> listener) {
+    return stream(listener, EffectResponse.class);
+  }
+
+  @Override
+  public SSEStream<RawRecord> streamRaw(EventListener<RawRecord> listener) {
+    return super.streamRaw(listener);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream. Up to {@link StreamPublisher#DEFAULT_BUFFER_SIZE} events are buffered for a subscriber
+   * and reading from the connection is paused when the buffer is full.
+   * @return {@link StreamPublisher} of {@link EffectResponse}
+   */
+  public StreamPublisher<EffectResponse> publisher() {
+    return this.publisher(StreamPublisher.DEFAULT_BUFFER_SIZE, StreamPublisher.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream.
+   * @param bufferSize maximum number of events buffered for a subscriber ahead of its demand
+   * @param overflowPolicy what to do with new events when the buffer is full
+   * @return {@link StreamPublisher} of {@link EffectResponse}
    */
-  /*
-  public EventSource stream(final EventListener<EffectResponse> listener) {
-    Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
-    WebTarget target = client.target(this.buildUri());
-    EventSource eventSource = new EventSource(target) {
-      @Override
-      public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
-        }
-        EffectResponse effect = GsonSingleton.getInstance().fromJson(data, EffectResponse.class);
-        listener.onEvent(effect);
-      }
-    };
-    return eventSource;
-  }*/
+  public StreamPublisher<EffectResponse> publisher(int bufferSize, StreamPublisher.OverflowPolicy overflowPolicy) {
+    return publisher(EffectResponse.class, bufferSize, overflowPolicy);
+  }
 
   /**
    * Build and execute request.
@@ -112,6 +130,93 @@ public class EffectsRequestBuilder extends RequestBuilder {
     return get(url, typeToken.getType());
   }
 
+  /**
+   * Build and execute request asynchronously.
+   * @return future completed with {@link Page} of {@link EffectResponse}
+   */
+  public ListenableFuture<Page<EffectResponse>> executeAsync() {
+    return this.executeAsync(this.buildUrl());
+  }
+
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link Page} of {@link EffectResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<Page<EffectResponse>> executeAsync(HttpUrl url) {
+    TypeToken typeToken = new TypeToken<Page<EffectResponse>>() {};
+    return getAsync(url, typeToken.getType());
+  }
+
+  /**
+   * Compiles the query built so far into an immutable {@link QueryTemplate} returning {@link Page} of {@link EffectResponse},
+   * which can be executed repeatedly from any thread. This builder shouldn't be used afterwards.
+   * @return {@link QueryTemplate} of the query
+   */
+  public QueryTemplate<Page<EffectResponse>> template() {
+    TypeToken typeToken = new TypeToken<Page<EffectResponse>>() {};
+    return template(typeToken.getType());
+  }
+
+  @Override
+  public EffectsRequestBuilder priority(RequestPriority priority) {
+    super.priority(priority);
+    return this;
+  }
+
+  @Override
+  public EffectsRequestBuilder cancellation(CancellationToken token) {
+    super.cancellation(token);
+    return this;
+  }
+
+  /**
+   * Iterates over all {@link EffectResponse} records, following <code>next</code> links and fetching one page
+   * in the background ahead of the consumer. Page size is set using {@link #limit(int)}.
+   * @return {@link PagingIterable} of {@link EffectResponse}
+   */
+  public PagingIterable<EffectResponse> iterate() {
+    return this.iterate(1);
+  }
+
+  /**
+   * Iterates over all {@link EffectResponse} records, following <code>next</code> links.
+   * Page size is set using {@link #limit(int)}.
+   * @param prefetchDepth number of pages fetched in the background ahead of the consumer
+   * @return {@link PagingIterable} of {@link EffectResponse}
+   */
+  public PagingIterable<EffectResponse> iterate(int prefetchDepth) {
+    TypeToken typeToken = new TypeToken<Page<EffectResponse>>() {};
+    return iterate(typeToken.getType(), prefetchDepth);
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw() {
+    return super.iterateRaw();
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw(int prefetchDepth) {
+    return super.iterateRaw(prefetchDepth);
+  }
+
+  @Override
+  public EffectsRequestBuilder checkpoint(CursorStore store, String key) {
+    super.checkpoint(store, key);
+    return this;
+  }
+
+  @Override
+  public EffectsRequestBuilder adaptiveLimit(int minLimit, int maxLimit) {
+    super.adaptiveLimit(minLimit, maxLimit);
+    return this;
+  }
+
+  @Override
+  public EffectsRequestBuilder fields(String... fields) {
+    super.fields(fields);
+    return this;
+  }
+
   @Override
   public EffectsRequestBuilder cursor(String token) {
     super.cursor(token);
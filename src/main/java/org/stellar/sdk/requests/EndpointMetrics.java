@@ -0,0 +1,76 @@
+package org.stellar.sdk.requests;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MetricsSink} keeping a {@link LatencyHistogram} of every phase for every endpoint, so it can be seen
+ * where latency of each endpoint goes.
+ */
+public class EndpointMetrics implements MetricsSink {
+  private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<String, Endpoint>();
+
+  @Override
+  public void record(String endpoint, Phase phase, long nanos) {
+    endpoint(endpoint).histograms.get(phase).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void recordFailure(String endpoint, IOException e) {
+    endpoint(endpoint).failureCount.incrementAndGet();
+  }
+
+  /**
+   * Returns sorted endpoints with recorded timings or failures.
+   */
+  public Set<String> getEndpoints() {
+    return new TreeSet<String>(endpoints.keySet());
+  }
+
+  /**
+   * Returns histogram of durations of the phase for the endpoint or <code>null</code> if nothing was recorded
+   * for the endpoint.
+   */
+  public LatencyHistogram getHistogram(String endpoint, Phase phase) {
+    Endpoint metrics = endpoints.get(endpoint);
+    return metrics == null ? null : metrics.histograms.get(phase);
+  }
+
+  /**
+   * Returns number of failed calls to the endpoint.
+   */
+  public long getFailureCount(String endpoint) {
+    Endpoint metrics = endpoints.get(endpoint);
+    return metrics == null ? 0 : metrics.failureCount.get();
+  }
+
+  private Endpoint endpoint(String endpoint) {
+    Endpoint metrics = endpoints.get(endpoint);
+    if (metrics == null) {
+      Endpoint created = new Endpoint();
+      metrics = endpoints.putIfAbsent(endpoint, created);
+      if (metrics == null) {
+        metrics = created;
+      }
+    }
+    return metrics;
+  }
+
+  private static class Endpoint {
+    final Map<Phase, LatencyHistogram> histograms = new EnumMap<Phase, LatencyHistogram>(Phase.class);
+    final AtomicLong failureCount = new AtomicLong();
+
+    Endpoint() {
+      for (Phase phase : Phase.values()) {
+        histograms.put(phase, new LatencyHistogram());
+      }
+    }
+  }
+}
@@ -2,6 +2,7 @@ package org.stellar.sdk.requests;
 
 /**
  * This interface is used in {@link RequestBuilder} classes <code>stream</code> method.
+ * Implement {@link StreamListener} to be notified when the stream fails.
  */
 public interface EventListener<T> {
   /**
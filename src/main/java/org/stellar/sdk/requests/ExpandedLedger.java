@@ -0,0 +1,61 @@
+package org.stellar.sdk.requests;
+
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.util.Map;
+
+/**
+ * {@link LedgerResponse} together with resources of its links, requested concurrently.
+ * Collections hold all records of the ledger; their links are the links of the last page requested.
+ * @see LedgersRequestBuilder#expand(LedgerResponse, Relation...)
+ */
+public class ExpandedLedger {
+  /**
+   * Link of a ledger that can be expanded.
+   */
+  public enum Relation {
+    TRANSACTIONS,
+    OPERATIONS,
+    EFFECTS
+  }
+
+  private final LedgerResponse ledger;
+  private final Map<Relation, Object> resources;
+
+  ExpandedLedger(LedgerResponse ledger, Map<Relation, Object> resources) {
+    this.ledger = ledger;
+    this.resources = resources;
+  }
+
+  public LedgerResponse getLedger() {
+    return ledger;
+  }
+
+  /**
+   * Returns transactions of the ledger or <code>null</code> if they were not expanded.
+   */
+  @SuppressWarnings("unchecked")
+  public Page<TransactionResponse> getTransactions() {
+    return (Page<TransactionResponse>) resources.get(Relation.TRANSACTIONS);
+  }
+
+  /**
+   * Returns operations of the ledger or <code>null</code> if they were not expanded.
+   */
+  @SuppressWarnings("unchecked")
+  public Page<OperationResponse> getOperations() {
+    return (Page<OperationResponse>) resources.get(Relation.OPERATIONS);
+  }
+
+  /**
+   * Returns effects of the ledger or <code>null</code> if they were not expanded.
+   */
+  @SuppressWarnings("unchecked")
+  public Page<EffectResponse> getEffects() {
+    return (Page<EffectResponse>) resources.get(Relation.EFFECTS);
+  }
+}
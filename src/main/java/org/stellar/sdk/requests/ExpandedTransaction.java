@@ -0,0 +1,104 @@
+package org.stellar.sdk.requests;
+
+import org.stellar.sdk.responses.AccountResponse;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.util.Map;
+
+/**
+ * {@link TransactionResponse} together with resources of its links, requested concurrently.
+ * @see TransactionsRequestBuilder#expand(TransactionResponse, Relation...)
+ */
+public class ExpandedTransaction {
+  /**
+   * Link of a transaction that can be expanded.
+   */
+  public enum Relation {
+    /**
+     * All operations of the transaction.
+     */
+    OPERATIONS,
+    /**
+     * All effects of the transaction.
+     */
+    EFFECTS,
+    /**
+     * Ledger including the transaction.
+     */
+    LEDGER,
+    /**
+     * Source account of the transaction.
+     */
+    ACCOUNT,
+    /**
+     * Page of transactions preceding the transaction.
+     */
+    PRECEDES,
+    /**
+     * Page of transactions succeeding the transaction.
+     */
+    SUCCEEDS
+  }
+
+  private final TransactionResponse transaction;
+  private final Map<Relation, Object> resources;
+
+  ExpandedTransaction(TransactionResponse transaction, Map<Relation, Object> resources) {
+    this.transaction = transaction;
+    this.resources = resources;
+  }
+
+  public TransactionResponse getTransaction() {
+    return transaction;
+  }
+
+  /**
+   * Returns operations of the transaction or <code>null</code> if they were not expanded.
+   */
+  @SuppressWarnings("unchecked")
+  public Page<OperationResponse> getOperations() {
+    return (Page<OperationResponse>) resources.get(Relation.OPERATIONS);
+  }
+
+  /**
+   * Returns effects of the transaction or <code>null</code> if they were not expanded.
+   */
+  @SuppressWarnings("unchecked")
+  public Page<EffectResponse> getEffects() {
+    return (Page<EffectResponse>) resources.get(Relation.EFFECTS);
+  }
+
+  /**
+   * Returns ledger of the transaction or <code>null</code> if it was not expanded.
+   */
+  public LedgerResponse getLedger() {
+    return (LedgerResponse) resources.get(Relation.LEDGER);
+  }
+
+  /**
+   * Returns source account of the transaction or <code>null</code> if it was not expanded.
+   */
+  public AccountResponse getAccount() {
+    return (AccountResponse) resources.get(Relation.ACCOUNT);
+  }
+
+  /**
+   * Returns transactions preceding the transaction or <code>null</code> if they were not expanded.
+   */
+  @SuppressWarnings("unchecked")
+  public Page<TransactionResponse> getPrecedes() {
+    return (Page<TransactionResponse>) resources.get(Relation.PRECEDES);
+  }
+
+  /**
+   * Returns transactions succeeding the transaction or <code>null</code> if they were not expanded.
+   */
+  @SuppressWarnings("unchecked")
+  public Page<TransactionResponse> getSucceeds() {
+    return (Page<TransactionResponse>) resources.get(Relation.SUCCEEDS);
+  }
+}
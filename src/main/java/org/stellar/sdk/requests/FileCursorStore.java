@@ -0,0 +1,179 @@
+package org.stellar.sdk.requests;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link CursorStore} keeping all cursors in a single properties file.
+ * <p>Saved cursors are written to disk every <code>syncIntervalMillis</code>, so many events cost a single
+ * write and <code>fsync</code>. After a crash at most the events of the last interval are processed again.
+ * The file is replaced atomically: cursors are written to a temporary file, which is synced to disk and
+ * renamed over the previous file. Where renaming can't replace a file, the previous file is deleted first; if the
+ * application stops in between, cursors are loaded from the temporary file.</p>
+ * <p>{@link #close()} writes pending cursors and must be called before the application exits.</p>
+ */
+public class FileCursorStore implements CursorStore, Closeable {
+  public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+
+  private final File file;
+  private final File temporaryFile;
+  private final Properties cursors = new Properties();
+  private final Object writeLock = new Object();
+  private final ScheduledExecutorService syncExecutor;
+  private boolean dirty;
+  private IOException syncFailure;
+
+  /**
+   * Creates a store writing cursors every {@link #DEFAULT_SYNC_INTERVAL_MILLIS} milliseconds.
+   * @param file file holding the cursors, created if it doesn't exist
+   * @throws IOException when the file exists but can't be read
+   */
+  public FileCursorStore(File file) throws IOException {
+    this(file, DEFAULT_SYNC_INTERVAL_MILLIS);
+  }
+
+  /**
+   * @param file file holding the cursors, created if it doesn't exist
+   * @param syncIntervalMillis how often saved cursors are written to disk, <code>0</code> writes every cursor when it's saved
+   * @throws IOException when the file exists but can't be read
+   */
+  public FileCursorStore(File file, long syncIntervalMillis) throws IOException {
+    checkNotNull(file, "file cannot be null");
+    checkArgument(syncIntervalMillis >= 0, "syncIntervalMillis cannot be negative");
+    this.file = file;
+    this.temporaryFile = new File(file.getPath() + ".tmp");
+    if (file.exists()) {
+      load(file);
+    } else if (temporaryFile.exists()) {
+      // The previous file was deleted but the synced temporary file wasn't renamed yet.
+      load(temporaryFile);
+      dirty = true;
+    }
+
+    if (syncIntervalMillis > 0) {
+      syncExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "stellar-cursor-store");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      syncExecutor.scheduleWithFixedDelay(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            sync();
+          } catch (IOException e) {
+            synchronized (FileCursorStore.this) {
+              syncFailure = e;
+            }
+          }
+        }
+      }, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+    } else {
+      syncExecutor = null;
+    }
+  }
+
+  private void load(File source) throws IOException {
+    InputStream in = new FileInputStream(source);
+    try {
+      cursors.load(in);
+    } finally {
+      in.close();
+    }
+  }
+
+  @Override
+  public synchronized String load(String key) {
+    return cursors.getProperty(key);
+  }
+
+  /**
+   * Saves the cursor in memory; it is written to disk with the next sync.
+   * @throws IOException when the previous sync failed
+   */
+  @Override
+  public void save(String key, String cursor) throws IOException {
+    checkNotNull(key, "key cannot be null");
+    checkNotNull(cursor, "cursor cannot be null");
+    synchronized (this) {
+      if (syncFailure != null) {
+        IOException failure = syncFailure;
+        syncFailure = null;
+        throw failure;
+      }
+      cursors.setProperty(key, cursor);
+      dirty = true;
+    }
+    if (syncExecutor == null) {
+      sync();
+    }
+  }
+
+  /**
+   * Writes saved cursors to disk if any changed since the last sync.
+   */
+  public void sync() throws IOException {
+    synchronized (writeLock) {
+      Properties snapshot;
+      synchronized (this) {
+        if (!dirty) {
+          return;
+        }
+        snapshot = new Properties();
+        snapshot.putAll(cursors);
+        dirty = false;
+      }
+
+      try {
+        FileOutputStream out = new FileOutputStream(temporaryFile);
+        try {
+          snapshot.store(out, null);
+          out.flush();
+          out.getFD().sync();
+        } finally {
+          out.close();
+        }
+        // renameTo doesn't replace existing files on every platform.
+        if (!temporaryFile.renameTo(file) && !(file.delete() && temporaryFile.renameTo(file))) {
+          throw new IOException("Cannot rename " + temporaryFile + " to " + file);
+        }
+      } catch (IOException e) {
+        synchronized (this) {
+          dirty = true;
+        }
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Stops periodic syncs and writes pending cursors.
+   */
+  @Override
+  public void close() throws IOException {
+    if (syncExecutor != null) {
+      syncExecutor.shutdown();
+      try {
+        syncExecutor.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    sync();
+  }
+}
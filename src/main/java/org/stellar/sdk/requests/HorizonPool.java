@@ -0,0 +1,365 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Routes requests between several Horizon servers serving the same network.
+ * <p><code>GET</code> requests are sent to the server with the lowest recent latency. When a server fails
+ * (connection error or <code>5xx</code> response) it is ejected for a while and the request is retried on the
+ * next one. Other requests, like transaction submission, are pinned to the primary server: the first healthy
+ * server in the order given to the constructor. Identical <code>GET</code> requests in flight at the same time,
+ * like hedged requests, are sent to different servers when possible.</p>
+ * <p>Optional health checks eject servers whose latest ingested ledger lags behind the others.</p>
+ */
+public class HorizonPool implements Interceptor, Closeable {
+  public static final long DEFAULT_EJECTION_MILLIS = 30000;
+  public static final int DEFAULT_MAX_LEDGER_LAG = 5;
+
+  private static final double LATENCY_WEIGHT = 0.3;
+
+  private final List<Endpoint> endpoints;
+  private final Ticker ticker;
+  private final long ejectionNanos;
+  private final int maxLedgerLag;
+  private ScheduledExecutorService healthCheckExecutor;
+
+  /**
+   * @param serverUrls URLs of Horizon servers, the first one is the primary server
+   */
+  public HorizonPool(String... serverUrls) {
+    this(DEFAULT_EJECTION_MILLIS, DEFAULT_MAX_LEDGER_LAG, serverUrls);
+  }
+
+  /**
+   * @param ejectionMillis how long a failing server is not used
+   * @param maxLedgerLag number of ledgers a server can lag behind the most up-to-date one before it is ejected
+   * @param serverUrls URLs of Horizon servers, the first one is the primary server
+   */
+  public HorizonPool(long ejectionMillis, int maxLedgerLag, String... serverUrls) {
+    this(ejectionMillis, maxLedgerLag, Ticker.systemTicker(), serverUrls);
+  }
+
+  HorizonPool(long ejectionMillis, int maxLedgerLag, Ticker ticker, String... serverUrls) {
+    checkArgument(serverUrls.length > 0, "at least one server URL is required");
+    this.endpoints = new ArrayList<Endpoint>();
+    for (String serverUrl : serverUrls) {
+      HttpUrl url = HttpUrl.parse(serverUrl);
+      checkArgument(url != null, "invalid server URL: " + serverUrl);
+      this.endpoints.add(new Endpoint(url));
+    }
+    this.ticker = ticker;
+    this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+    this.maxLedgerLag = maxLedgerLag;
+  }
+
+  /**
+   * Returns the URL of the first configured server. Requests are built against it and rewritten
+   * to the selected server.
+   */
+  public HttpUrl getPrimaryUrl() {
+    return endpoints.get(0).url;
+  }
+
+  @Override
+  public okhttp3.Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    if (!request.method().equals("GET")) {
+      return proceed(chain, request, primary());
+    }
+
+    List<Endpoint> candidates = ranked(request.url());
+    IOException lastException = null;
+    for (int i = 0; i < candidates.size(); i++) {
+      boolean last = i == candidates.size() - 1;
+      try {
+        okhttp3.Response response = proceed(chain, request, candidates.get(i));
+        if (response.code() >= 500 && !last) {
+          response.close();
+          continue;
+        }
+        return response;
+      } catch (IOException e) {
+        if (chain.call().isCanceled()) {
+          throw e;
+        }
+        lastException = e;
+      }
+    }
+    throw lastException;
+  }
+
+  private okhttp3.Response proceed(Chain chain, Request request, Endpoint endpoint) throws IOException {
+    HttpUrl url = request.url().newBuilder()
+            .scheme(endpoint.url.scheme())
+            .host(endpoint.url.host())
+            .port(endpoint.url.port())
+            .encodedPath(rebase(request.url().encodedPath(), endpoint))
+            .build();
+
+    String key = request.url().toString();
+    synchronized (this) {
+      endpoint.inFlight.add(key);
+    }
+    long start = ticker.read();
+    okhttp3.Response response;
+    try {
+      response = chain.proceed(request.newBuilder().url(url).build());
+    } catch (IOException e) {
+      // An open circuit of a single endpoint doesn't make the whole server unhealthy.
+      if (!chain.call().isCanceled() && !(e instanceof CircuitBreakerOpenException)) {
+        markFailure(endpoint);
+      }
+      throw e;
+    } finally {
+      synchronized (this) {
+        endpoint.inFlight.remove(key);
+      }
+    }
+
+    if (response.code() >= 500) {
+      markFailure(endpoint);
+    } else {
+      markSuccess(endpoint, ticker.read() - start);
+    }
+    return response;
+  }
+
+  /**
+   * Moves the path from under the path of the primary server to the path of the given server, so servers
+   * behind a load balancer, like <code>https://lb/horizon-2/</code>, get requests at the right path.
+   */
+  private String rebase(String encodedPath, Endpoint endpoint) {
+    String primaryPath = basePath(endpoints.get(0).url);
+    if (encodedPath.equals(primaryPath) || encodedPath.startsWith(primaryPath + "/")) {
+      encodedPath = encodedPath.substring(primaryPath.length());
+    }
+    String path = basePath(endpoint.url) + encodedPath;
+    return path.isEmpty() ? "/" : path;
+  }
+
+  private static String basePath(HttpUrl url) {
+    String path = url.encodedPath();
+    return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+  }
+
+  /**
+   * Fetches the root resource of each server and ejects servers which are not reachable or whose
+   * <code>history_latest_ledger</code> lags behind the most up-to-date server.
+   * @param httpClient HTTP client used to send health check requests
+   */
+  public void checkHealth(OkHttpClient httpClient) {
+    long maxLedger = 0;
+    for (Endpoint endpoint : endpoints) {
+      Long ledger = fetchLatestLedger(httpClient, endpoint);
+      synchronized (this) {
+        endpoint.latestLedger = ledger;
+      }
+      if (ledger == null) {
+        markFailure(endpoint);
+      } else {
+        maxLedger = Math.max(maxLedger, ledger);
+      }
+    }
+
+    for (Endpoint endpoint : endpoints) {
+      synchronized (this) {
+        // Lagging servers stay out of rotation until a health check shows they caught up.
+        if (endpoint.latestLedger != null) {
+          endpoint.lagging = maxLedger - endpoint.latestLedger > maxLedgerLag;
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs {@link #checkHealth(OkHttpClient)} periodically on a background thread until {@link #close()} is called.
+   */
+  public synchronized void startHealthChecks(final OkHttpClient httpClient, long period, TimeUnit unit) {
+    if (healthCheckExecutor != null) {
+      throw new IllegalStateException("Health checks already started.");
+    }
+    healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "stellar-horizon-pool-health");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+    healthCheckExecutor.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        checkHealth(httpClient);
+      }
+    }, 0, period, unit);
+  }
+
+  /**
+   * Stops health checks.
+   */
+  @Override
+  public synchronized void close() {
+    if (healthCheckExecutor != null) {
+      healthCheckExecutor.shutdownNow();
+      healthCheckExecutor = null;
+    }
+  }
+
+  /**
+   * Returns <code>true</code> if the server with the given URL is currently used for requests.
+   */
+  public synchronized boolean isHealthy(HttpUrl url) {
+    for (Endpoint endpoint : endpoints) {
+      if (endpoint.url.equals(url)) {
+        return isHealthy(endpoint, ticker.read());
+      }
+    }
+    return false;
+  }
+
+  synchronized Endpoint primary() {
+    long now = ticker.read();
+    for (Endpoint endpoint : endpoints) {
+      if (isHealthy(endpoint, now)) {
+        return endpoint;
+      }
+    }
+    return endpoints.get(0);
+  }
+
+  /**
+   * Returns servers for a request to <code>url</code>: healthy servers not serving the same URL yet ordered
+   * by latency, then servers already serving it, like the original of a hedged request, then ejected servers
+   * as the last resort.
+   */
+  synchronized List<Endpoint> ranked(HttpUrl url) {
+    List<Endpoint> ranked = ranked();
+    List<Endpoint> busy = new ArrayList<Endpoint>();
+    String key = url.toString();
+    for (Endpoint endpoint : ranked) {
+      if (endpoint.inFlight.contains(key) && isHealthy(endpoint, ticker.read())) {
+        busy.add(endpoint);
+      }
+    }
+    ranked.removeAll(busy);
+    int healthy = 0;
+    while (healthy < ranked.size() && isHealthy(ranked.get(healthy), ticker.read())) {
+      healthy++;
+    }
+    ranked.addAll(healthy, busy);
+    return ranked;
+  }
+
+  /**
+   * Returns healthy servers ordered by latency followed by ejected servers as the last resort.
+   */
+  synchronized List<Endpoint> ranked() {
+    final long now = ticker.read();
+    List<Endpoint> healthy = new ArrayList<Endpoint>();
+    List<Endpoint> ejected = new ArrayList<Endpoint>();
+    for (Endpoint endpoint : endpoints) {
+      if (isHealthy(endpoint, now)) {
+        healthy.add(endpoint);
+      } else {
+        ejected.add(endpoint);
+      }
+    }
+
+    Collections.sort(healthy, new Comparator<Endpoint>() {
+      @Override
+      public int compare(Endpoint a, Endpoint b) {
+        return Double.compare(a.latencyNanos, b.latencyNanos);
+      }
+    });
+    Collections.sort(ejected, new Comparator<Endpoint>() {
+      @Override
+      public int compare(Endpoint a, Endpoint b) {
+        return Long.signum(a.ejectedUntilNanos - b.ejectedUntilNanos);
+      }
+    });
+    healthy.addAll(ejected);
+    return healthy;
+  }
+
+  private boolean isHealthy(Endpoint endpoint, long now) {
+    return !endpoint.lagging && (!endpoint.ejected || now - endpoint.ejectedUntilNanos >= 0);
+  }
+
+  private synchronized void markFailure(Endpoint endpoint) {
+    endpoint.ejected = true;
+    endpoint.ejectedUntilNanos = ticker.read() + ejectionNanos;
+  }
+
+  /**
+   * Clears ejection after failures. A response doesn't show whether a lagging server caught up, so ejection
+   * for lag is left to health checks.
+   */
+  private synchronized void markSuccess(Endpoint endpoint, long latencyNanos) {
+    endpoint.ejected = false;
+    if (endpoint.latencyNanos == 0) {
+      endpoint.latencyNanos = latencyNanos;
+    } else {
+      endpoint.latencyNanos += LATENCY_WEIGHT * (latencyNanos - endpoint.latencyNanos);
+    }
+  }
+
+  private Long fetchLatestLedger(OkHttpClient httpClient, Endpoint endpoint) {
+    Request request = new Request.Builder().url(endpoint.url).get().build();
+    try {
+      okhttp3.Response response = httpClient.newCall(request).execute();
+      try {
+        ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+          return null;
+        }
+        JsonObject root = new JsonParser().parse(body.charStream()).getAsJsonObject();
+        JsonElement ledger = root.get("history_latest_ledger");
+        return ledger != null ? ledger.getAsLong() : null;
+      } finally {
+        response.close();
+      }
+    } catch (IOException e) {
+      return null;
+    } catch (RuntimeException e) {
+      return null;
+    }
+  }
+
+  static class Endpoint {
+    final HttpUrl url;
+    double latencyNanos;
+    boolean ejected;
+    long ejectedUntilNanos;
+    boolean lagging;
+    Long latestLedger;
+    final Multiset<String> inFlight = HashMultiset.create();
+
+    Endpoint(HttpUrl url) {
+      this.url = url;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package org.stellar.sdk.requests;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Histogram of request latencies with exponentially growing buckets, four per power of two, from 1 ms
+ * to about 65 seconds. Latencies are recorded with a relative error of at most 19%.
+ * <p>Recent latencies are favored: every <code>decayInterval</code> samples all buckets are halved.</p>
+ */
+public class LatencyHistogram {
+  public static final int DEFAULT_DECAY_INTERVAL = 1000;
+
+  private static final int BUCKETS_PER_POWER_OF_TWO = 4;
+  private static final int BUCKET_COUNT = 16 * BUCKETS_PER_POWER_OF_TWO + 1;
+
+  private final long[] buckets = new long[BUCKET_COUNT];
+  private final int decayInterval;
+  private long count;
+  private long sinceDecay;
+
+  public LatencyHistogram() {
+    this(DEFAULT_DECAY_INTERVAL);
+  }
+
+  /**
+   * @param decayInterval number of samples after which the weight of older samples is halved
+   */
+  public LatencyHistogram(int decayInterval) {
+    checkArgument(decayInterval > 0, "decayInterval must be positive");
+    this.decayInterval = decayInterval;
+  }
+
+  public synchronized void record(long latency, TimeUnit unit) {
+    buckets[bucket(unit.toMicros(latency))]++;
+    count++;
+    if (++sinceDecay >= decayInterval) {
+      sinceDecay = 0;
+      count = 0;
+      for (int i = 0; i < buckets.length; i++) {
+        buckets[i] /= 2;
+        count += buckets[i];
+      }
+    }
+  }
+
+  /**
+   * Returns number of samples currently weighted in the histogram.
+   */
+  public synchronized long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the upper bound of the bucket containing the given percentile, or <code>-1</code> if nothing
+   * was recorded.
+   * @param percentile value between 0 and 1, e.g. <code>0.95</code>
+   */
+  public synchronized long getPercentile(double percentile, TimeUnit unit) {
+    checkArgument(percentile >= 0 && percentile <= 1, "percentile must be between 0 and 1");
+    if (count == 0) {
+      return -1;
+    }
+    long rank = (long) Math.ceil(percentile * count);
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen >= rank && seen > 0) {
+        return unit.convert(upperBoundMicros(i), TimeUnit.MICROSECONDS);
+      }
+    }
+    return unit.convert(upperBoundMicros(buckets.length - 1), TimeUnit.MICROSECONDS);
+  }
+
+  static int bucket(long micros) {
+    if (micros <= 1000) {
+      return 0;
+    }
+    int index = (int) Math.ceil(BUCKETS_PER_POWER_OF_TWO * Math.log(micros / 1000.0) / Math.log(2));
+    return Math.min(index, BUCKET_COUNT - 1);
+  }
+
+  static long upperBoundMicros(int bucket) {
+    return (long) Math.ceil(1000 * Math.pow(2, (double) bucket / BUCKETS_PER_POWER_OF_TWO));
+  }
+}
@@ -0,0 +1,259 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Runs poll tasks just after every ledger close instead of on a fixed timer.
+ * <p>The scheduler polls the latest ledger shortly after the next ledger is expected to close. The close cadence
+ * is learned from <code>closed_at</code> and <code>sequence</code> of observed ledgers, and the delay between a
+ * close and the moment it can be seen on Horizon from the lowest delay observed recently. When a new ledger is
+ * seen, every registered task is called with it, so tasks polling <code>/payments</code> or
+ * <code>/transactions</code> run once per ledger, right when new records are available. When the poll comes too
+ * early, the latest ledger is polled again after a tenth of the close interval.</p>
+ * <p>Tasks run on the scheduler's thread one after another, so slow tasks should send asynchronous requests.</p>
+ */
+public class LedgerPollScheduler implements Closeable {
+  public static final long DEFAULT_POLL_DELAY_MILLIS = 500;
+
+  static final long INITIAL_CLOSE_INTERVAL_MILLIS = 5000;
+  private static final long MIN_CLOSE_INTERVAL_MILLIS = 1000;
+  private static final long MAX_CLOSE_INTERVAL_MILLIS = 60000;
+  private static final long MIN_RETRY_MILLIS = 100;
+  private static final double SMOOTHING = 0.2;
+
+  private final QueryTemplate<Page<LedgerResponse>> latestLedger;
+  private final long pollDelayNanos;
+  private final Ticker ticker;
+  private final ScheduledExecutorService scheduler;
+  private final List<EventListener<LedgerResponse>> tasks = new CopyOnWriteArrayList<EventListener<LedgerResponse>>();
+  private final SimpleDateFormat closedAtFormat;
+  private final AtomicLong pollCount = new AtomicLong();
+  private final AtomicLong emptyPollCount = new AtomicLong();
+  private final Runnable pollTask = new Runnable() {
+    @Override
+    public void run() {
+      long delayNanos = poll();
+      try {
+        scheduler.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+      } catch (RejectedExecutionException e) {
+        // Scheduler was closed.
+      }
+    }
+  };
+
+  private LedgerResponse lastLedger;
+  private long lastClosedAtMillis = -1;
+  private double closeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(INITIAL_CLOSE_INTERVAL_MILLIS);
+  // Difference between the ticker and closed_at of ledgers, including the time needed to see a new ledger.
+  private long offsetNanos;
+  private boolean offsetKnown;
+  private boolean started;
+
+  /**
+   * Creates a scheduler polling ledgers {@link #DEFAULT_POLL_DELAY_MILLIS} milliseconds after they are expected
+   * to be seen on Horizon.
+   * @param ledgers builder of ledgers requests, e.g. <code>server.ledgers()</code>
+   */
+  public LedgerPollScheduler(LedgersRequestBuilder ledgers) {
+    this(ledgers, DEFAULT_POLL_DELAY_MILLIS);
+  }
+
+  /**
+   * @param ledgers builder of ledgers requests, e.g. <code>server.ledgers()</code>
+   * @param pollDelayMillis how long after a ledger is expected to be seen the latest ledger is polled
+   */
+  public LedgerPollScheduler(LedgersRequestBuilder ledgers, long pollDelayMillis) {
+    this(checkNotNull(ledgers, "ledgers cannot be null").order(RequestBuilder.Order.DESC).limit(1).template(),
+            pollDelayMillis, Ticker.systemTicker());
+  }
+
+  LedgerPollScheduler(QueryTemplate<Page<LedgerResponse>> latestLedger, long pollDelayMillis, Ticker ticker) {
+    checkArgument(pollDelayMillis >= 0, "pollDelayMillis cannot be negative");
+    this.latestLedger = latestLedger;
+    this.pollDelayNanos = TimeUnit.MILLISECONDS.toNanos(pollDelayMillis);
+    this.ticker = ticker;
+    this.closedAtFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+    this.closedAtFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "stellar-ledger-poll-scheduler");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * Registers a task called with every new ledger.
+   */
+  public void addTask(EventListener<LedgerResponse> task) {
+    tasks.add(checkNotNull(task, "task cannot be null"));
+  }
+
+  /**
+   * Removes a registered task.
+   */
+  public void removeTask(EventListener<LedgerResponse> task) {
+    tasks.remove(task);
+  }
+
+  /**
+   * Starts polling. The latest ledger is polled immediately and tasks are called with it.
+   */
+  public synchronized void start() {
+    checkState(!started, "Scheduler was already started");
+    started = true;
+    scheduler.execute(pollTask);
+  }
+
+  /**
+   * Returns the latest ledger seen or <code>null</code> if no ledger was polled yet.
+   */
+  public synchronized LedgerResponse getLastLedger() {
+    return lastLedger;
+  }
+
+  /**
+   * Returns the estimated time between ledger closes.
+   */
+  public synchronized long getCloseIntervalMillis() {
+    return TimeUnit.NANOSECONDS.toMillis((long) closeIntervalNanos);
+  }
+
+  /**
+   * Returns number of times the latest ledger was polled.
+   */
+  public long getPollCount() {
+    return pollCount.get();
+  }
+
+  /**
+   * Returns number of polls that didn't return a new ledger.
+   */
+  public long getEmptyPollCount() {
+    return emptyPollCount.get();
+  }
+
+  /**
+   * Stops polling. A task being called is not interrupted.
+   */
+  @Override
+  public void close() {
+    scheduler.shutdown();
+  }
+
+  /**
+   * Polls the latest ledger and calls tasks when it's new.
+   * @return nanoseconds until the next poll
+   */
+  long poll() {
+    pollCount.incrementAndGet();
+    LedgerResponse latest;
+    try {
+      List<LedgerResponse> records = latestLedger.execute().getRecords();
+      latest = records == null || records.isEmpty() ? null : records.get(0);
+    } catch (TooManyRequestsException e) {
+      return Math.max(currentIntervalNanos(), TimeUnit.SECONDS.toNanos(e.getRetryAfter()));
+    } catch (IOException e) {
+      return currentIntervalNanos();
+    } catch (RuntimeException e) {
+      return currentIntervalNanos();
+    }
+
+    long now = ticker.read();
+    long nextPoll;
+    synchronized (this) {
+      if (latest == null || latest.getSequence() == null
+              || (lastLedger != null && latest.getSequence() <= lastLedger.getSequence())) {
+        emptyPollCount.incrementAndGet();
+        return Math.max((long) closeIntervalNanos / 10, TimeUnit.MILLISECONDS.toNanos(MIN_RETRY_MILLIS));
+      }
+      nextPoll = onLedger(latest, now);
+    }
+
+    for (EventListener<LedgerResponse> task : tasks) {
+      try {
+        task.onEvent(latest);
+      } catch (RuntimeException e) {
+        // A failing task doesn't stop other tasks.
+      }
+    }
+    return Math.max(nextPoll - ticker.read(), 0);
+  }
+
+  /**
+   * Updates the close cadence with a new ledger.
+   * @return ticker time of the next poll
+   */
+  private long onLedger(LedgerResponse ledger, long now) {
+    long closedAtMillis = parseClosedAt(ledger.getClosedAt());
+    long seenAt = now;
+    if (closedAtMillis >= 0) {
+      long closedAtNanos = TimeUnit.MILLISECONDS.toNanos(closedAtMillis);
+      long sample = now - closedAtNanos;
+      // Follow the lowest delay, which is closest to the actual one, but drift towards higher delays in case
+      // clocks moved.
+      if (!offsetKnown || sample < offsetNanos) {
+        offsetNanos = sample;
+        offsetKnown = true;
+      } else {
+        offsetNanos += (sample - offsetNanos) / 8;
+      }
+      seenAt = closedAtNanos + offsetNanos;
+
+      if (lastLedger != null && lastClosedAtMillis >= 0 && closedAtMillis > lastClosedAtMillis) {
+        long ledgers = ledger.getSequence() - lastLedger.getSequence();
+        double interval = TimeUnit.MILLISECONDS.toNanos(closedAtMillis - lastClosedAtMillis) / (double) ledgers;
+        closeIntervalNanos += SMOOTHING * (interval - closeIntervalNanos);
+        closeIntervalNanos = Math.min(Math.max(closeIntervalNanos, TimeUnit.MILLISECONDS.toNanos(MIN_CLOSE_INTERVAL_MILLIS)),
+                TimeUnit.MILLISECONDS.toNanos(MAX_CLOSE_INTERVAL_MILLIS));
+      }
+    }
+    lastLedger = ledger;
+    lastClosedAtMillis = closedAtMillis;
+
+    long nextPoll = seenAt + (long) closeIntervalNanos + pollDelayNanos;
+    return Math.max(nextPoll, now + TimeUnit.MILLISECONDS.toNanos(MIN_RETRY_MILLIS));
+  }
+
+  private synchronized long currentIntervalNanos() {
+    return (long) closeIntervalNanos;
+  }
+
+  /**
+   * Returns milliseconds since epoch of an ISO 8601 <code>closed_at</code> time or <code>-1</code> if it can't
+   * be parsed. Fractions of seconds are ignored.
+   */
+  private long parseClosedAt(String closedAt) {
+    if (closedAt == null || closedAt.length() < 19) {
+      return -1;
+    }
+    try {
+      return closedAtFormat.parse(closedAt.substring(0, 19)).getTime();
+    } catch (ParseException e) {
+      return -1;
+    }
+  }
+}
@@ -1,20 +1,36 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import org.stellar.sdk.responses.LedgerResponse;
 import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.RawRecord;
+import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Builds requests connected to ledgers.
  */
 public class LedgersRequestBuilder extends RequestBuilder {
   public LedgersRequestBuilder(OkHttpClient httpClient, HttpUrl serverUrl) {
-    super(httpClient, serverUrl, "ledgers");
+    this(new RequestContext(httpClient), serverUrl);
+  }
+
+  public LedgersRequestBuilder(RequestContext context, HttpUrl serverUrl) {
+    super(context, serverUrl, "ledgers");
   }
 
   /**
@@ -37,6 +53,91 @@ public class LedgersRequestBuilder extends RequestBuilder {
     return this.ledger(this.buildUrl());
   }
 
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link LedgerResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<LedgerResponse> ledgerAsync(HttpUrl url) {
+    return getAsync(url, LedgerResponse.class);
+  }
+
+  /**
+   * Asynchronously requests <code>GET /ledgers/{ledgerSeq}</code>
+   * @param ledgerSeq Ledger to fetch
+   * @return future completed with {@link LedgerResponse}
+   */
+  public ListenableFuture<LedgerResponse> ledgerAsync(long ledgerSeq) {
+    this.setPathSegments("ledgers", String.valueOf(ledgerSeq));
+    return this.ledgerAsync(this.buildUrl());
+  }
+
+  /**
+   * Requests <code>GET /ledgers/{ledgerSeq}</code> and then the selected links of the ledger concurrently.
+   * @param ledgerSeq Ledger to fetch
+   * @param relations links to expand
+   * @throws IOException
+   */
+  public ExpandedLedger expandLedger(long ledgerSeq, ExpandedLedger.Relation... relations) throws IOException {
+    return await(this.expandLedgerAsync(ledgerSeq, relations));
+  }
+
+  /**
+   * Asynchronously requests <code>GET /ledgers/{ledgerSeq}</code> and then the selected links of the ledger
+   * concurrently.
+   * @param ledgerSeq Ledger to fetch
+   * @param relations links to expand
+   * @return future completed with {@link ExpandedLedger}
+   */
+  public ListenableFuture<ExpandedLedger> expandLedgerAsync(long ledgerSeq, final ExpandedLedger.Relation... relations) {
+    return Futures.transform(this.ledgerAsync(ledgerSeq), new AsyncFunction<LedgerResponse, ExpandedLedger>() {
+      @Override
+      public ListenableFuture<ExpandedLedger> apply(LedgerResponse ledger) {
+        return expand(ledger, relations);
+      }
+    });
+  }
+
+  /**
+   * Asynchronously requests the selected links of the ledger concurrently. Links the ledger doesn't have are
+   * skipped. Collections are requested page by page until they are complete.
+   * @param ledger ledger to expand
+   * @param relations links to expand
+   * @return future completed with {@link ExpandedLedger} when all links are fetched, or failed with the first
+   *     failure. Cancelling the returned future cancels all HTTP calls.
+   */
+  public ListenableFuture<ExpandedLedger> expand(final LedgerResponse ledger, ExpandedLedger.Relation... relations) {
+    checkNotNull(ledger, "ledger cannot be null");
+    LedgerResponse.Links links = ledger.getLinks();
+    Map<ExpandedLedger.Relation, ListenableFuture<?>> resources =
+            new EnumMap<ExpandedLedger.Relation, ListenableFuture<?>>(ExpandedLedger.Relation.class);
+    for (ExpandedLedger.Relation relation : relations) {
+      ListenableFuture<?> resource = null;
+      if (links != null) {
+        switch (relation) {
+          case TRANSACTIONS:
+            resource = followCollection(links.getTransactions(), new TypeToken<Page<TransactionResponse>>() {}.getType());
+            break;
+          case OPERATIONS:
+            resource = followCollection(links.getOperations(), new TypeToken<Page<OperationResponse>>() {}.getType());
+            break;
+          case EFFECTS:
+            resource = followCollection(links.getEffects(), new TypeToken<Page<EffectResponse>>() {}.getType());
+            break;
+        }
+      }
+      if (resource != null) {
+        resources.put(relation, resource);
+      }
+    }
+    return Futures.transform(allOf(ExpandedLedger.Relation.class, resources),
+            new Function<Map<ExpandedLedger.Relation, Object>, ExpandedLedger>() {
+              @Override
+              public ExpandedLedger apply(Map<ExpandedLedger.Relation, Object> expanded) {
+                return new ExpandedLedger(ledger, expanded);
+              }
+            });
+  }
+
   /**
    * Allows to stream SSE events from horizon.
    * Certain endpoints in Horizon can be called in streaming mode using Server-Sent Events.
@@ -45,25 +146,37 @@ public class LedgersRequestBuilder extends RequestBuilder {
    * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
    * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
    * @param listener {@link EventListener} implementation with {@link LedgerResponse} type
-   * @return EventSource object, so you can <code>close()</code> connection when not needed anymore
+   * @return SSEStream object, so you can <code>close()</code> connection when not needed anymore
    */
-  /*
-  public EventSource stream(final EventListener<LedgerResponse> listener) {
-    Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
-    WebTarget target = client.target(this.buildUri());
-    EventSource eventSource = new EventSource(target) {
-      @Override
-      public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
-        }
-        LedgerResponse ledger = GsonSingleton.getInstance().fromJson(data, LedgerResponse.class);
-        listener.onEvent(ledger);
-      }
-    };
-    return eventSource;
-  }*/
+  public SSEStream<LedgerResponse> stream(final EventListener<LedgerResponse> listener) {
+    return stream(listener, LedgerResponse.class);
+  }
+
+  @Override
+  public SSEStream<RawRecord> streamRaw(EventListener<RawRecord> listener) {
+    return super.streamRaw(listener);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream. Up to {@link StreamPublisher#DEFAULT_BUFFER_SIZE} events are buffered for a subscriber
+   * and reading from the connection is paused when the buffer is full.
+   * @return {@link StreamPublisher} of {@link LedgerResponse}
+   */
+  public StreamPublisher<LedgerResponse> publisher() {
+    return this.publisher(StreamPublisher.DEFAULT_BUFFER_SIZE, StreamPublisher.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream.
+   * @param bufferSize maximum number of events buffered for a subscriber ahead of its demand
+   * @param overflowPolicy what to do with new events when the buffer is full
+   * @return {@link StreamPublisher} of {@link LedgerResponse}
+   */
+  public StreamPublisher<LedgerResponse> publisher(int bufferSize, StreamPublisher.OverflowPolicy overflowPolicy) {
+    return publisher(LedgerResponse.class, bufferSize, overflowPolicy);
+  }
 
   /**
    * Build and execute request.
@@ -87,6 +200,93 @@ public class LedgersRequestBuilder extends RequestBuilder {
     return get(url, typeToken.getType());
   }
 
+  /**
+   * Build and execute request asynchronously.
+   * @return future completed with {@link Page} of {@link LedgerResponse}
+   */
+  public ListenableFuture<Page<LedgerResponse>> executeAsync() {
+    return this.executeAsync(this.buildUrl());
+  }
+
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link Page} of {@link LedgerResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<Page<LedgerResponse>> executeAsync(HttpUrl url) {
+    TypeToken typeToken = new TypeToken<Page<LedgerResponse>>() {};
+    return getAsync(url, typeToken.getType());
+  }
+
+  /**
+   * Compiles the query built so far into an immutable {@link QueryTemplate} returning {@link Page} of {@link LedgerResponse},
+   * which can be executed repeatedly from any thread. This builder shouldn't be used afterwards.
+   * @return {@link QueryTemplate} of the query
+   */
+  public QueryTemplate<Page<LedgerResponse>> template() {
+    TypeToken typeToken = new TypeToken<Page<LedgerResponse>>() {};
+    return template(typeToken.getType());
+  }
+
+  @Override
+  public LedgersRequestBuilder priority(RequestPriority priority) {
+    super.priority(priority);
+    return this;
+  }
+
+  @Override
+  public LedgersRequestBuilder cancellation(CancellationToken token) {
+    super.cancellation(token);
+    return this;
+  }
+
+  /**
+   * Iterates over all {@link LedgerResponse} records, following <code>next</code> links and fetching one page
+   * in the background ahead of the consumer. Page size is set using {@link #limit(int)}.
+   * @return {@link PagingIterable} of {@link LedgerResponse}
+   */
+  public PagingIterable<LedgerResponse> iterate() {
+    return this.iterate(1);
+  }
+
+  /**
+   * Iterates over all {@link LedgerResponse} records, following <code>next</code> links.
+   * Page size is set using {@link #limit(int)}.
+   * @param prefetchDepth number of pages fetched in the background ahead of the consumer
+   * @return {@link PagingIterable} of {@link LedgerResponse}
+   */
+  public PagingIterable<LedgerResponse> iterate(int prefetchDepth) {
+    TypeToken typeToken = new TypeToken<Page<LedgerResponse>>() {};
+    return iterate(typeToken.getType(), prefetchDepth);
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw() {
+    return super.iterateRaw();
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw(int prefetchDepth) {
+    return super.iterateRaw(prefetchDepth);
+  }
+
+  @Override
+  public LedgersRequestBuilder checkpoint(CursorStore store, String key) {
+    super.checkpoint(store, key);
+    return this;
+  }
+
+  @Override
+  public LedgersRequestBuilder adaptiveLimit(int minLimit, int maxLimit) {
+    super.adaptiveLimit(minLimit, maxLimit);
+    return this;
+  }
+
+  @Override
+  public LedgersRequestBuilder fields(String... fields) {
+    super.fields(fields);
+    return this;
+  }
+
   @Override
   public LedgersRequestBuilder cursor(String token) {
     super.cursor(token);
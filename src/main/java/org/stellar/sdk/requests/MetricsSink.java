@@ -0,0 +1,59 @@
+package org.stellar.sdk.requests;
+
+import java.io.IOException;
+
+/**
+ * Receives timings of requests sent to Horizon, e.g. to export them to a monitoring system.
+ * <p>Timings are reported per endpoint: host and path of the request, with path segments containing digits
+ * (account IDs, ledger sequences, hashes) replaced by <code>{id}</code>, e.g.
+ * <code>horizon.stellar.org/accounts/{id}/payments</code>.</p>
+ * <p>Methods are called from HTTP client and decoding threads, so they must be thread-safe and fast.</p>
+ * @see EndpointMetrics
+ * @see org.stellar.sdk.Server.Builder#metricsSink(MetricsSink)
+ */
+public interface MetricsSink {
+  /**
+   * Timed phase of a request.
+   */
+  enum Phase {
+    /**
+     * DNS lookup.
+     */
+    DNS,
+    /**
+     * Establishing a connection, including the TLS handshake.
+     */
+    CONNECT,
+    /**
+     * TLS handshake.
+     */
+    TLS,
+    /**
+     * From sending request headers to the start of response headers.
+     */
+    TIME_TO_FIRST_BYTE,
+    /**
+     * Whole HTTP call, from its start to the end of the response body.
+     */
+    CALL,
+    /**
+     * Reading and decoding the JSON response body.
+     */
+    DECODE
+  }
+
+  /**
+   * Records duration of a phase of a request.
+   * @param endpoint endpoint of the request
+   * @param phase timed phase
+   * @param nanos duration in nanoseconds
+   */
+  void record(String endpoint, Phase phase, long nanos);
+
+  /**
+   * Records a failed HTTP call.
+   * @param endpoint endpoint of the request
+   * @param e cause of the failure
+   */
+  void recordFailure(String endpoint, IOException e);
+}
@@ -1,5 +1,6 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
@@ -7,6 +8,7 @@ import okhttp3.OkHttpClient;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.responses.OfferResponse;
 import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.RawRecord;
 
 import java.io.IOException;
 
@@ -17,7 +19,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class OffersRequestBuilder extends RequestBuilder {
   public OffersRequestBuilder(OkHttpClient httpClient, HttpUrl serverUrl) {
-    super(httpClient, serverUrl, "offers");
+    this(new RequestContext(httpClient), serverUrl);
+  }
+
+  public OffersRequestBuilder(RequestContext context, HttpUrl serverUrl) {
+    super(context, serverUrl, "offers");
   }
 
   /**
@@ -31,6 +37,46 @@ public class OffersRequestBuilder extends RequestBuilder {
     return this;
   }
 
+  /**
+   * Allows to stream SSE events from horizon.
+   * Certain endpoints in Horizon can be called in streaming mode using Server-Sent Events.
+   * This mode will keep the connection to horizon open and horizon will continue to return
+   * responses as ledgers close. Offers can be streamed only for an account, see {@link #forAccount(KeyPair)}.
+   * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
+   * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
+   * @param listener {@link EventListener} implementation with {@link OfferResponse} type
+   * @return SSEStream object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<OfferResponse> stream(final EventListener<OfferResponse> listener) {
+    return stream(listener, OfferResponse.class);
+  }
+
+  @Override
+  public SSEStream<RawRecord> streamRaw(EventListener<RawRecord> listener) {
+    return super.streamRaw(listener);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream. Up to {@link StreamPublisher#DEFAULT_BUFFER_SIZE} events are buffered for a subscriber
+   * and reading from the connection is paused when the buffer is full.
+   * @return {@link StreamPublisher} of {@link OfferResponse}
+   */
+  public StreamPublisher<OfferResponse> publisher() {
+    return this.publisher(StreamPublisher.DEFAULT_BUFFER_SIZE, StreamPublisher.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream.
+   * @param bufferSize maximum number of events buffered for a subscriber ahead of its demand
+   * @param overflowPolicy what to do with new events when the buffer is full
+   * @return {@link StreamPublisher} of {@link OfferResponse}
+   */
+  public StreamPublisher<OfferResponse> publisher(int bufferSize, StreamPublisher.OverflowPolicy overflowPolicy) {
+    return publisher(OfferResponse.class, bufferSize, overflowPolicy);
+  }
+
   /**
    * Build and execute request.
    * @return {@link Page} of {@link OfferResponse}
@@ -53,6 +99,93 @@ public class OffersRequestBuilder extends RequestBuilder {
     return get(url, typeToken.getType());
   }
 
+  /**
+   * Build and execute request asynchronously.
+   * @return future completed with {@link Page} of {@link OfferResponse}
+   */
+  public ListenableFuture<Page<OfferResponse>> executeAsync() {
+    return this.executeAsync(this.buildUrl());
+  }
+
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link Page} of {@link OfferResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<Page<OfferResponse>> executeAsync(HttpUrl url) {
+    TypeToken typeToken = new TypeToken<Page<OfferResponse>>() {};
+    return getAsync(url, typeToken.getType());
+  }
+
+  /**
+   * Compiles the query built so far into an immutable {@link QueryTemplate} returning {@link Page} of {@link OfferResponse},
+   * which can be executed repeatedly from any thread. This builder shouldn't be used afterwards.
+   * @return {@link QueryTemplate} of the query
+   */
+  public QueryTemplate<Page<OfferResponse>> template() {
+    TypeToken typeToken = new TypeToken<Page<OfferResponse>>() {};
+    return template(typeToken.getType());
+  }
+
+  @Override
+  public OffersRequestBuilder priority(RequestPriority priority) {
+    super.priority(priority);
+    return this;
+  }
+
+  @Override
+  public OffersRequestBuilder cancellation(CancellationToken token) {
+    super.cancellation(token);
+    return this;
+  }
+
+  /**
+   * Iterates over all {@link OfferResponse} records, following <code>next</code> links and fetching one page
+   * in the background ahead of the consumer. Page size is set using {@link #limit(int)}.
+   * @return {@link PagingIterable} of {@link OfferResponse}
+   */
+  public PagingIterable<OfferResponse> iterate() {
+    return this.iterate(1);
+  }
+
+  /**
+   * Iterates over all {@link OfferResponse} records, following <code>next</code> links.
+   * Page size is set using {@link #limit(int)}.
+   * @param prefetchDepth number of pages fetched in the background ahead of the consumer
+   * @return {@link PagingIterable} of {@link OfferResponse}
+   */
+  public PagingIterable<OfferResponse> iterate(int prefetchDepth) {
+    TypeToken typeToken = new TypeToken<Page<OfferResponse>>() {};
+    return iterate(typeToken.getType(), prefetchDepth);
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw() {
+    return super.iterateRaw();
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw(int prefetchDepth) {
+    return super.iterateRaw(prefetchDepth);
+  }
+
+  @Override
+  public OffersRequestBuilder checkpoint(CursorStore store, String key) {
+    super.checkpoint(store, key);
+    return this;
+  }
+
+  @Override
+  public OffersRequestBuilder adaptiveLimit(int minLimit, int maxLimit) {
+    super.adaptiveLimit(minLimit, maxLimit);
+    return this;
+  }
+
+  @Override
+  public OffersRequestBuilder fields(String... fields) {
+    super.fields(fields);
+    return this;
+  }
+
   @Override
   public OffersRequestBuilder cursor(String token) {
     super.cursor(token);
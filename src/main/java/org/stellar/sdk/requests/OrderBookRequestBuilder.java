@@ -1,5 +1,7 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import org.stellar.sdk.Asset;
@@ -13,7 +15,11 @@ import java.io.IOException;
  */
 public class OrderBookRequestBuilder extends RequestBuilder {
   public OrderBookRequestBuilder(OkHttpClient httpClient, HttpUrl serverUrl) {
-    super(httpClient, serverUrl, "order_book");
+    this(new RequestContext(httpClient), serverUrl);
+  }
+
+  public OrderBookRequestBuilder(RequestContext context, HttpUrl serverUrl) {
+    super(context, serverUrl, "order_book");
   }
 
   public OrderBookRequestBuilder buyingAsset(Asset asset) {
@@ -36,6 +42,41 @@ public class OrderBookRequestBuilder extends RequestBuilder {
     return this;
   }
 
+  /**
+   * Allows to stream SSE events from horizon.
+   * Certain endpoints in Horizon can be called in streaming mode using Server-Sent Events.
+   * This mode will keep the connection to horizon open and horizon will continue to return
+   * responses as ledgers close.
+   * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
+   * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
+   * @param listener {@link EventListener} implementation with {@link OrderBookResponse} type
+   * @return SSEStream object, so you can <code>close()</code> connection when not needed anymore
+   */
+  public SSEStream<OrderBookResponse> stream(final EventListener<OrderBookResponse> listener) {
+    return stream(listener, OrderBookResponse.class);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream. Up to {@link StreamPublisher#DEFAULT_BUFFER_SIZE} events are buffered for a subscriber
+   * and reading from the connection is paused when the buffer is full.
+   * @return {@link StreamPublisher} of {@link OrderBookResponse}
+   */
+  public StreamPublisher<OrderBookResponse> publisher() {
+    return this.publisher(StreamPublisher.DEFAULT_BUFFER_SIZE, StreamPublisher.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream.
+   * @param bufferSize maximum number of events buffered for a subscriber ahead of its demand
+   * @param overflowPolicy what to do with new events when the buffer is full
+   * @return {@link StreamPublisher} of {@link OrderBookResponse}
+   */
+  public StreamPublisher<OrderBookResponse> publisher(int bufferSize, StreamPublisher.OverflowPolicy overflowPolicy) {
+    return publisher(OrderBookResponse.class, bufferSize, overflowPolicy);
+  }
+
   public OrderBookResponse execute() throws IOException, TooManyRequestsException {
     return this.execute(this.buildUrl());
   }
@@ -44,6 +85,43 @@ public class OrderBookRequestBuilder extends RequestBuilder {
     return get(url, OrderBookResponse.class);
   }
 
+  /**
+   * Build and execute request asynchronously.
+   * @return future completed with {@link OrderBookResponse}
+   */
+  public ListenableFuture<OrderBookResponse> executeAsync() {
+    return this.executeAsync(this.buildUrl());
+  }
+
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link OrderBookResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<OrderBookResponse> executeAsync(HttpUrl url) {
+    return getAsync(url, OrderBookResponse.class);
+  }
+
+  /**
+   * Compiles the query built so far into an immutable {@link QueryTemplate} returning {@link OrderBookResponse},
+   * which can be executed repeatedly from any thread. This builder shouldn't be used afterwards.
+   * @return {@link QueryTemplate} of the query
+   */
+  public QueryTemplate<OrderBookResponse> template() {
+    return template(OrderBookResponse.class);
+  }
+
+  @Override
+  public OrderBookRequestBuilder priority(RequestPriority priority) {
+    super.priority(priority);
+    return this;
+  }
+
+  @Override
+  public OrderBookRequestBuilder cancellation(CancellationToken token) {
+    super.cancellation(token);
+    return this;
+  }
+
   @Override
   public RequestBuilder cursor(String cursor) {
     throw new RuntimeException("Not implemented yet.");
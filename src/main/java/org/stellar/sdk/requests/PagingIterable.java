@@ -0,0 +1,229 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import okhttp3.HttpUrl;
+import org.stellar.sdk.responses.Link;
+import org.stellar.sdk.responses.Page;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Iterates over all records of a paged collection by following <code>next</code> links.
+ * <p>While records of the current page are consumed, up to <code>prefetchDepth</code> following pages
+ * are requested in the background, so the latency of consecutive requests is hidden from the caller.
+ * Iteration ends at the first empty page.</p>
+ * <p>When a {@link CursorStore} is set with {@link RequestBuilder#checkpoint(CursorStore, String)}, iteration
+ * starts from the saved cursor and the cursor is saved every time all records of a page have been consumed.</p>
+ * <p>When adaptive page size is enabled with {@link RequestBuilder#adaptiveLimit(int, int)}, the <code>limit</code>
+ * of every request is tuned for maximum records per second, see {@link AdaptivePageSize}. Iterators of the same
+ * iterable share the tuned size.</p>
+ * <p>Iterators should be closed when iteration is stopped before its end, so prefetched pages stop loading.</p>
+ * @param <T> type of the records
+ */
+public class PagingIterable<T> implements Iterable<T> {
+  private final HttpUrl url;
+  private final int prefetchDepth;
+  private final PageFetcher<T> fetcher;
+  private final Checkpoint checkpoint;
+  private final AdaptivePageSize pageSize;
+
+  PagingIterable(HttpUrl url, int prefetchDepth, PageFetcher<T> fetcher) {
+    this(url, prefetchDepth, fetcher, null, null);
+  }
+
+  PagingIterable(HttpUrl url, int prefetchDepth, PageFetcher<T> fetcher, Checkpoint checkpoint, AdaptivePageSize pageSize) {
+    checkArgument(prefetchDepth >= 0, "prefetchDepth cannot be negative");
+    this.url = url;
+    this.prefetchDepth = prefetchDepth;
+    this.fetcher = fetcher;
+    this.checkpoint = checkpoint;
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Returns a new iterator starting at the first page or at the saved cursor.
+   */
+  @Override
+  public CloseableIterator<T> iterator() {
+    return new PagingIterator();
+  }
+
+  /**
+   * Iterator that can be closed before its end, cancelling requests of prefetched pages.
+   */
+  public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+    /**
+     * Ends the iteration and cancels requests of pages that weren't consumed yet.
+     */
+    @Override
+    void close();
+  }
+
+  interface PageFetcher<T> {
+    ListenableFuture<Page<T>> fetch(HttpUrl url);
+  }
+
+  private class PagingIterator implements CloseableIterator<T> {
+    private final LinkedList<ListenableFuture<Page<T>>> pages = new LinkedList<ListenableFuture<Page<T>>>();
+    private ListenableFuture<Page<T>> current;
+    private Page<T> currentPage;
+    private Iterator<T> records;
+    private boolean finished;
+
+    PagingIterator() {
+      pages.add(fetch(startUrl()));
+      for (int i = 0; i < prefetchDepth; i++) {
+        pages.add(fetchNext(pages.getLast()));
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!finished && (records == null || !records.hasNext())) {
+        if (records != null) {
+          saveCheckpoint(currentPage);
+        }
+        if (pages.isEmpty()) {
+          pages.add(fetchNext(current));
+        }
+        current = pages.removeFirst();
+        if (prefetchDepth > 0) {
+          pages.add(fetchNext(pages.isEmpty() ? current : pages.getLast()));
+        }
+
+        Page<T> page = getPage(current);
+        currentPage = page;
+        if (page == null || page.getRecords() == null || page.getRecords().isEmpty()) {
+          close();
+        } else {
+          records = page.getRecords().iterator();
+        }
+      }
+      return !finished;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return records.next();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() {
+      finished = true;
+      records = null;
+      for (ListenableFuture<Page<T>> pending : pages) {
+        pending.cancel(true);
+      }
+      pages.clear();
+    }
+
+    /**
+     * Chains a request for the page following the one returned by <code>previous</code>.
+     */
+    private ListenableFuture<Page<T>> fetchNext(ListenableFuture<Page<T>> previous) {
+      return Futures.transform(previous, new AsyncFunction<Page<T>, Page<T>>() {
+        @Override
+        public ListenableFuture<Page<T>> apply(Page<T> page) {
+          if (page == null || page.getRecords() == null || page.getRecords().isEmpty()) {
+            return Futures.immediateFuture(null);
+          }
+          Link next = page.getLinks() != null ? page.getLinks().getNext() : null;
+          if (next == null) {
+            return Futures.immediateFuture(null);
+          }
+          return fetch(url.resolve(next.getHref()));
+        }
+      });
+    }
+
+    /**
+     * Requests a page, with the tuned page size if adaptive page size is enabled.
+     */
+    private ListenableFuture<Page<T>> fetch(HttpUrl pageUrl) {
+      if (pageSize == null) {
+        return fetcher.fetch(pageUrl);
+      }
+      final int limit = pageSize.getLimit();
+      final long start = System.nanoTime();
+      ListenableFuture<Page<T>> page = fetcher.fetch(pageUrl.newBuilder().setQueryParameter("limit", String.valueOf(limit)).build());
+      Futures.addCallback(page, new FutureCallback<Page<T>>() {
+        @Override
+        public void onSuccess(Page<T> result) {
+          if (result != null && result.getRecords() != null) {
+            pageSize.record(limit, result.getRecords().size(), System.nanoTime() - start);
+          }
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+        }
+      }, MoreExecutors.directExecutor());
+      return page;
+    }
+
+    private HttpUrl startUrl() {
+      if (checkpoint == null) {
+        return url;
+      }
+      String savedCursor;
+      try {
+        savedCursor = checkpoint.load();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      return savedCursor != null ? url.newBuilder().setQueryParameter("cursor", savedCursor).build() : url;
+    }
+
+    /**
+     * Saves the cursor pointing after the last record of a consumed page.
+     */
+    private void saveCheckpoint(Page<T> page) {
+      Link next = page.getLinks() != null ? page.getLinks().getNext() : null;
+      if (checkpoint == null || next == null) {
+        return;
+      }
+      String cursor = url.resolve(next.getHref()).queryParameter("cursor");
+      if (cursor != null) {
+        try {
+          checkpoint.save(cursor);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }
+
+    private Page<T> getPage(ListenableFuture<Page<T>> future) {
+      try {
+        return future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new RuntimeException(e.getCause());
+      }
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
@@ -17,7 +18,11 @@ import java.io.IOException;
  */
 public class PathsRequestBuilder extends RequestBuilder {
   public PathsRequestBuilder(OkHttpClient okHttpClient, HttpUrl serverUrl) {
-    super(okHttpClient, serverUrl, "paths");
+    this(new RequestContext(okHttpClient), serverUrl);
+  }
+
+  public PathsRequestBuilder(RequestContext context, HttpUrl serverUrl) {
+    super(context, serverUrl, "paths");
   }
 
   public PathsRequestBuilder destinationAccount(KeyPair account) {
@@ -61,4 +66,43 @@ public class PathsRequestBuilder extends RequestBuilder {
     TypeToken typeToken = new TypeToken<Page<PathResponse>>() {};
     return get(url, typeToken.getType());
   }
+
+  /**
+   * Build and execute request asynchronously.
+   * @return future completed with {@link Page} of {@link PathResponse}
+   */
+  public ListenableFuture<Page<PathResponse>> executeAsync() {
+    return this.executeAsync(this.buildUrl());
+  }
+
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link Page} of {@link PathResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<Page<PathResponse>> executeAsync(HttpUrl url) {
+    TypeToken typeToken = new TypeToken<Page<PathResponse>>() {};
+    return getAsync(url, typeToken.getType());
+  }
+
+  /**
+   * Compiles the query built so far into an immutable {@link QueryTemplate} returning {@link Page} of {@link PathResponse},
+   * which can be executed repeatedly from any thread. This builder shouldn't be used afterwards.
+   * @return {@link QueryTemplate} of the query
+   */
+  public QueryTemplate<Page<PathResponse>> template() {
+    TypeToken typeToken = new TypeToken<Page<PathResponse>>() {};
+    return template(typeToken.getType());
+  }
+
+  @Override
+  public PathsRequestBuilder priority(RequestPriority priority) {
+    super.priority(priority);
+    return this;
+  }
+
+  @Override
+  public PathsRequestBuilder cancellation(CancellationToken token) {
+    super.cancellation(token);
+    return this;
+  }
 }
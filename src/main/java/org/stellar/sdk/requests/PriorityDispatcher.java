@@ -0,0 +1,299 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Limits the number of requests in flight and starts waiting requests by their {@link RequestPriority}.
+ * <p>OkHttp's dispatcher starts queued calls in FIFO order, so a backfill of history pages delays
+ * latency-critical requests queued after it. This dispatcher keeps a queue per priority in front of OkHttp: when
+ * a request finishes, waiting {@link RequestPriority#HIGH} requests are started first, then
+ * {@link RequestPriority#NORMAL} and then {@link RequestPriority#LOW} ones. A number of slots is reserved for
+ * high priority requests and low priority requests can use only a part of the slots, so background traffic
+ * never takes all of them.</p>
+ * <p>A request holds its slot until its response body is closed. Asynchronous calls wait in the queue without
+ * holding a thread and are handed to OkHttp only when a slot is free. Synchronous calls wait on the calling
+ * thread. Streams are not limited.</p>
+ * @see org.stellar.sdk.Server.Builder#priorityDispatcher(PriorityDispatcher)
+ */
+public class PriorityDispatcher {
+  public static final int DEFAULT_MAX_REQUESTS = 64;
+  public static final int DEFAULT_HIGH_PRIORITY_RESERVE = 8;
+  public static final int DEFAULT_MAX_LOW_PRIORITY_REQUESTS = 16;
+
+  private final int maxRequests;
+  private final int highPriorityReserve;
+  private final int maxLowPriorityRequests;
+  private final Map<RequestPriority, Queue<Waiter>> waiting = new EnumMap<RequestPriority, Queue<Waiter>>(RequestPriority.class);
+  private final Map<RequestPriority, Integer> inFlight = new EnumMap<RequestPriority, Integer>(RequestPriority.class);
+  private int inFlightCount;
+
+  public PriorityDispatcher() {
+    this(DEFAULT_MAX_REQUESTS, DEFAULT_HIGH_PRIORITY_RESERVE, DEFAULT_MAX_LOW_PRIORITY_REQUESTS);
+  }
+
+  /**
+   * @param maxRequests maximum number of requests in flight
+   * @param highPriorityReserve number of slots only {@link RequestPriority#HIGH} requests can use
+   * @param maxLowPriorityRequests maximum number of {@link RequestPriority#LOW} requests in flight
+   */
+  public PriorityDispatcher(int maxRequests, int highPriorityReserve, int maxLowPriorityRequests) {
+    checkArgument(maxRequests > 0, "maxRequests must be positive");
+    checkArgument(highPriorityReserve >= 0 && highPriorityReserve < maxRequests,
+            "highPriorityReserve must be between 0 and maxRequests - 1");
+    checkArgument(maxLowPriorityRequests > 0, "maxLowPriorityRequests must be positive");
+    this.maxRequests = maxRequests;
+    this.highPriorityReserve = highPriorityReserve;
+    this.maxLowPriorityRequests = maxLowPriorityRequests;
+    for (RequestPriority priority : RequestPriority.values()) {
+      waiting.put(priority, new ArrayDeque<Waiter>());
+      inFlight.put(priority, 0);
+    }
+  }
+
+  /**
+   * Returns maximum number of requests in flight.
+   */
+  public int getMaxRequests() {
+    return maxRequests;
+  }
+
+  /**
+   * Executes the call once a slot for its priority is free, waiting on the calling thread.
+   * @param call call tagged with its {@link RequestPriority}
+   * @return response holding the slot until its body is closed
+   */
+  public okhttp3.Response execute(Call call) throws IOException {
+    RequestPriority priority = RequestPriority.of(call.request());
+    try {
+      acquire(priority);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a request slot");
+    }
+
+    okhttp3.Response response;
+    try {
+      response = call.execute();
+    } catch (IOException e) {
+      release(priority);
+      throw e;
+    } catch (RuntimeException e) {
+      release(priority);
+      throw e;
+    }
+    return holdSlot(response, priority);
+  }
+
+  /**
+   * Enqueues the call to the HTTP client once a slot for its priority is free. Until then the call waits in
+   * the queue of its priority without holding a thread. Calls cancelled while waiting fail without taking a slot.
+   * @param call call tagged with its {@link RequestPriority}
+   * @param callback callback receiving a response that holds the slot until its body is closed
+   */
+  public void enqueue(Call call, Callback callback) {
+    RequestPriority priority = RequestPriority.of(call.request());
+    synchronized (this) {
+      if (hasWaiting(priority) || !canStart(priority)) {
+        waiting.get(priority).add(new Waiter(call, callback));
+        return;
+      }
+      start(priority);
+    }
+    send(call, callback, priority);
+  }
+
+  /**
+   * Returns number of requests in flight with the given priority.
+   */
+  public synchronized int getInFlightCount(RequestPriority priority) {
+    return inFlight.get(priority);
+  }
+
+  /**
+   * Returns number of requests with the given priority waiting for a slot.
+   */
+  public synchronized int getWaitingCount(RequestPriority priority) {
+    return waiting.get(priority).size();
+  }
+
+  void acquire(RequestPriority priority) throws InterruptedException {
+    InterruptedException interrupted;
+    synchronized (this) {
+      if (!hasWaiting(priority) && canStart(priority)) {
+        start(priority);
+        return;
+      }
+      Waiter waiter = new Waiter(null, null);
+      waiting.get(priority).add(waiter);
+      try {
+        while (!waiter.started) {
+          wait();
+        }
+        return;
+      } catch (InterruptedException e) {
+        if (!waiter.started) {
+          waiting.get(priority).remove(waiter);
+          throw e;
+        }
+        interrupted = e;
+      }
+    }
+    // Released outside of the lock, as it may hand waiting calls to the HTTP client.
+    release(priority);
+    throw interrupted;
+  }
+
+  void release(RequestPriority priority) {
+    List<Waiter> enqueued = new ArrayList<Waiter>();
+    synchronized (this) {
+      inFlightCount--;
+      inFlight.put(priority, inFlight.get(priority) - 1);
+      boolean started = false;
+      for (RequestPriority next : RequestPriority.values()) {
+        Queue<Waiter> queue = waiting.get(next);
+        while (!queue.isEmpty() && canStart(next)) {
+          Waiter waiter = queue.poll();
+          waiter.started = true;
+          start(next);
+          if (waiter.call != null) {
+            enqueued.add(waiter);
+          } else {
+            started = true;
+          }
+        }
+      }
+      if (started) {
+        notifyAll();
+      }
+    }
+    // Calls are handed to the HTTP client outside of the lock, their callbacks may release slots.
+    for (Waiter waiter : enqueued) {
+      send(waiter.call, waiter.callback, RequestPriority.of(waiter.call.request()));
+    }
+  }
+
+  /**
+   * Enqueues a call that has a slot, releasing it when the call fails or its response body is closed.
+   */
+  private void send(Call call, final Callback callback, final RequestPriority priority) {
+    if (call.isCanceled()) {
+      release(priority);
+      callback.onFailure(call, new IOException("Canceled"));
+      return;
+    }
+    try {
+      call.enqueue(new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          release(priority);
+          callback.onFailure(call, e);
+        }
+
+        @Override
+        public void onResponse(Call call, okhttp3.Response response) throws IOException {
+          callback.onResponse(call, holdSlot(response, priority));
+        }
+      });
+    } catch (RuntimeException e) {
+      release(priority);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns the response with a body that releases the slot when it's exhausted or closed.
+   */
+  private okhttp3.Response holdSlot(okhttp3.Response response, final RequestPriority priority) {
+    ResponseBody body = response.body();
+    if (body == null) {
+      release(priority);
+      return response;
+    }
+
+    final AtomicBoolean released = new AtomicBoolean();
+    BufferedSource source = Okio.buffer(new ForwardingSource(body.source()) {
+      @Override
+      public long read(Buffer sink, long byteCount) throws IOException {
+        long read = super.read(sink, byteCount);
+        if (read == -1 && released.compareAndSet(false, true)) {
+          release(priority);
+        }
+        return read;
+      }
+
+      @Override
+      public void close() throws IOException {
+        if (released.compareAndSet(false, true)) {
+          release(priority);
+        }
+        super.close();
+      }
+    });
+    return response.newBuilder()
+            .body(ResponseBody.create(body.contentType(), body.contentLength(), source))
+            .build();
+  }
+
+  /**
+   * Returns <code>true</code> if requests with the same or higher priority are waiting.
+   */
+  private boolean hasWaiting(RequestPriority priority) {
+    for (RequestPriority other : RequestPriority.values()) {
+      if (!waiting.get(other).isEmpty()) {
+        return true;
+      }
+      if (other == priority) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  private boolean canStart(RequestPriority priority) {
+    if (priority == RequestPriority.HIGH) {
+      return inFlightCount < maxRequests;
+    }
+    if (inFlightCount >= maxRequests - highPriorityReserve) {
+      return false;
+    }
+    return priority != RequestPriority.LOW || inFlight.get(RequestPriority.LOW) < maxLowPriorityRequests;
+  }
+
+  private void start(RequestPriority priority) {
+    inFlightCount++;
+    inFlight.put(priority, inFlight.get(priority) + 1);
+  }
+
+  /**
+   * Request waiting for a slot. Asynchronous requests keep their call, synchronous ones wait for <code>started</code>.
+   */
+  private static class Waiter {
+    final Call call;
+    final Callback callback;
+    boolean started;
+
+    Waiter(Call call, Callback callback) {
+      this.call = call;
+      this.callback = callback;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Provider of a potentially unbounded number of events, published according to the demand received from its
+ * {@link Subscriber}s. It has the same contract as <code>org.reactivestreams.Publisher</code>, so it can be
+ * adapted to Reactive Streams libraries with a one-line wrapper.
+ * @param <T> type of the events
+ */
+public interface Publisher<T> {
+  /**
+   * Requests the publisher to start streaming events to the subscriber. Events are not sent until
+   * {@link Subscription#request(long)} is called.
+   * @param subscriber {@link Subscriber} that will consume events
+   */
+  void subscribe(Subscriber<? super T> subscriber);
+}
@@ -0,0 +1,155 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import okhttp3.HttpUrl;
+import org.stellar.sdk.responses.FieldProjection;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable query compiled to a URL once, which can be executed any number of times from any thread.
+ * <p>Request builders are single-use: every call rebuilds the URL and path segments can be set only once.
+ * A template is created by the <code>template()</code> method of a builder and replaces it for queries that
+ * are sent repeatedly, like polling. Only the <code>cursor</code> parameter can vary between executions.</p>
+ * <p>A template keeps the priority and projected fields of its builder, but not its {@link CancellationToken}:
+ * every execution can be given its own token instead, e.g. one with a deadline for that call.</p>
+ * @param <T> type of the response
+ */
+public final class QueryTemplate<T> {
+  private final RequestContext context;
+  private final HttpUrl url;
+  private final Type type;
+  private final RequestPriority priority;
+  private final FieldProjection projection;
+
+  /**
+   * @param context context used to send requests
+   * @param priority priority of the requests
+   * @param projection fields to decode or <code>null</code> to decode all of them
+   */
+  QueryTemplate(RequestContext context, HttpUrl url, Type type, RequestPriority priority, FieldProjection projection) {
+    this.context = checkNotNull(context, "context cannot be null");
+    this.url = checkNotNull(url, "url cannot be null");
+    this.type = checkNotNull(type, "type cannot be null");
+    this.priority = checkNotNull(priority, "priority cannot be null");
+    this.projection = projection;
+  }
+
+  /**
+   * Returns the compiled URL.
+   */
+  public HttpUrl getUrl() {
+    return url;
+  }
+
+  /**
+   * Returns the compiled URL with the <code>cursor</code> parameter replaced.
+   */
+  public HttpUrl getUrl(String cursor) {
+    checkNotNull(cursor, "cursor cannot be null");
+    return url.newBuilder().setQueryParameter("cursor", cursor).build();
+  }
+
+  /**
+   * Executes the query.
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public T execute() throws IOException {
+    return sender(null).get(url, type);
+  }
+
+  /**
+   * Executes the query, failing when <code>cancellationToken</code> is cancelled or its deadline passes.
+   * @param cancellationToken token of this execution, e.g. {@link CancellationToken#withTimeout(long, java.util.concurrent.TimeUnit)}
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public T execute(CancellationToken cancellationToken) throws IOException {
+    checkNotNull(cancellationToken, "cancellationToken cannot be null");
+    return sender(cancellationToken).get(url, type);
+  }
+
+  /**
+   * Executes the query starting at <code>cursor</code>.
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public T execute(String cursor) throws IOException {
+    return sender(null).get(getUrl(cursor), type);
+  }
+
+  /**
+   * Executes the query starting at <code>cursor</code>, failing when <code>cancellationToken</code> is cancelled
+   * or its deadline passes.
+   * @throws TooManyRequestsException when too many requests were sent to the Horizon server.
+   * @throws IOException
+   */
+  public T execute(String cursor, CancellationToken cancellationToken) throws IOException {
+    checkNotNull(cancellationToken, "cancellationToken cannot be null");
+    return sender(cancellationToken).get(getUrl(cursor), type);
+  }
+
+  /**
+   * Executes the query asynchronously.
+   * @return future completed with the response
+   */
+  public ListenableFuture<T> executeAsync() {
+    return sender(null).getAsync(url, type);
+  }
+
+  /**
+   * Executes the query asynchronously, failing when <code>cancellationToken</code> is cancelled or its deadline passes.
+   * @return future completed with the response
+   */
+  public ListenableFuture<T> executeAsync(CancellationToken cancellationToken) {
+    checkNotNull(cancellationToken, "cancellationToken cannot be null");
+    return sender(cancellationToken).getAsync(url, type);
+  }
+
+  /**
+   * Executes the query starting at <code>cursor</code> asynchronously.
+   * @return future completed with the response
+   */
+  public ListenableFuture<T> executeAsync(String cursor) {
+    return sender(null).getAsync(getUrl(cursor), type);
+  }
+
+  /**
+   * Executes the query starting at <code>cursor</code> asynchronously, failing when <code>cancellationToken</code>
+   * is cancelled or its deadline passes.
+   * @return future completed with the response
+   */
+  public ListenableFuture<T> executeAsync(String cursor, CancellationToken cancellationToken) {
+    checkNotNull(cancellationToken, "cancellationToken cannot be null");
+    return sender(cancellationToken).getAsync(getUrl(cursor), type);
+  }
+
+  @Override
+  public String toString() {
+    return url.toString();
+  }
+
+  /**
+   * Returns a builder confined to a single execution, so executions don't share mutable state.
+   */
+  private Sender sender(CancellationToken cancellationToken) {
+    return new Sender(context, url, priority, cancellationToken, projection);
+  }
+
+  private static final class Sender extends RequestBuilder {
+    Sender(RequestContext context, HttpUrl url, RequestPriority priority, CancellationToken cancellationToken,
+           FieldProjection projection) {
+      super(context, url, null);
+      priority(priority);
+      if (cancellationToken != null) {
+        cancellation(cancellationToken);
+      }
+      projection(projection);
+    }
+  }
+}
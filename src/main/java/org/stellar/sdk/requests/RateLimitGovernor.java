@@ -0,0 +1,355 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Paces requests sent to Horizon so they stay under the rate limit quota.
+ * <p>The governor is a token bucket refilled at the rate that spreads the remaining quota
+ * (<code>X-Ratelimit-Remaining</code>) evenly until the end of the current window
+ * (<code>X-Ratelimit-Reset</code>). Values are read from every response, so the pace follows the live quota.
+ * A number of requests from each window is reserved for {@link RequestPriority#HIGH} requests, which are
+ * never delayed by the bucket. After <code>429 Too Many Requests</code> all requests wait for
+ * <code>Retry-After</code> seconds.</p>
+ * <p>Until the first response with rate limit headers is received requests are not delayed. When a window
+ * ends, the next one is assumed to have the last known <code>X-Ratelimit-Limit</code> and requests are paced
+ * against it until responses report the new quota.</p>
+ * <p>Asynchronous requests of {@link RequestBuilder}s wait for their turn before they are enqueued, so they hold
+ * neither a thread nor a slot of OkHttp's dispatcher, and submissions are never queued behind them. Other requests
+ * wait in the interceptor. Cancelled requests stop waiting and fail.</p>
+ * @see <a href="https://www.stellar.org/developers/horizon/learn/rate-limiting.html" target="_blank">Rate Limiting</a>
+ */
+public class RateLimitGovernor implements Interceptor {
+  public static final int DEFAULT_BURST = 10;
+  public static final int DEFAULT_PRIORITY_RESERVE = 5;
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+  // Calls cancelled without waking the governor are noticed after at most this long.
+  private static final long CANCEL_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private static ScheduledExecutorService scheduler;
+
+  private final int burst;
+  private final int priorityReserve;
+  private final Ticker ticker;
+
+  private boolean quotaKnown;
+  private int limit;
+  private long windowNanos;
+  private int remaining;
+  private double tokens;
+  private double tokensPerNano;
+  private long lastRefillNanos;
+  private long windowResetNanos;
+  private long pausedUntilNanos;
+  private final ArrayDeque<Waiter> waiters = new ArrayDeque<Waiter>();
+  // Calls that took their token before they were enqueued.
+  private final Set<Call> admitted = Collections.newSetFromMap(new WeakHashMap<Call, Boolean>());
+  private ScheduledFuture<?> drain;
+
+  public RateLimitGovernor() {
+    this(DEFAULT_BURST, DEFAULT_PRIORITY_RESERVE);
+  }
+
+  /**
+   * @param burst maximum number of requests that can be sent at once
+   * @param priorityReserve number of requests in each window reserved for {@link RequestPriority#HIGH} requests
+   */
+  public RateLimitGovernor(int burst, int priorityReserve) {
+    this(burst, priorityReserve, Ticker.systemTicker());
+  }
+
+  RateLimitGovernor(int burst, int priorityReserve, Ticker ticker) {
+    checkArgument(burst > 0, "burst must be positive");
+    checkArgument(priorityReserve >= 0, "priorityReserve cannot be negative");
+    this.burst = burst;
+    this.priorityReserve = priorityReserve;
+    this.ticker = ticker;
+    this.pausedUntilNanos = ticker.read();
+  }
+
+  @Override
+  public okhttp3.Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    boolean tokenTaken;
+    synchronized (this) {
+      tokenTaken = admitted.remove(chain.call());
+    }
+    if (!tokenTaken) {
+      acquire(chain.call(), RequestPriority.of(request));
+    }
+
+    okhttp3.Response response = chain.proceed(request);
+    if (response.code() == 429) {
+      pause(response.header("Retry-After"));
+    } else {
+      update(response.headers());
+    }
+    return response;
+  }
+
+  /**
+   * Returns number of requests that can be sent in the current window, or <code>-1</code> if not known yet.
+   */
+  public synchronized int getRemaining() {
+    return quotaKnown ? remaining : -1;
+  }
+
+  /**
+   * Waits for a token on the caller's thread.
+   * @throws IOException when the call is cancelled while waiting
+   */
+  void acquire(Call call, RequestPriority priority) throws IOException {
+    long waitNanos;
+    while ((waitNanos = reserve(priority)) > 0) {
+      synchronized (this) {
+        if (call.isCanceled()) {
+          throw new IOException("Canceled");
+        }
+        try {
+          TimeUnit.NANOSECONDS.timedWait(this, Math.min(waitNanos, CANCEL_CHECK_NANOS));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException("Interrupted while waiting for rate limit");
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs <code>dispatch</code>, which enqueues the call, once the call gets a token. Until then the call waits in
+   * a queue without holding a thread. A call cancelled while waiting fails with <code>callback</code>.
+   */
+  void enqueue(Call call, Callback callback, Runnable dispatch) {
+    Waiter waiter = new Waiter(call, callback, dispatch);
+    synchronized (this) {
+      if (!waiters.isEmpty() || reserve(waiter.priority) > 0) {
+        waiters.add(waiter);
+        scheduleDrain(0);
+        return;
+      }
+      admitted.add(call);
+    }
+    dispatch.run();
+  }
+
+  /**
+   * Wakes requests waiting for a token, so cancelled ones fail right away.
+   */
+  void wake() {
+    synchronized (this) {
+      notifyAll();
+      if (!waiters.isEmpty()) {
+        scheduleDrain(0);
+      }
+    }
+  }
+
+  private void drain() {
+    List<Waiter> ready = new ArrayList<Waiter>();
+    synchronized (this) {
+      drain = null;
+      long waitNanos = CANCEL_CHECK_NANOS;
+      for (Iterator<Waiter> iterator = waiters.iterator(); iterator.hasNext(); ) {
+        Waiter waiter = iterator.next();
+        if (waiter.call.isCanceled()) {
+          iterator.remove();
+          ready.add(waiter);
+          continue;
+        }
+        long wait = reserve(waiter.priority);
+        if (wait > 0) {
+          waitNanos = Math.min(waitNanos, wait);
+          continue;
+        }
+        iterator.remove();
+        admitted.add(waiter.call);
+        ready.add(waiter);
+      }
+      if (!waiters.isEmpty()) {
+        scheduleDrain(waitNanos);
+      }
+    }
+    for (Waiter waiter : ready) {
+      if (waiter.call.isCanceled()) {
+        synchronized (this) {
+          admitted.remove(waiter.call);
+        }
+        waiter.callback.onFailure(waiter.call, new IOException("Canceled"));
+      } else {
+        waiter.dispatch.run();
+      }
+    }
+  }
+
+  private void scheduleDrain(long delayNanos) {
+    if (drain != null) {
+      if (drain.getDelay(TimeUnit.NANOSECONDS) <= delayNanos) {
+        return;
+      }
+      drain.cancel(false);
+    }
+    drain = scheduler().schedule(new Runnable() {
+      @Override
+      public void run() {
+        drain();
+      }
+    }, delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  synchronized int getWaitingCount() {
+    return waiters.size();
+  }
+
+  /**
+   * Takes a token for a request.
+   * @return <code>0</code> when the request can be sent, otherwise number of nanoseconds to wait before trying again
+   */
+  synchronized long reserve(RequestPriority priority) {
+    long now = ticker.read();
+    if (now - pausedUntilNanos < 0) {
+      return pausedUntilNanos - now;
+    }
+    if (!quotaKnown) {
+      return 0;
+    }
+    if (now - windowResetNanos >= 0) {
+      startWindow(now);
+    }
+
+    refill(now);
+    if (priority == RequestPriority.HIGH) {
+      tokens -= 1;
+      remaining--;
+      return 0;
+    }
+    if (remaining <= priorityReserve || tokensPerNano <= 0) {
+      return windowResetNanos - now;
+    }
+    if (tokens >= 1) {
+      tokens -= 1;
+      remaining--;
+      return 0;
+    }
+    return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+  }
+
+  synchronized void update(Headers headers) {
+    String limitValue = headers.get("X-Ratelimit-Limit");
+    String remainingValue = headers.get("X-Ratelimit-Remaining");
+    String resetValue = headers.get("X-Ratelimit-Reset");
+    if (limitValue == null || remainingValue == null || resetValue == null) {
+      return;
+    }
+
+    int reset;
+    try {
+      limit = Integer.parseInt(limitValue);
+      remaining = Integer.parseInt(remainingValue);
+      reset = Math.max(1, Integer.parseInt(resetValue));
+    } catch (NumberFormatException e) {
+      return;
+    }
+
+    long now = ticker.read();
+    refill(now);
+    int available = Math.max(0, remaining - priorityReserve);
+    if (!quotaKnown) {
+      tokens = Math.min(burst, available);
+      quotaKnown = true;
+    }
+    tokens = Math.min(tokens, available);
+    tokensPerNano = (double) available / (reset * NANOS_PER_SECOND);
+    windowResetNanos = now + reset * NANOS_PER_SECOND;
+    // Time until reset is at most the window length, the longest one seen is the best estimate of it.
+    windowNanos = Math.max(windowNanos, reset * NANOS_PER_SECOND);
+    notifyAll();
+    if (!waiters.isEmpty()) {
+      scheduleDrain(0);
+    }
+  }
+
+  /**
+   * Starts a new window with the last known limit, so requests released at the reset are still paced.
+   */
+  private void startWindow(long now) {
+    remaining = limit;
+    int available = Math.max(0, remaining - priorityReserve);
+    tokens = Math.min(burst, available);
+    tokensPerNano = (double) available / windowNanos;
+    lastRefillNanos = now;
+    windowResetNanos = now + windowNanos;
+  }
+
+  synchronized void pause(String retryAfterValue) {
+    long retryAfter = 1;
+    if (retryAfterValue != null) {
+      try {
+        retryAfter = Math.max(1, Long.parseLong(retryAfterValue));
+      } catch (NumberFormatException e) {
+        // Use default
+      }
+    }
+    long until = ticker.read() + retryAfter * NANOS_PER_SECOND;
+    if (until - pausedUntilNanos > 0) {
+      pausedUntilNanos = until;
+    }
+  }
+
+  private static synchronized ScheduledExecutorService scheduler() {
+    if (scheduler == null) {
+      scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "stellar-rate-limit");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return scheduler;
+  }
+
+  private void refill(long now) {
+    if (quotaKnown) {
+      tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+    }
+    lastRefillNanos = now;
+  }
+
+  private static class Waiter {
+    final Call call;
+    final Callback callback;
+    final Runnable dispatch;
+    final RequestPriority priority;
+
+    Waiter(Call call, Callback callback, Runnable dispatch) {
+      this.call = call;
+      this.callback = callback;
+      this.dispatch = dispatch;
+      this.priority = RequestPriority.of(call.request());
+    }
+  }
+}
@@ -1,29 +1,70 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.ResponseBody;
 import org.stellar.sdk.ClientProtocolException;
 import org.stellar.sdk.HttpResponseException;
+import org.stellar.sdk.TransactionBuilderAccount;
+import org.stellar.sdk.responses.FieldProjection;
 import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.Link;
+import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.RawRecord;
 import org.stellar.sdk.responses.Response;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Abstract class for request builders.
  */
 public abstract class RequestBuilder {
+  /**
+   * Maximum <code>limit</code> of pages accepted by Horizon.
+   */
+  public static final int MAX_LIMIT = 200;
+  private static final Type RAW_PAGE_TYPE = new TypeToken<Page<RawRecord>>() {}.getType();
+
+  private RequestContext context;
   private OkHttpClient httpClient;
   protected HttpUrl.Builder urlBuilder;
   private ArrayList<String> pathSegments;
   private boolean pathSegmentsAdded;
+  private Checkpoint checkpoint;
+  private RequestPriority priority = RequestPriority.NORMAL;
+  private int minAdaptiveLimit;
+  private int maxAdaptiveLimit;
+  private CancellationToken cancellationToken;
+  private FieldProjection projection;
 
-  RequestBuilder(OkHttpClient httpClient, HttpUrl serverUrl, String defaultPathSegments) {
-    this.httpClient = httpClient;
+  RequestBuilder(RequestContext context, HttpUrl serverUrl, String defaultPathSegments) {
+    this.context = context;
+    this.httpClient = context.getHttpClient();
     this.urlBuilder = serverUrl.newBuilder();
     this.pathSegments = new ArrayList<String>();
     if (defaultPathSegments != null) {
@@ -78,14 +119,82 @@ public abstract class RequestBuilder {
     return this;
   }
 
+  /**
+   * Makes streams and iterations started by this builder resume from the cursor saved in <code>store</code> under
+   * <code>key</code>, and save the <code>paging_token</code> of processed records there. A saved cursor takes
+   * precedence over {@link #cursor(String)}, which is used only when nothing was saved yet.
+   * @param store {@link CursorStore} holding the cursor
+   * @param key name of the stream or scan, unique within the store
+   */
+  public RequestBuilder checkpoint(CursorStore store, String key) {
+    this.checkpoint = new Checkpoint(store, key);
+    return this;
+  }
+
+  /**
+   * Makes iterations started by this builder tune the <code>limit</code> of every page for maximum records per
+   * second, based on the measured time of previous pages. {@link #limit(int)} sets the size of the first page.
+   * @param minLimit minimum number of records in a page
+   * @param maxLimit maximum number of records in a page, at most <code>200</code> for Horizon
+   */
+  public RequestBuilder adaptiveLimit(int minLimit, int maxLimit) {
+    checkArgument(minLimit > 0, "minLimit must be positive");
+    checkArgument(maxLimit >= minLimit, "maxLimit cannot be lower than minLimit");
+    checkArgument(maxLimit <= MAX_LIMIT, "maxLimit cannot be greater than %s", MAX_LIMIT);
+    this.minAdaptiveLimit = minLimit;
+    this.maxAdaptiveLimit = maxLimit;
+    return this;
+  }
+
+  /**
+   * Sets {@link RequestPriority} of requests sent by this builder, {@link RequestPriority#NORMAL} by default.
+   * Priorities are honored by {@link PriorityDispatcher} and {@link RateLimitGovernor}.
+   * @param priority priority of the requests
+   */
+  public RequestBuilder priority(RequestPriority priority) {
+    this.priority = checkNotNull(priority, "priority cannot be null");
+    return this;
+  }
+
+  /**
+   * Makes requests sent by this builder fail and their HTTP calls cancelled when <code>token</code> is cancelled
+   * or its deadline passes. This includes iterations and streams started by this builder. Templates outlive a
+   * single deadline, so they don't inherit the token; pass one to {@link QueryTemplate#execute(CancellationToken)}
+   * instead. Requests with a token are not coalesced by {@link RequestCoalescer}, so cancelling them doesn't affect other
+   * callers.
+   * @param token {@link CancellationToken} of the requests, e.g. {@link CancellationToken#withTimeout(long, java.util.concurrent.TimeUnit)}
+   */
+  public RequestBuilder cancellation(CancellationToken token) {
+    this.cancellationToken = checkNotNull(token, "token cannot be null");
+    return this;
+  }
+
+  /**
+   * Makes responses decoded by this builder, including pages, iterations and streams, keep only the given fields
+   * of every record. Other fields are skipped without being decoded and their getters return <code>null</code>.
+   * Projected responses are not cached by {@link ResponseCache}.
+   * @param fields JSON names of the fields to keep, Ex. <code>id</code>, <code>paging_token</code>,
+   *     <code>type</code> and <code>amount</code> of operations
+   * @see FieldProjection
+   */
+  protected RequestBuilder fields(String... fields) {
+    this.projection = FieldProjection.of(fields);
+    return this;
+  }
+
+  RequestBuilder projection(FieldProjection projection) {
+    this.projection = projection;
+    return this;
+  }
+
   protected <TResponse> TResponse get(final HttpUrl url,
                                       final Class<TResponse> classOfResponse) throws IOException {
-    return request(new Request.Builder().url(url).get(), classOfResponse);
+    return request(new Request.Builder().url(url).get().tag(priority), classOfResponse);
   }
 
   protected <TResponse> TResponse get(final HttpUrl url,
                                       final Type typeOfResponse) throws IOException {
-    return request(new Request.Builder().url(url).get(), typeOfResponse);
+    return request(new Request.Builder().url(url).get().tag(priority), typeOfResponse);
   }
 
   protected <TResponse> TResponse request(final Request.Builder httpRequestBuilder,
@@ -101,27 +210,263 @@ public abstract class RequestBuilder {
   private <TResponse> TResponse request(final Request.Builder httpRequestBuilder,
                                         final Class<TResponse> classOfResponse,
                                         final Type typeOfResponse) throws IOException {
-    okhttp3.Request httpRequest = httpRequestBuilder.build();
-    okhttp3.Response httpResponse = httpClient.newCall(httpRequest).execute();
+    final okhttp3.Request httpRequest = httpRequestBuilder.build();
+    TResponse cached = getCached(httpRequest, typeOfResponse);
+    if (cached != null) {
+      return cached;
+    }
+
+    if (cancellationToken != null) {
+      return await(enqueueCancellable(httpRequest, classOfResponse, typeOfResponse));
+    }
+
+    RequestCoalescer coalescer = context.getRequestCoalescer();
+    if (coalescer != null && isCoalescable(httpRequest, classOfResponse)) {
+      return coalescer.execute(coalescingKey(httpRequest, classOfResponse, typeOfResponse), new Callable<TResponse>() {
+        @Override
+        public TResponse call() throws IOException {
+          return execute(httpRequest, classOfResponse, typeOfResponse);
+        }
+      });
+    }
+    return execute(httpRequest, classOfResponse, typeOfResponse);
+  }
+
+  private <TResponse> TResponse execute(final okhttp3.Request httpRequest,
+                                        final Class<TResponse> classOfResponse,
+                                        final Type typeOfResponse) throws IOException {
+    RequestHedger hedger = context.getRequestHedger();
+    okhttp3.Response httpResponse;
+    if (hedger != null && httpRequest.method().equals("GET")) {
+      httpResponse = hedger.execute(context, httpRequest);
+    } else {
+      httpResponse = context.execute(httpClient.newCall(httpRequest));
+    }
+    try {
+      TResponse response = handleResponse(httpResponse, classOfResponse, typeOfResponse);
+      putCached(httpRequest, typeOfResponse, response);
+      return response;
+    } finally {
+      httpResponse.close();
+    }
+  }
+
+  protected <TResponse> ListenableFuture<TResponse> getAsync(final HttpUrl url,
+                                                             final Class<TResponse> classOfResponse) {
+    return requestAsync(new Request.Builder().url(url).get().tag(priority), classOfResponse, null);
+  }
+
+  protected <TResponse> ListenableFuture<TResponse> getAsync(final HttpUrl url,
+                                                             final Type typeOfResponse) {
+    return requestAsync(new Request.Builder().url(url).get().tag(priority), null, typeOfResponse);
+  }
+
+  /**
+   * Enqueues the request and returns a future that is completed with the decoded response.
+   * Decoding happens on the executor provided by {@link RequestContext#getDecodeExecutor()}.
+   * Cancelling the returned future cancels the underlying HTTP call unless it's shared with other
+   * callers by {@link RequestCoalescer}.
+   */
+  private <TResponse> ListenableFuture<TResponse> requestAsync(final Request.Builder httpRequestBuilder,
+                                                               final Class<TResponse> classOfResponse,
+                                                               final Type typeOfResponse) {
+    final okhttp3.Request httpRequest = httpRequestBuilder.build();
+    TResponse cached = getCached(httpRequest, typeOfResponse);
+    if (cached != null) {
+      return Futures.immediateFuture(cached);
+    }
+
+    if (cancellationToken != null) {
+      return enqueueCancellable(httpRequest, classOfResponse, typeOfResponse);
+    }
+
+    RequestCoalescer coalescer = context.getRequestCoalescer();
+    if (coalescer != null && isCoalescable(httpRequest, classOfResponse)) {
+      return coalescer.executeAsync(coalescingKey(httpRequest, classOfResponse, typeOfResponse),
+              new Callable<ListenableFuture<TResponse>>() {
+                @Override
+                public ListenableFuture<TResponse> call() {
+                  return enqueue(httpRequest, classOfResponse, typeOfResponse);
+                }
+              });
+    }
+    return enqueue(httpRequest, classOfResponse, typeOfResponse);
+  }
+
+  /**
+   * Enqueues the request bound to the cancellation token of this builder, unless the token is already cancelled.
+   */
+  private <TResponse> ListenableFuture<TResponse> enqueueCancellable(final okhttp3.Request httpRequest,
+                                                                     final Class<TResponse> classOfResponse,
+                                                                     final Type typeOfResponse) {
+    if (cancellationToken.isCancelled()) {
+      return Futures.immediateFailedFuture(cancellationToken.exception());
+    }
+    return cancellationToken.bind(enqueue(httpRequest, classOfResponse, typeOfResponse));
+  }
+
+  private <TResponse> ListenableFuture<TResponse> enqueue(final okhttp3.Request httpRequest,
+                                                          final Class<TResponse> classOfResponse,
+                                                          final Type typeOfResponse) {
+    final SettableFuture<TResponse> future = SettableFuture.create();
+    final ListenableFuture<okhttp3.Response> httpResponseFuture = call(httpRequest);
+    future.addListener(new Runnable() {
+      @Override
+      public void run() {
+        if (future.isCancelled()) {
+          httpResponseFuture.cancel(true);
+        }
+      }
+    }, MoreExecutors.directExecutor());
+
+    Futures.addCallback(httpResponseFuture, new FutureCallback<okhttp3.Response>() {
+      @Override
+      public void onFailure(Throwable t) {
+        future.setException(t);
+      }
+
+      @Override
+      public void onSuccess(final okhttp3.Response httpResponse) {
+        try {
+          context.getDecodeExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+              try {
+                TResponse response = handleResponse(httpResponse, classOfResponse, typeOfResponse);
+                putCached(httpRequest, typeOfResponse, response);
+                future.set(response);
+              } catch (Throwable e) {
+                future.setException(e);
+              } finally {
+                httpResponse.close();
+              }
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          httpResponse.close();
+          future.setException(e);
+        }
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Enqueues the HTTP call, hedged by {@link RequestContext#getRequestHedger()} for <code>GET</code> requests.
+   * @return future completed with the response; cancelling it cancels the call
+   */
+  private ListenableFuture<okhttp3.Response> call(okhttp3.Request httpRequest) {
+    RequestHedger hedger = context.getRequestHedger();
+    if (hedger != null && httpRequest.method().equals("GET")) {
+      return hedger.enqueue(context, httpRequest);
+    }
+
+    final SettableFuture<okhttp3.Response> future = SettableFuture.create();
+    final Call call = httpClient.newCall(httpRequest);
+    future.addListener(new Runnable() {
+      @Override
+      public void run() {
+        if (future.isCancelled()) {
+          context.cancel(call);
+        }
+      }
+    }, MoreExecutors.directExecutor());
+
+    context.enqueue(call, new Callback() {
+      @Override
+      public void onFailure(Call call, IOException e) {
+        future.setException(e);
+      }
+
+      @Override
+      public void onResponse(Call call, okhttp3.Response httpResponse) {
+        if (!future.set(httpResponse)) {
+          httpResponse.close();
+        }
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Mutable responses, like {@link TransactionBuilderAccount} whose sequence number is incremented when a
+   * transaction is built, are never shared between callers.
+   */
+  private static boolean isCoalescable(okhttp3.Request httpRequest, Class<?> classOfResponse) {
+    return httpRequest.method().equals("GET") &&
+            (classOfResponse == null || !TransactionBuilderAccount.class.isAssignableFrom(classOfResponse));
+  }
+
+  /**
+   * Requests are identical when they have the same URL and are decoded to the same type.
+   */
+
+  private String coalescingKey(okhttp3.Request httpRequest, Class<?> classOfResponse, Type typeOfResponse) {
+    String type = typeOfResponse != null ? typeOfResponse.toString() : classOfResponse.getName();
+    if (projection != null) {
+      type += " " + projection;
+    }
+    // Requests don't join flights of other priorities, which may be waiting for a slot longer.
+    return RequestPriority.of(httpRequest) + " " + type + " " + ResponseCache.key(httpRequest.url());
+  }
+
+  @SuppressWarnings("unchecked")
+  private <TResponse> TResponse getCached(okhttp3.Request httpRequest, Type typeOfResponse) {
+    ResponseCache cache = context.getResponseCache();
+    if (cache == null || !isCacheable(httpRequest, typeOfResponse)) {
+      return null;
+    }
+    return (TResponse) cache.get(httpRequest.url());
+  }
+
+  private void putCached(okhttp3.Request httpRequest, Type typeOfResponse, Object response) {
+    ResponseCache cache = context.getResponseCache();
+    if (cache != null && isCacheable(httpRequest, typeOfResponse)) {
+      cache.put(httpRequest.url(), response);
+    }
+  }
+
+  /**
+   * Cached responses are keyed by URL only, so projected and raw responses, which differ for the same URL,
+   * aren't cached.
+   */
+  private boolean isCacheable(okhttp3.Request httpRequest, Type typeOfResponse) {
+    return projection == null && !RAW_PAGE_TYPE.equals(typeOfResponse) && httpRequest.method().equals("GET");
+  }
+
+  @SuppressWarnings("unchecked")
+  private <TResponse> TResponse handleResponse(final okhttp3.Response httpResponse,
+                                               final Class<TResponse> classOfResponse,
+                                               final Type typeOfResponse) throws IOException {
     if (httpResponse.isSuccessful()) {
       ResponseBody httpResponseBody = httpResponse.body();
       if (httpResponseBody == null) {
         throw new ClientProtocolException("Response contains no content");
       }
 
-      String json = httpResponseBody.string();
-
       /*
        * "Generics on a type are typically erased at runtime, except when the type is compiled with the
        * generic parameter bound. In that case, the compiler inserts the generic type information into
        * the compiled class. In other cases, that is not possible."
        * More info: http://stackoverflow.com/a/14506181
        */
+      // Decode from the body's character stream so the body is never buffered as a String.
+      MetricsSink metricsSink = context.getMetricsSink();
+      long decodeStart = metricsSink != null ? System.nanoTime() : 0;
       TResponse response;
-      if (typeOfResponse != null) {
-        response = GsonSingleton.getInstance().fromJson(json, typeOfResponse);
+      if (RAW_PAGE_TYPE.equals(typeOfResponse)) {
+        // Records are sliced from the body's bytes, so the body is buffered once and never decoded.
+        response = (TResponse) RawRecord.pageOf(httpResponseBody.bytes());
+      } else if (projection != null) {
+        response = projection.fromJson(httpResponseBody.charStream(), typeOfResponse != null ? typeOfResponse : classOfResponse);
+      } else if (typeOfResponse != null) {
+        response = GsonSingleton.getInstance().fromJson(httpResponseBody.charStream(), typeOfResponse);
       } else {
-        response = GsonSingleton.getInstance().fromJson(json, classOfResponse);
+        response = GsonSingleton.getInstance().fromJson(httpResponseBody.charStream(), classOfResponse);
+      }
+      if (metricsSink != null) {
+        metricsSink.record(TimingEventListener.endpoint(httpResponse.request().url()), MetricsSink.Phase.DECODE,
+                System.nanoTime() - decodeStart);
       }
 
       if (response instanceof Response) {
@@ -148,6 +493,202 @@ public abstract class RequestBuilder {
     }
   }
 
+  /**
+   * Compiles the URL built by this builder into a {@link QueryTemplate}.
+   */
+  protected <T> QueryTemplate<T> template(Type typeOfResponse) {
+    return new QueryTemplate<T>(context, this.buildUrl(), typeOfResponse, priority, projection);
+  }
+
+  /**
+   * Asynchronously requests a HAL link of a response, without its template parameters.
+   * @param link link to follow or <code>null</code>
+   * @param typeOfResponse type of the linked resource
+   * @param largestPage whether a collection is requested with the largest page size Horizon allows
+   * @return future completed with the linked resource or <code>null</code> if there is no link
+   */
+  protected <TResponse> ListenableFuture<TResponse> followLink(Link link, Type typeOfResponse, boolean largestPage) {
+    if (link == null || link.getHref() == null) {
+      return null;
+    }
+    String href = link.getHref();
+    int template = href.indexOf('{');
+    if (template >= 0) {
+      href = href.substring(0, template);
+    }
+    HttpUrl url = urlBuilder.build().resolve(href);
+    if (url == null) {
+      return Futures.immediateFailedFuture(new ClientProtocolException("Invalid link " + link.getHref()));
+    }
+    if (largestPage && url.queryParameter("limit") == null) {
+      url = url.newBuilder().addQueryParameter("limit", String.valueOf(MAX_LIMIT)).build();
+    }
+    return getAsync(url, typeOfResponse);
+  }
+
+  /**
+   * Asynchronously requests a collection link of a response and then <code>next</code> links of its pages until
+   * a page is not full.
+   * @param link link to follow or <code>null</code>
+   * @param typeOfPage type of the pages of the collection
+   * @return future completed with a page holding the records of all pages and the links of the last one, or
+   *     <code>null</code> if there is no link
+   */
+  protected <T> ListenableFuture<Page<T>> followCollection(Link link, Type typeOfPage) {
+    ListenableFuture<Page<T>> first = followLink(link, typeOfPage, true);
+    if (first == null) {
+      return null;
+    }
+    return collectPages(first, typeOfPage, new ArrayList<T>());
+  }
+
+  private <T> ListenableFuture<Page<T>> collectPages(ListenableFuture<Page<T>> page, final Type typeOfPage,
+                                                     final ArrayList<T> previous) {
+    return Futures.transform(page, new AsyncFunction<Page<T>, Page<T>>() {
+      @Override
+      public ListenableFuture<Page<T>> apply(Page<T> page) {
+        ArrayList<T> records = page.getRecords();
+        Link next = page.getLinks() != null ? page.getLinks().getNext() : null;
+        if (records == null || records.size() < MAX_LIMIT || next == null) {
+          // Decoded pages may be cached or shared by coalesced calls, so they are never changed.
+          return Futures.immediateFuture(previous.isEmpty() ? page : page.withPreviousRecords(previous));
+        }
+        previous.addAll(records);
+        ListenableFuture<Page<T>> nextPage = followLink(next, typeOfPage, true);
+        return collectPages(nextPage, typeOfPage, previous);
+      }
+    });
+  }
+
+  /**
+   * Returns a future completed with results of all futures by their keys when all of them succeed, or failed with
+   * the first failure. Cancelling the returned future cancels all futures.
+   */
+  static <K extends Enum<K>> ListenableFuture<Map<K, Object>> allOf(final Class<K> keyClass,
+                                                                    Map<K, ListenableFuture<?>> futures) {
+    final List<K> keys = new ArrayList<K>(futures.keySet());
+    List<ListenableFuture<?>> values = new ArrayList<ListenableFuture<?>>(futures.values());
+    return Futures.transform(Futures.allAsList(values), new Function<List<Object>, Map<K, Object>>() {
+      @Override
+      public Map<K, Object> apply(List<Object> results) {
+        Map<K, Object> byKey = new EnumMap<K, Object>(keyClass);
+        for (int i = 0; i < keys.size(); i++) {
+          byKey.put(keys.get(i), results.get(i));
+        }
+        return byKey;
+      }
+    });
+  }
+
+  /**
+   * Waits for an asynchronous request and rethrows its failure.
+   */
+  protected static <TResponse> TResponse await(ListenableFuture<TResponse> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for response");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Returns {@link PagingIterable} over records of pages starting at the URL built by this builder.
+   */
+  protected <T> PagingIterable<T> iterate(final Type typeOfPage, int prefetchDepth) {
+    HttpUrl url = this.buildUrl();
+    AdaptivePageSize pageSize = null;
+    if (maxAdaptiveLimit > 0) {
+      String limit = url.queryParameter("limit");
+      pageSize = new AdaptivePageSize(minAdaptiveLimit, maxAdaptiveLimit,
+              limit != null ? Integer.parseInt(limit) : minAdaptiveLimit);
+    }
+    return new PagingIterable<T>(url, prefetchDepth, new PagingIterable.PageFetcher<T>() {
+      @Override
+      public ListenableFuture<Page<T>> fetch(HttpUrl url) {
+        return getAsync(url, typeOfPage);
+      }
+    }, checkpoint, pageSize);
+  }
+
+  /**
+   * Iterates over undecoded records of the collection, following <code>next</code> links and fetching one page
+   * in the background ahead of the consumer. Records are slices of the page's bytes with their
+   * <code>paging_token</code>, which is enough to checkpoint, forward or store them without decoding.
+   * {@link #fields(String...)} doesn't apply to raw records.
+   * @return {@link PagingIterable} of {@link RawRecord}
+   */
+  protected PagingIterable<RawRecord> iterateRaw() {
+    return this.iterateRaw(1);
+  }
+
+  /**
+   * Iterates over undecoded records of the collection, following <code>next</code> links.
+   * @param prefetchDepth number of pages fetched in the background ahead of the consumer
+   * @return {@link PagingIterable} of {@link RawRecord}
+   * @see #iterateRaw()
+   */
+  protected PagingIterable<RawRecord> iterateRaw(int prefetchDepth) {
+    return iterate(RAW_PAGE_TYPE, prefetchDepth);
+  }
+
+  /**
+   * Streams undecoded SSE events of the collection. Every event is passed as {@link RawRecord} with its
+   * <code>paging_token</code>.
+   * @param listener {@link EventListener} of {@link RawRecord}
+   * @return SSEStream object, so you can <code>close()</code> connection when not needed anymore
+   */
+  protected SSEStream<RawRecord> streamRaw(EventListener<RawRecord> listener) {
+    return stream(listener, RawRecord.class);
+  }
+
+  /**
+   * Opens a {@link SSEStream} for the URL built by this builder.
+   */
+  protected <T> SSEStream<T> stream(final EventListener<T> listener, final Type typeOfEvent) {
+    SSEStream<T> stream = new SSEStream<T>(httpClient, this.buildUrl(), typeOfEvent, listener, checkpoint, projection);
+    if (cancellationToken != null) {
+      stream.bind(cancellationToken);
+    }
+    stream.start();
+    return stream;
+  }
+
+  /**
+   * Returns {@link StreamPublisher} opening a {@link SSEStream} for the URL built by this builder for every subscriber.
+   */
+  protected <T> StreamPublisher<T> publisher(final Type typeOfEvent, int bufferSize,
+                                             StreamPublisher.OverflowPolicy overflowPolicy) {
+    final HttpUrl url = this.buildUrl();
+    final Checkpoint checkpoint = this.checkpoint;
+    final CancellationToken cancellationToken = this.cancellationToken;
+    final FieldProjection projection = this.projection;
+    return new StreamPublisher<T>(new StreamPublisher.StreamFactory<T>() {
+      @Override
+      public Closeable open(StreamListener<T> listener) {
+        SSEStream<T> stream = new SSEStream<T>(httpClient, url, typeOfEvent, listener, checkpoint, projection);
+        if (cancellationToken != null) {
+          stream.bind(cancellationToken);
+        }
+        stream.start();
+        return stream;
+      }
+    }, bufferSize, overflowPolicy);
+  }
+
   HttpUrl buildUrl() {
     for (String segment : this.pathSegments) {
       urlBuilder.addPathSegment(segment);
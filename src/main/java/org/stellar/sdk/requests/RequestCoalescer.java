@@ -0,0 +1,200 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalesces identical requests that are in flight at the same time.
+ * <p>When a request is made while an identical one is still in progress, the caller waits for the
+ * running request instead of sending a new one and receives the same decoded response object. Responses
+ * are shared between callers, so they should not be modified. Mutable responses, like
+ * {@link org.stellar.sdk.responses.AccountResponse}, are never coalesced.</p>
+ * <p>Cancelling an asynchronous request only cancels the underlying HTTP call when every caller waiting
+ * for it has cancelled.</p>
+ */
+public class RequestCoalescer {
+  private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<String, Flight>();
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong coalescedCount = new AtomicLong();
+
+  /**
+   * Returns number of requests made through this coalescer.
+   */
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  /**
+   * Returns number of requests that were served by another identical request in flight,
+   * which is the number of HTTP calls saved.
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.get();
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T execute(String key, Callable<T> call) throws IOException {
+    requestCount.incrementAndGet();
+    Flight flight = new Flight();
+    Flight existing = join(key, flight);
+    if (existing != null) {
+      coalescedCount.incrementAndGet();
+      try {
+        return (T) Uninterruptibles.getUninterruptibly(existing.result);
+      } catch (ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        } else if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new RuntimeException(cause);
+      } finally {
+        existing.leave();
+      }
+    }
+
+    try {
+      T response = call.call();
+      flight.result.set(response);
+      return response;
+    } catch (IOException e) {
+      flight.result.setException(e);
+      throw e;
+    } catch (RuntimeException e) {
+      flight.result.setException(e);
+      throw e;
+    } catch (Exception e) {
+      flight.result.setException(e);
+      throw new RuntimeException(e);
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  <T> ListenableFuture<T> executeAsync(final String key, Callable<ListenableFuture<T>> call) {
+    requestCount.incrementAndGet();
+    final Flight flight = new Flight();
+    Flight existing = join(key, flight);
+    if (existing != null) {
+      coalescedCount.incrementAndGet();
+      return existing.view(key);
+    }
+
+    ListenableFuture<T> source;
+    try {
+      source = call.call();
+    } catch (Exception e) {
+      inFlight.remove(key, flight);
+      flight.result.setException(e);
+      return Futures.immediateFailedFuture(e);
+    }
+
+    flight.source = source;
+    ListenableFuture<T> view = flight.view(key);
+    Futures.addCallback(source, new FutureCallback<T>() {
+      @Override
+      public void onSuccess(T response) {
+        inFlight.remove(key, flight);
+        flight.result.set(response);
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        inFlight.remove(key, flight);
+        flight.result.setException(t);
+      }
+    });
+    return view;
+  }
+
+  /**
+   * Registers <code>flight</code> under <code>key</code> or joins the flight already registered.
+   * @return flight in progress or <code>null</code> when <code>flight</code> was registered
+   */
+  private Flight join(String key, Flight flight) {
+    while (true) {
+      Flight existing = inFlight.putIfAbsent(key, flight);
+      if (existing == null) {
+        return null;
+      }
+      synchronized (existing) {
+        if (!existing.abandoned) {
+          existing.waiters++;
+          return existing;
+        }
+      }
+      inFlight.remove(key, existing);
+    }
+  }
+
+  private class Flight {
+    final SettableFuture<Object> result = SettableFuture.create();
+    volatile ListenableFuture<?> source;
+    int waiters = 1;
+    boolean abandoned;
+
+    /**
+     * Returns a future completed with the result of this flight. Cancelling it releases the caller.
+     */
+    @SuppressWarnings("unchecked")
+    <T> ListenableFuture<T> view(final String key) {
+      final SettableFuture<T> view = SettableFuture.create();
+      Futures.addCallback(result, new FutureCallback<Object>() {
+        @Override
+        public void onSuccess(Object response) {
+          view.set((T) response);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+          view.setException(t);
+        }
+      });
+      view.addListener(new Runnable() {
+        @Override
+        public void run() {
+          if (view.isCancelled()) {
+            release(key);
+          }
+        }
+      }, MoreExecutors.directExecutor());
+      return view;
+    }
+
+    /**
+     * Called by a synchronous caller that received the result.
+     */
+    private synchronized void leave() {
+      waiters--;
+    }
+
+    private void release(String key) {
+      synchronized (this) {
+        waiters--;
+        if (waiters > 0 || result.isDone()) {
+          return;
+        }
+        abandoned = true;
+      }
+      inFlight.remove(key, this);
+      ListenableFuture<?> currentSource = source;
+      if (currentSource != null) {
+        currentSource.cancel(true);
+      }
+    }
+  }
+}
@@ -0,0 +1,244 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Holds objects shared by all {@link RequestBuilder}s created by a single {@link org.stellar.sdk.Server}.
+ */
+public class RequestContext {
+  private final OkHttpClient httpClient;
+  private final Executor decodeExecutor;
+  private final ResponseCache responseCache;
+  private final RequestCoalescer requestCoalescer;
+  private final RequestHedger requestHedger;
+  private final MetricsSink metricsSink;
+  private final PriorityDispatcher priorityDispatcher;
+  private final RateLimitGovernor rateLimitGovernor;
+
+  /**
+   * Creates a new <code>RequestContext</code> that decodes asynchronous responses on the HTTP client's
+   * callback thread.
+   * @param httpClient HTTP client
+   */
+  public RequestContext(OkHttpClient httpClient) {
+    this(new Builder(httpClient));
+  }
+
+  /**
+   * Creates a new <code>RequestContext</code>.
+   * @param httpClient HTTP client
+   * @param decodeExecutor Executor used to decode responses of asynchronous requests
+   */
+  public RequestContext(OkHttpClient httpClient, Executor decodeExecutor) {
+    this(new Builder(httpClient).decodeExecutor(decodeExecutor));
+  }
+
+  private RequestContext(Builder builder) {
+    this.httpClient = builder.httpClient;
+    this.decodeExecutor = builder.decodeExecutor;
+    this.responseCache = builder.responseCache;
+    this.requestCoalescer = builder.requestCoalescer;
+    this.requestHedger = builder.requestHedger;
+    this.metricsSink = builder.metricsSink;
+    this.priorityDispatcher = builder.priorityDispatcher;
+    this.rateLimitGovernor = builder.rateLimitGovernor;
+  }
+
+  public OkHttpClient getHttpClient() {
+    return httpClient;
+  }
+
+  public Executor getDecodeExecutor() {
+    return decodeExecutor;
+  }
+
+  /**
+   * Returns {@link ResponseCache} or <code>null</code> if caching is disabled.
+   */
+  public ResponseCache getResponseCache() {
+    return responseCache;
+  }
+
+  /**
+   * Returns {@link RequestCoalescer} or <code>null</code> if coalescing is disabled.
+   */
+  public RequestCoalescer getRequestCoalescer() {
+    return requestCoalescer;
+  }
+
+  /**
+   * Returns {@link RequestHedger} or <code>null</code> if hedging is disabled.
+   */
+  public RequestHedger getRequestHedger() {
+    return requestHedger;
+  }
+
+  /**
+   * Returns {@link MetricsSink} receiving decode timings or <code>null</code> if they are not recorded.
+   */
+  public MetricsSink getMetricsSink() {
+    return metricsSink;
+  }
+
+  /**
+   * Returns {@link PriorityDispatcher} or <code>null</code> if requests are started in FIFO order.
+   */
+  public PriorityDispatcher getPriorityDispatcher() {
+    return priorityDispatcher;
+  }
+
+  /**
+   * Returns {@link RateLimitGovernor} of the HTTP client or <code>null</code> if requests are not paced.
+   */
+  public RateLimitGovernor getRateLimitGovernor() {
+    return rateLimitGovernor;
+  }
+
+  /**
+   * Executes the call, waiting for a slot of the {@link PriorityDispatcher} if there is one.
+   */
+  okhttp3.Response execute(Call call) throws IOException {
+    if (priorityDispatcher != null) {
+      return priorityDispatcher.execute(call);
+    }
+    return call.execute();
+  }
+
+  /**
+   * Enqueues the call once the {@link RateLimitGovernor} allows it, through the {@link PriorityDispatcher} if there
+   * is one.
+   */
+  void enqueue(final Call call, final Callback callback) {
+    if (rateLimitGovernor != null) {
+      rateLimitGovernor.enqueue(call, callback, new Runnable() {
+        @Override
+        public void run() {
+          dispatch(call, callback);
+        }
+      });
+    } else {
+      dispatch(call, callback);
+    }
+  }
+
+  private void dispatch(Call call, Callback callback) {
+    if (priorityDispatcher != null) {
+      priorityDispatcher.enqueue(call, callback);
+    } else {
+      call.enqueue(callback);
+    }
+  }
+
+  /**
+   * Cancels the call and wakes it if it's waiting for the {@link RateLimitGovernor}.
+   */
+  void cancel(Call call) {
+    call.cancel();
+    if (rateLimitGovernor != null) {
+      rateLimitGovernor.wake();
+    }
+  }
+
+  /**
+   * Builds a new <code>RequestContext</code>.
+   */
+  public static class Builder {
+    private final OkHttpClient httpClient;
+    private Executor decodeExecutor;
+    private ResponseCache responseCache;
+    private RequestCoalescer requestCoalescer;
+    private RequestHedger requestHedger;
+    private MetricsSink metricsSink;
+    private PriorityDispatcher priorityDispatcher;
+    private RateLimitGovernor rateLimitGovernor;
+
+    /**
+     * @param httpClient HTTP client
+     */
+    public Builder(OkHttpClient httpClient) {
+      this.httpClient = checkNotNull(httpClient, "httpClient cannot be null");
+      this.decodeExecutor = MoreExecutors.directExecutor();
+      this.requestCoalescer = new RequestCoalescer();
+    }
+
+    /**
+     * Sets executor used to decode responses of asynchronous requests. By default responses are decoded
+     * on the HTTP client's callback thread.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder decodeExecutor(Executor decodeExecutor) {
+      this.decodeExecutor = checkNotNull(decodeExecutor, "decodeExecutor cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets {@link ResponseCache} for decoded responses. Caching is disabled by default.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder responseCache(ResponseCache responseCache) {
+      this.responseCache = responseCache;
+      return this;
+    }
+
+    /**
+     * Sets {@link RequestCoalescer} for <code>GET</code> requests. By default a new coalescer is used,
+     * <code>null</code> disables coalescing.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder requestCoalescer(RequestCoalescer requestCoalescer) {
+      this.requestCoalescer = requestCoalescer;
+      return this;
+    }
+
+    /**
+     * Sets {@link RequestHedger} for <code>GET</code> requests. Hedging is disabled by default.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder requestHedger(RequestHedger requestHedger) {
+      this.requestHedger = requestHedger;
+      return this;
+    }
+
+    /**
+     * Sets {@link MetricsSink} receiving time spent decoding responses. Decode timings are not recorded by default.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder metricsSink(MetricsSink metricsSink) {
+      this.metricsSink = metricsSink;
+      return this;
+    }
+
+    /**
+     * Sets {@link PriorityDispatcher} starting requests by their {@link RequestPriority}. Requests are started
+     * in FIFO order by default.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder priorityDispatcher(PriorityDispatcher priorityDispatcher) {
+      this.priorityDispatcher = priorityDispatcher;
+      return this;
+    }
+
+    /**
+     * Sets {@link RateLimitGovernor} added to the HTTP client, so asynchronous requests wait for it before they are
+     * enqueued. Requests are not paced by default.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder rateLimitGovernor(RateLimitGovernor rateLimitGovernor) {
+      this.rateLimitGovernor = rateLimitGovernor;
+      return this;
+    }
+
+    public RequestContext build() {
+      return new RequestContext(this);
+    }
+  }
+}
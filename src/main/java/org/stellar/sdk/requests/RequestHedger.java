@@ -0,0 +1,294 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Sends a duplicate of a <code>GET</code> request when no response arrives within a delay, and uses whichever
+ * response arrives first. The other call is cancelled.
+ * <p>The delay is the configured percentile of recent latencies of the endpoint, kept in a
+ * {@link LatencyHistogram} per scheme, host and port, bounded by the minimum and maximum delay. Latencies of
+ * all endpoints are used when the endpoint has too few samples, and the maximum delay until enough latencies
+ * are recorded. Latencies of both calls are recorded, and a call cancelled because the other one responded
+ * first is recorded with the time it waited. When requests are routed by a {@link HorizonPool}, the duplicate
+ * is sent to another server if one is healthy.</p>
+ * <p>Hedging adds load to Horizon, so it is disabled by default; see
+ * {@link org.stellar.sdk.Server.Builder#requestHedger(RequestHedger)}.</p>
+ */
+public class RequestHedger implements Closeable {
+  public static final double DEFAULT_PERCENTILE = 0.95;
+  public static final long DEFAULT_MIN_DELAY_MILLIS = 50;
+  public static final long DEFAULT_MAX_DELAY_MILLIS = 2000;
+
+  private static final int MIN_SAMPLES = 20;
+
+  private final double percentile;
+  private final long minDelayNanos;
+  private final long maxDelayNanos;
+  private final Ticker ticker;
+  private final ScheduledExecutorService scheduler;
+  private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+  private final LatencyHistogram allEndpoints = new LatencyHistogram();
+  private final AtomicLong hedgeCount = new AtomicLong();
+  private final AtomicLong hedgeWinCount = new AtomicLong();
+
+  public RequestHedger() {
+    this(DEFAULT_PERCENTILE, DEFAULT_MIN_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+  }
+
+  /**
+   * @param percentile percentile of recent latencies after which a duplicate request is sent, e.g. <code>0.95</code>
+   * @param minDelayMillis minimum delay before a duplicate request is sent
+   * @param maxDelayMillis maximum delay before a duplicate request is sent, also used until enough latencies are recorded
+   */
+  public RequestHedger(double percentile, long minDelayMillis, long maxDelayMillis) {
+    this(percentile, minDelayMillis, maxDelayMillis, Ticker.systemTicker());
+  }
+
+  RequestHedger(double percentile, long minDelayMillis, long maxDelayMillis, Ticker ticker) {
+    checkArgument(percentile > 0 && percentile < 1, "percentile must be between 0 and 1");
+    checkArgument(minDelayMillis >= 0, "minDelayMillis cannot be negative");
+    checkArgument(maxDelayMillis >= minDelayMillis, "maxDelayMillis cannot be lower than minDelayMillis");
+    this.percentile = percentile;
+    this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+    this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    this.ticker = ticker;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "stellar-request-hedger");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * Returns latency histogram of the endpoint serving the given URL or <code>null</code> if no request was
+   * sent to it.
+   */
+  public LatencyHistogram getHistogram(HttpUrl url) {
+    return histograms.get(endpoint(url));
+  }
+
+  /**
+   * Returns number of duplicate requests sent.
+   */
+  public long getHedgeCount() {
+    return hedgeCount.get();
+  }
+
+  /**
+   * Returns number of duplicate requests that responded before the original request.
+   */
+  public long getHedgeWinCount() {
+    return hedgeWinCount.get();
+  }
+
+  /**
+   * Stops the timer used to send duplicate requests. Requests in flight won't be hedged.
+   */
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Returns delay after which a duplicate of a request to the given URL is sent.
+   */
+  long getDelayNanos(HttpUrl url) {
+    LatencyHistogram histogram = getHistogram(url);
+    if (histogram == null || histogram.getCount() < MIN_SAMPLES) {
+      histogram = allEndpoints;
+    }
+    if (histogram.getCount() < MIN_SAMPLES) {
+      return maxDelayNanos;
+    }
+    long delay = histogram.getPercentile(percentile, TimeUnit.NANOSECONDS);
+    return Math.max(minDelayNanos, Math.min(maxDelayNanos, delay));
+  }
+
+  okhttp3.Response execute(RequestContext context, Request request) throws IOException {
+    try {
+      return Uninterruptibles.getUninterruptibly(enqueue(context, request));
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  /**
+   * Sends the request and, if needed, its duplicate.
+   * @return future completed with the first response; cancelling it cancels all calls
+   */
+  ListenableFuture<okhttp3.Response> enqueue(RequestContext context, Request request) {
+    HedgedCall hedgedCall = new HedgedCall(context, request);
+    hedgedCall.start();
+    return hedgedCall.future;
+  }
+
+  private void record(HttpUrl url, long latencyNanos) {
+    String endpoint = endpoint(url);
+    LatencyHistogram histogram = histograms.get(endpoint);
+    if (histogram == null) {
+      histograms.putIfAbsent(endpoint, new LatencyHistogram());
+      histogram = histograms.get(endpoint);
+    }
+    histogram.record(latencyNanos, TimeUnit.NANOSECONDS);
+    allEndpoints.record(latencyNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static String endpoint(HttpUrl url) {
+    return url.scheme() + "://" + url.host() + ":" + url.port();
+  }
+
+  private class HedgedCall {
+    private final RequestContext context;
+    private final Request request;
+    private final SettableFuture<okhttp3.Response> future = SettableFuture.create();
+    private final List<Call> calls = new ArrayList<Call>();
+    private ScheduledFuture<?> hedge;
+    private Call winner;
+    private int failures;
+
+    HedgedCall(RequestContext context, Request request) {
+      this.context = context;
+      this.request = request;
+    }
+
+    void start() {
+      future.addListener(new Runnable() {
+        @Override
+        public void run() {
+          cancelAll();
+        }
+      }, MoreExecutors.directExecutor());
+
+      send(false);
+      try {
+        ScheduledFuture<?> scheduled = scheduler.schedule(new Runnable() {
+          @Override
+          public void run() {
+            synchronized (HedgedCall.this) {
+              if (future.isDone() || failures == calls.size()) {
+                return;
+              }
+            }
+            hedgeCount.incrementAndGet();
+            send(true);
+          }
+        }, getDelayNanos(request.url()), TimeUnit.NANOSECONDS);
+        synchronized (this) {
+          hedge = scheduled;
+        }
+      } catch (RejectedExecutionException e) {
+        // Hedger was closed, the request is sent once.
+      }
+      if (future.isDone()) {
+        cancelAll();
+      }
+    }
+
+    private void send(final boolean duplicate) {
+      final Call call = context.getHttpClient().newCall(request);
+      synchronized (this) {
+        if (future.isDone()) {
+          return;
+        }
+        calls.add(call);
+      }
+      final long start = ticker.read();
+      context.enqueue(call, new Callback() {
+        @Override
+        public void onFailure(Call call, IOException e) {
+          boolean failed;
+          boolean lost;
+          synchronized (HedgedCall.this) {
+            failures++;
+            failed = failures == calls.size() && (hedge == null || hedge.isDone() || hedge.cancel(false));
+            lost = winner != null && winner != call;
+          }
+          if (lost && call.isCanceled()) {
+            // The loser would have taken at least this long. Leaving it out would drop exactly the slow
+            // responses from the histogram and shorten the delay.
+            record(request.url(), ticker.read() - start);
+          }
+          if (failed) {
+            future.setException(e);
+          }
+        }
+
+        @Override
+        public void onResponse(Call call, okhttp3.Response response) {
+          long latency = ticker.read() - start;
+          boolean first;
+          synchronized (HedgedCall.this) {
+            first = winner == null && !future.isDone();
+            if (first) {
+              winner = call;
+            }
+          }
+          // Recorded for the server that responded, which differs from the request URL when routed by HorizonPool.
+          record(response.request().url(), latency);
+          if (first && duplicate) {
+            hedgeWinCount.incrementAndGet();
+          }
+          if (!first || !future.set(response)) {
+            response.close();
+          }
+        }
+      });
+    }
+
+    private void cancelAll() {
+      if (!future.isDone()) {
+        return;
+      }
+      List<Call> losers;
+      synchronized (this) {
+        if (hedge != null) {
+          hedge.cancel(false);
+        }
+        losers = new ArrayList<Call>(calls);
+        if (!future.isCancelled()) {
+          losers.remove(winner);
+        }
+      }
+      for (Call call : losers) {
+        context.cancel(call);
+      }
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Priority of a request sent to Horizon. Set as a tag of the HTTP request.
+ * @see okhttp3.Request.Builder#tag(Object)
+ */
+public enum RequestPriority {
+  /**
+   * Latency-critical requests, like transaction submission.
+   */
+  HIGH,
+  NORMAL,
+  /**
+   * Background requests, like history backfills, which shouldn't delay other requests.
+   */
+  LOW;
+
+  static RequestPriority of(okhttp3.Request request) {
+    if (request.tag() instanceof RequestPriority) {
+      return (RequestPriority) request.tag();
+    }
+    return NORMAL;
+  }
+}
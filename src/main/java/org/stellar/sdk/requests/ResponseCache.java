@@ -0,0 +1,258 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import org.stellar.sdk.TransactionBuilderAccount;
+import org.stellar.sdk.responses.Page;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Bounded cache of decoded responses shared by all {@link RequestBuilder}s of a {@link org.stellar.sdk.Server}.
+ * <p>Closed ledgers and the transactions, operations and effects inside them never change, so responses for
+ * them are kept until evicted. Empty collections are not, because Horizon returns them as well for a ledger it
+ * hasn't ingested yet. Responses for other resources, like accounts, can be kept for a short time
+ * to live; by default they are not cached at all. Entries are keyed by the request URL with sorted query
+ * parameters.</p>
+ * <p>Cached objects are shared between callers, so they should not be modified. Accounts, whose sequence number
+ * is incremented when a transaction is built, are never cached, even in pages.</p>
+ * <p>An optional on-disk tier keeps raw responses of immutable resources in an {@link okhttp3.Cache}. Responses
+ * read from disk are decoded again when they are evicted from memory.</p>
+ */
+public class ResponseCache {
+  public static final long DEFAULT_MAX_ENTRIES = 10000;
+
+  private static final long EMPTY_PAGE_PEEK_BYTES = 4096;
+  private static final Pattern EMPTY_RECORDS = Pattern.compile("\"records\"\\s*:\\s*\\[\\s*\\]");
+
+  private final Cache<String, Entry> entries;
+  private final long mutableTtlNanos;
+  private final okhttp3.Cache diskCache;
+  private final Ticker ticker;
+
+  /**
+   * Creates a cache for immutable resources only.
+   * @param maxEntries maximum number of responses kept in memory
+   */
+  public ResponseCache(long maxEntries) {
+    this(maxEntries, 0);
+  }
+
+  /**
+   * @param maxEntries maximum number of responses kept in memory
+   * @param mutableTtlMillis time to live of responses for resources that can change, <code>0</code> disables caching them
+   */
+  public ResponseCache(long maxEntries, long mutableTtlMillis) {
+    this(maxEntries, mutableTtlMillis, null, 0);
+  }
+
+  /**
+   * @param maxEntries maximum number of responses kept in memory
+   * @param mutableTtlMillis time to live of responses for resources that can change, <code>0</code> disables caching them
+   * @param diskDirectory directory of the on-disk tier
+   * @param maxDiskBytes maximum size of the on-disk tier
+   */
+  public ResponseCache(long maxEntries, long mutableTtlMillis, File diskDirectory, long maxDiskBytes) {
+    this(maxEntries, mutableTtlMillis, diskDirectory != null ? new okhttp3.Cache(diskDirectory, maxDiskBytes) : null, Ticker.systemTicker());
+  }
+
+  ResponseCache(long maxEntries, long mutableTtlMillis, okhttp3.Cache diskCache, Ticker ticker) {
+    checkArgument(maxEntries > 0, "maxEntries must be positive");
+    checkArgument(mutableTtlMillis >= 0, "mutableTtlMillis cannot be negative");
+    this.entries = CacheBuilder.newBuilder().maximumSize(maxEntries).recordStats().build();
+    this.mutableTtlNanos = TimeUnit.MILLISECONDS.toNanos(mutableTtlMillis);
+    this.diskCache = diskCache;
+    this.ticker = ticker;
+  }
+
+  /**
+   * Returns cached response for the given URL or <code>null</code>.
+   */
+  public Object get(HttpUrl url) {
+    String key = key(url);
+    Entry entry = entries.getIfPresent(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expiresAtNanos != null && ticker.read() - entry.expiresAtNanos >= 0) {
+      entries.invalidate(key);
+      return null;
+    }
+    return entry.response;
+  }
+
+  /**
+   * Stores response for the given URL if the resource can be cached.
+   */
+  public void put(HttpUrl url, Object response) {
+    if (response == null || isMutableObject(response)) {
+      return;
+    }
+    if (isImmutable(url) && !isEmptyPage(response)) {
+      entries.put(key(url), new Entry(response, null));
+    } else if (mutableTtlNanos > 0) {
+      entries.put(key(url), new Entry(response, ticker.read() + mutableTtlNanos));
+    }
+  }
+
+  public void invalidateAll() {
+    entries.invalidateAll();
+  }
+
+  /**
+   * Returns the number of responses served from memory.
+   */
+  public long getHitCount() {
+    return entries.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return entries.stats().missCount();
+  }
+
+  /**
+   * Returns the on-disk tier or <code>null</code> if it's disabled.
+   */
+  public okhttp3.Cache getDiskCache() {
+    return diskCache;
+  }
+
+  /**
+   * Returns a network interceptor that makes responses for immutable resources cacheable by the on-disk tier.
+   */
+  public Interceptor getNetworkInterceptor() {
+    return new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        okhttp3.Response response = chain.proceed(request);
+        if (request.method().equals("GET") && response.isSuccessful() && isImmutable(request.url()) &&
+                !(isCollection(request.url()) && hasNoRecords(response.peekBody(EMPTY_PAGE_PEEK_BYTES).string()))) {
+          return response.newBuilder()
+                  .header("Cache-Control", "public, max-age=31536000, immutable")
+                  .removeHeader("Pragma")
+                  .build();
+        }
+        return response;
+      }
+    };
+  }
+
+  /**
+   * Returns <code>true</code> if the resource at the given URL never changes: a closed ledger, transaction or
+   * operation, or a collection belonging to one of them.
+   */
+  static boolean isImmutable(HttpUrl url) {
+    List<String> segments = new ArrayList<String>(url.pathSegments());
+    segments.removeAll(Collections.singleton(""));
+    if (segments.size() != 2 && segments.size() != 3) {
+      return false;
+    }
+
+    String resource = segments.get(0);
+    String id = segments.get(1);
+    String collection = segments.size() == 3 ? segments.get(2) : null;
+    if (resource.equals("ledgers")) {
+      return isNumber(id) && (collection == null || collection.equals("transactions") ||
+              collection.equals("operations") || collection.equals("payments") || collection.equals("effects"));
+    } else if (resource.equals("transactions")) {
+      return collection == null || collection.equals("operations") ||
+              collection.equals("payments") || collection.equals("effects");
+    } else if (resource.equals("operations") || resource.equals("operation")) {
+      return isNumber(id) && (collection == null || collection.equals("effects"));
+    }
+    return false;
+  }
+
+  /**
+   * Returns <code>true</code> for {@link TransactionBuilderAccount}s, and pages of them, which must not be shared
+   * because {@link org.stellar.sdk.Transaction.Builder} increments their sequence number.
+   */
+  private static boolean isMutableObject(Object response) {
+    if (response instanceof TransactionBuilderAccount) {
+      return true;
+    }
+    if (response instanceof Page) {
+      List<?> records = ((Page<?>) response).getRecords();
+      if (records != null) {
+        for (Object record : records) {
+          if (record instanceof TransactionBuilderAccount) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  static boolean isCollection(HttpUrl url) {
+    List<String> segments = new ArrayList<String>(url.pathSegments());
+    segments.removeAll(Collections.singleton(""));
+    return segments.size() == 3;
+  }
+
+  private static boolean isEmptyPage(Object response) {
+    return response instanceof Page && (((Page<?>) response).getRecords() == null ||
+            ((Page<?>) response).getRecords().isEmpty());
+  }
+
+  /**
+   * Checks the beginning of a page's JSON, which is enough to see an empty <code>records</code> array.
+   */
+  private static boolean hasNoRecords(String json) {
+    return EMPTY_RECORDS.matcher(json).find();
+  }
+
+  private static boolean isNumber(String value) {
+    if (value.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      if (!Character.isDigit(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns canonical representation of the URL with sorted query parameters.
+   */
+  static String key(HttpUrl url) {
+    if (url.querySize() < 2) {
+      return url.toString();
+    }
+    List<String> names = new ArrayList<String>(url.queryParameterNames());
+    Collections.sort(names);
+    HttpUrl.Builder builder = url.newBuilder().query(null);
+    for (String name : names) {
+      for (String value : url.queryParameterValues(name)) {
+        builder.addQueryParameter(name, value);
+      }
+    }
+    return builder.build().toString();
+  }
+
+  private static class Entry {
+    final Object response;
+    final Long expiresAtNanos;
+
+    Entry(Object response, Long expiresAtNanos) {
+      this.response = response;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+  }
+}
@@ -0,0 +1,379 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Charsets;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import org.stellar.sdk.HttpResponseException;
+import org.stellar.sdk.responses.FieldProjection;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.RawRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-Sent Events stream connected to a Horizon endpoint.
+ * <p>Each stream holds one long-lived connection which is read on a dedicated thread. Events are decoded
+ * as they arrive and passed to the {@link EventListener}. When the connection is dropped the stream
+ * reconnects and resumes from the last received event by sending its <code>paging_token</code> as the
+ * <code>cursor</code> parameter and the <code>Last-Event-ID</code> header.</p>
+ * <p>Failed connections, <code>429 Too Many Requests</code> and <code>5xx</code> responses are retried with an
+ * exponentially growing delay, starting at the <code>retry</code> interval sent by the server and capped at
+ * one minute. Other error responses close the stream, as do exceptions thrown while decoding or processing
+ * an event, since resuming would deliver the same event again. Pass a {@link StreamListener} to be notified
+ * of failures.</p>
+ * <p>When a {@link CursorStore} is set with {@link RequestBuilder#checkpoint(CursorStore, String)}, the stream
+ * starts from the saved cursor and saves the <code>paging_token</code> of every event after the listener
+ * has processed it.</p>
+ * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
+ * @param <T> type of the streamed objects
+ */
+public class SSEStream<T> implements Closeable {
+  static final long DEFAULT_RECONNECT_DELAY = 1000;
+  static final long MAX_RECONNECT_DELAY = 60000;
+
+  private final OkHttpClient httpClient;
+  private final HttpUrl url;
+  private final Type type;
+  private final EventListener<T> listener;
+  private final Checkpoint checkpoint;
+  private final FieldProjection projection;
+  private final Thread thread;
+  private volatile boolean closed;
+  private volatile String lastEventId;
+  private volatile long reconnectDelay = DEFAULT_RECONNECT_DELAY;
+  private volatile Call call;
+  private volatile CancellationToken cancellationToken;
+  private volatile Runnable cancellationListener;
+  private boolean checkpointLoaded;
+  private int failures;
+  private long retryAfter;
+
+  SSEStream(OkHttpClient httpClient, HttpUrl url, Type type, EventListener<T> listener) {
+    this(httpClient, url, type, listener, null);
+  }
+
+  SSEStream(OkHttpClient httpClient, HttpUrl url, Type type, EventListener<T> listener, Checkpoint checkpoint) {
+    this(httpClient, url, type, listener, checkpoint, null);
+  }
+
+  SSEStream(OkHttpClient httpClient, HttpUrl url, Type type, EventListener<T> listener, Checkpoint checkpoint,
+            FieldProjection projection) {
+    // Streams are kept open by Horizon, so reads must not time out.
+    this.httpClient = httpClient.newBuilder().readTimeout(0, TimeUnit.MILLISECONDS).build();
+    this.url = url;
+    this.type = type;
+    this.listener = listener;
+    this.checkpoint = checkpoint;
+    this.projection = projection;
+    this.thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        SSEStream.this.run();
+      }
+    }, "stellar-sse-" + url.encodedPath());
+    this.thread.setDaemon(true);
+  }
+
+  void start() {
+    thread.start();
+  }
+
+  /**
+   * Closes the stream when <code>token</code> is cancelled, notifying a {@link StreamListener} of the failure.
+   * The token stops referencing the stream once it's closed. Must be called before {@link #start()}.
+   */
+  @SuppressWarnings("unchecked")
+  void bind(final CancellationToken token) {
+    Runnable listener = new Runnable() {
+      @Override
+      public void run() {
+        if (closed) {
+          return;
+        }
+        close();
+        if (SSEStream.this.listener instanceof StreamListener) {
+          ((StreamListener<T>) SSEStream.this.listener).onFailure(token.exception(), true);
+        }
+      }
+    };
+    cancellationToken = token;
+    cancellationListener = listener;
+    token.addListener(listener);
+  }
+
+  /**
+   * Returns <code>paging_token</code> of the last received event.
+   */
+  public String getLastEventId() {
+    return lastEventId;
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Closes the connection and stops reconnecting.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    Call currentCall = call;
+    if (currentCall != null) {
+      currentCall.cancel();
+    }
+    thread.interrupt();
+    unbind();
+  }
+
+  private void unbind() {
+    CancellationToken token = cancellationToken;
+    Runnable listener = cancellationListener;
+    if (token != null && listener != null) {
+      token.removeListener(listener);
+    }
+  }
+
+  private void run() {
+    while (!closed) {
+      try {
+        connect();
+      } catch (IOException e) {
+        // Connection failed or was dropped, reconnect below.
+        fail(e, false);
+      } catch (RuntimeException e) {
+        // Decoding or listener failure, resuming would deliver the same event again.
+        if (!fail(e, true)) {
+          throw e;
+        }
+      }
+
+      if (closed) {
+        break;
+      }
+      try {
+        Thread.sleep(nextReconnectDelay());
+      } catch (InterruptedException e) {
+        break;
+      }
+    }
+    // Closed by a failure, the token doesn't need to close it anymore.
+    unbind();
+  }
+
+  /**
+   * Records a failure and notifies the listener unless the stream was closed by the caller.
+   * @return <code>true</code> if the listener was notified
+   */
+  @SuppressWarnings("unchecked")
+  private boolean fail(Throwable error, boolean close) {
+    if (closed) {
+      return false;
+    }
+    failures++;
+    if (close) {
+      closed = true;
+    }
+    if (listener instanceof StreamListener) {
+      ((StreamListener<T>) listener).onFailure(error, close);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Doubles the delay after every consecutive failure, but waits at least as long as the server asked.
+   */
+  private long nextReconnectDelay() {
+    long delay = reconnectDelay;
+    for (int i = 1; i < failures && delay < MAX_RECONNECT_DELAY; i++) {
+      delay *= 2;
+    }
+    delay = Math.max(Math.min(delay, MAX_RECONNECT_DELAY), retryAfter);
+    retryAfter = 0;
+    return delay;
+  }
+
+  private void connect() throws IOException {
+    if (checkpoint != null && !checkpointLoaded) {
+      String savedCursor = checkpoint.load();
+      if (savedCursor != null) {
+        lastEventId = savedCursor;
+      }
+      checkpointLoaded = true;
+    }
+
+    HttpUrl.Builder urlBuilder = url.newBuilder();
+    Request.Builder requestBuilder = new Request.Builder().header("Accept", "text/event-stream");
+    String eventId = lastEventId;
+    if (eventId != null) {
+      urlBuilder.setQueryParameter("cursor", eventId);
+      requestBuilder.header("Last-Event-ID", eventId);
+    }
+
+    Call currentCall = httpClient.newCall(requestBuilder.url(urlBuilder.build()).get().build());
+    call = currentCall;
+    if (closed) {
+      currentCall.cancel();
+    }
+
+    okhttp3.Response response = currentCall.execute();
+    try {
+      ResponseBody body = response.body();
+      if (!response.isSuccessful()) {
+        failResponse(response);
+        return;
+      }
+      failures = 0;
+      if (body == null) {
+        return;
+      }
+
+      BufferedSource source = body.source();
+      EventParser parser = new EventParser();
+      String line;
+      while (!closed && (line = source.readUtf8Line()) != null) {
+        if (parser.processLine(line)) {
+          dispatch(parser);
+        }
+      }
+    } finally {
+      response.close();
+    }
+  }
+
+  /**
+   * Handles an error response: rate limits and server errors are retried, other errors close the stream.
+   */
+  private void failResponse(okhttp3.Response response) {
+    int statusCode = response.code();
+    if (statusCode == 429) {
+      int seconds = 0;
+      String retryAfterValue = response.header("Retry-After");
+      if (retryAfterValue != null) {
+        try {
+          seconds = Integer.parseInt(retryAfterValue);
+        } catch (NumberFormatException e) {
+          // Use backoff only
+        }
+      }
+      retryAfter = TimeUnit.SECONDS.toMillis(seconds);
+      fail(new TooManyRequestsException(seconds), false);
+    } else {
+      fail(new HttpResponseException(statusCode, response.message()), statusCode < 500);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void dispatch(EventParser parser) throws IOException {
+    if (parser.getRetry() != null) {
+      reconnectDelay = parser.getRetry();
+    }
+
+    String data = parser.getData();
+    if (data == null || data.equals("\"hello\"")) {
+      return;
+    }
+
+    T object;
+    if (type == RawRecord.class) {
+      object = (T) RawRecord.of(data.getBytes(Charsets.UTF_8));
+    } else if (projection != null) {
+      object = projection.fromJson(new StringReader(data), type);
+    } else {
+      object = GsonSingleton.getInstance().fromJson(data, type);
+    }
+    if (parser.getId() != null) {
+      lastEventId = parser.getId();
+    }
+    listener.onEvent(object);
+    if (checkpoint != null && parser.getId() != null) {
+      checkpoint.save(parser.getId());
+    }
+  }
+
+  /**
+   * Accumulates lines of a single event.
+   * @see <a href="https://www.w3.org/TR/eventsource/#event-stream-interpretation" target="_blank">Interpreting an event stream</a>
+   */
+  static class EventParser {
+    private StringBuilder data;
+    private String id;
+    private Long retry;
+    private boolean dispatched;
+
+    /**
+     * Processes a single line of the stream.
+     * @return <code>true</code> when the line completed an event
+     */
+    boolean processLine(String line) {
+      if (dispatched) {
+        data = null;
+        id = null;
+        retry = null;
+        dispatched = false;
+      }
+
+      if (line.isEmpty()) {
+        dispatched = true;
+        return data != null || id != null || retry != null;
+      }
+
+      if (line.startsWith(":")) {
+        return false;
+      }
+
+      String field;
+      String value;
+      int colon = line.indexOf(':');
+      if (colon == -1) {
+        field = line;
+        value = "";
+      } else {
+        field = line.substring(0, colon);
+        value = line.substring(colon + 1);
+        if (value.startsWith(" ")) {
+          value = value.substring(1);
+        }
+      }
+
+      if (field.equals("data")) {
+        if (data == null) {
+          data = new StringBuilder(value);
+        } else {
+          data.append('\n').append(value);
+        }
+      } else if (field.equals("id")) {
+        id = value;
+      } else if (field.equals("retry")) {
+        try {
+          retry = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+          // Ignored as required by the specification.
+        }
+      }
+      return false;
+    }
+
+    String getData() {
+      return data != null ? data.toString() : null;
+    }
+
+    String getId() {
+      return id;
+    }
+
+    Long getRetry() {
+      return retry;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package org.stellar.sdk.requests;
+
+/**
+ * {@link EventListener} that is also notified when its {@link SSEStream} fails.
+ * Pass it to the <code>stream</code> method of a {@link RequestBuilder} instead of a plain {@link EventListener}.
+ */
+public interface StreamListener<T> extends EventListener<T> {
+  /**
+   * This method will be called when the connection fails or is dropped, Horizon responds with an error status,
+   * or an event can't be decoded or processed.
+   * @param error {@link java.io.IOException} when the connection failed, {@link org.stellar.sdk.HttpResponseException}
+   *     or {@link TooManyRequestsException} when Horizon responded with an error status, otherwise the exception
+   *     thrown while decoding or processing an event
+   * @param closed <code>true</code> when the stream was closed because of the failure, <code>false</code> when it
+   *     will reconnect
+   */
+  void onFailure(Throwable error, boolean closed);
+}
@@ -0,0 +1,252 @@
+package org.stellar.sdk.requests;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link Publisher} of Server-Sent Events honoring the demand of its subscribers.
+ * <p>Every subscriber gets its own {@link SSEStream}. Events received ahead of demand are kept in a buffer
+ * of <code>bufferSize</code> events. When the buffer is full, the {@link OverflowPolicy} decides what happens:
+ * by default the stream stops reading from the socket until the subscriber requests more events, so a slow
+ * subscriber slows down the connection instead of exhausting memory.</p>
+ * <p>Events are delivered on the stream's thread or on the thread calling {@link Subscription#request(long)},
+ * one at a time.</p>
+ * <p>When the stream is closed by a failure, for example an error response or a cancelled
+ * {@link CancellationToken}, the subscriber receives {@link Subscriber#onError(Throwable)}. Dropped connections
+ * are resumed without notifying the subscriber.</p>
+ * @param <T> type of the events
+ */
+public class StreamPublisher<T> implements Publisher<T> {
+  public static final int DEFAULT_BUFFER_SIZE = 256;
+
+  /**
+   * What to do with a new event when the buffer of a subscriber is full.
+   */
+  public enum OverflowPolicy {
+    /**
+     * Stop reading from the socket until the subscriber requests more events.
+     */
+    BLOCK,
+    /**
+     * Drop the oldest buffered event.
+     */
+    DROP_OLDEST,
+    /**
+     * Drop the new event.
+     */
+    DROP_LATEST,
+    /**
+     * Close the stream and signal {@link IllegalStateException} to the subscriber.
+     */
+    ERROR
+  }
+
+  private final StreamFactory<T> streamFactory;
+  private final int bufferSize;
+  private final OverflowPolicy overflowPolicy;
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  StreamPublisher(StreamFactory<T> streamFactory, int bufferSize, OverflowPolicy overflowPolicy) {
+    checkArgument(bufferSize > 0, "bufferSize must be positive");
+    this.streamFactory = streamFactory;
+    this.bufferSize = bufferSize;
+    this.overflowPolicy = checkNotNull(overflowPolicy, "overflowPolicy cannot be null");
+  }
+
+  /**
+   * Opens a new stream for the subscriber.
+   */
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    checkNotNull(subscriber, "subscriber cannot be null");
+    StreamSubscription subscription = new StreamSubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+    subscription.open();
+  }
+
+  /**
+   * Returns number of events dropped by {@link OverflowPolicy#DROP_OLDEST} and {@link OverflowPolicy#DROP_LATEST}
+   * for all subscribers.
+   */
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  interface StreamFactory<T> {
+    Closeable open(StreamListener<T> listener);
+  }
+
+  private class StreamSubscription implements Subscription, StreamListener<T> {
+    private final Subscriber<? super T> subscriber;
+    private final Queue<T> buffer = new ArrayDeque<T>();
+    private final AtomicInteger drainers = new AtomicInteger();
+    private long demand;
+    private Throwable error;
+    private boolean cancelled;
+    private boolean terminated;
+    private Closeable stream;
+
+    StreamSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    void open() {
+      Closeable opened = streamFactory.open(this);
+      boolean close;
+      synchronized (this) {
+        stream = opened;
+        close = cancelled;
+      }
+      if (close) {
+        closeQuietly(opened);
+      }
+    }
+
+    @Override
+    public void request(long n) {
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        if (n <= 0) {
+          error = new IllegalArgumentException("Number of requested events must be positive");
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      Closeable opened;
+      synchronized (this) {
+        if (cancelled) {
+          return;
+        }
+        cancelled = true;
+        buffer.clear();
+        opened = stream;
+        notifyAll();
+      }
+      if (opened != null) {
+        closeQuietly(opened);
+      }
+    }
+
+    /**
+     * Called by the stream's thread with every event.
+     */
+    @Override
+    public void onEvent(T object) {
+      synchronized (this) {
+        while (!cancelled && error == null && buffer.size() >= bufferSize) {
+          if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+              wait();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              error = new InterruptedIOException("Interrupted while waiting for buffer space");
+            }
+          } else if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            buffer.poll();
+            droppedCount.incrementAndGet();
+          } else if (overflowPolicy == OverflowPolicy.DROP_LATEST) {
+            droppedCount.incrementAndGet();
+            return;
+          } else {
+            error = new IllegalStateException("Buffer of " + bufferSize + " events is full");
+          }
+        }
+        if (cancelled) {
+          return;
+        }
+        if (error == null) {
+          buffer.add(object);
+        }
+      }
+      drain();
+    }
+
+    /**
+     * Called by the stream's thread when it fails. Only failures closing the stream are signalled, the stream
+     * reconnects after other ones.
+     */
+    @Override
+    public void onFailure(Throwable failure, boolean closed) {
+      if (!closed) {
+        return;
+      }
+      synchronized (this) {
+        if (cancelled || error != null) {
+          return;
+        }
+        error = failure;
+      }
+      drain();
+    }
+
+    /**
+     * Delivers buffered events as long as there is demand. Only one thread delivers events at a time; calls
+     * made while another thread is delivering make it loop again.
+     */
+    private void drain() {
+      if (drainers.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        while (true) {
+          T next;
+          Throwable failure;
+          synchronized (this) {
+            if (cancelled || terminated) {
+              return;
+            }
+            failure = error;
+            next = failure == null && demand > 0 ? buffer.poll() : null;
+            if (failure != null) {
+              terminated = true;
+            } else if (next == null) {
+              break;
+            } else {
+              if (demand != Long.MAX_VALUE) {
+                demand--;
+              }
+              notifyAll();
+            }
+          }
+
+          if (failure != null) {
+            cancel();
+            subscriber.onError(failure);
+            return;
+          }
+          try {
+            subscriber.onNext(next);
+          } catch (RuntimeException e) {
+            cancel();
+            throw e;
+          }
+        }
+        missed = drainers.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void closeQuietly(Closeable closeable) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        // Closing a stream only cancels its call.
+      }
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Receives events from a {@link Publisher} after calling {@link Subscription#request(long)}.
+ * It has the same contract as <code>org.reactivestreams.Subscriber</code>.
+ * @param <T> type of the events
+ */
+public interface Subscriber<T> {
+  /**
+   * Called once after {@link Publisher#subscribe(Subscriber)}.
+   * @param subscription {@link Subscription} used to request events and cancel the subscription
+   */
+  void onSubscribe(Subscription subscription);
+
+  /**
+   * Called with the next event, at most as many times as requested.
+   * @param object object deserialized from the event data
+   */
+  void onNext(T object);
+
+  /**
+   * Called when the stream fails. No more events are sent.
+   */
+  void onError(Throwable throwable);
+
+  /**
+   * Called when the stream ends. No more events are sent.
+   */
+  void onComplete();
+}
@@ -0,0 +1,18 @@
+package org.stellar.sdk.requests;
+
+/**
+ * Link between a {@link Publisher} and a {@link Subscriber}.
+ * It has the same contract as <code>org.reactivestreams.Subscription</code>.
+ */
+public interface Subscription {
+  /**
+   * Adds <code>n</code> events to the demand of the subscriber. <code>Long.MAX_VALUE</code> means unbounded demand.
+   * @param n number of events, must be positive
+   */
+  void request(long n);
+
+  /**
+   * Stops sending events and releases resources.
+   */
+  void cancel();
+}
@@ -0,0 +1,132 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.HttpUrl;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * OkHttp {@link EventListener} reporting DNS, connect, TLS, time to first byte and total duration of every
+ * call to a {@link MetricsSink}.
+ * <p>A listener is created for every call, see {@link #factory(MetricsSink)}. Phases that didn't happen, like
+ * connecting when a pooled connection was reused, are not reported.</p>
+ */
+public class TimingEventListener extends EventListener {
+  private final MetricsSink sink;
+  private final Ticker ticker;
+  private final String endpoint;
+  private long callStart;
+  private long dnsStart;
+  private long connectStart;
+  private long secureConnectStart;
+  private long requestStart;
+
+  TimingEventListener(MetricsSink sink, Ticker ticker, String endpoint) {
+    this.sink = sink;
+    this.ticker = ticker;
+    this.endpoint = endpoint;
+  }
+
+  /**
+   * Returns factory of listeners reporting to the given sink, to be set using
+   * {@link okhttp3.OkHttpClient.Builder#eventListenerFactory(EventListener.Factory)}.
+   */
+  public static EventListener.Factory factory(MetricsSink sink) {
+    return factory(sink, Ticker.systemTicker());
+  }
+
+  static EventListener.Factory factory(final MetricsSink sink, final Ticker ticker) {
+    checkNotNull(sink, "sink cannot be null");
+    return new EventListener.Factory() {
+      @Override
+      public EventListener create(Call call) {
+        return new TimingEventListener(sink, ticker, endpoint(call.request().url()));
+      }
+    };
+  }
+
+  /**
+   * Returns endpoint of the URL: its host and path with segments containing digits replaced by <code>{id}</code>.
+   */
+  static String endpoint(HttpUrl url) {
+    StringBuilder endpoint = new StringBuilder(url.host());
+    for (String segment : url.pathSegments()) {
+      if (segment.isEmpty()) {
+        continue;
+      }
+      endpoint.append('/');
+      boolean id = false;
+      for (int i = 0; i < segment.length() && !id; i++) {
+        id = Character.isDigit(segment.charAt(i));
+      }
+      endpoint.append(id ? "{id}" : segment);
+    }
+    return endpoint.toString();
+  }
+
+  @Override
+  public void callStart(Call call) {
+    callStart = ticker.read();
+  }
+
+  @Override
+  public void dnsStart(Call call, String domainName) {
+    dnsStart = ticker.read();
+  }
+
+  @Override
+  public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+    sink.record(endpoint, MetricsSink.Phase.DNS, ticker.read() - dnsStart);
+  }
+
+  @Override
+  public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+    connectStart = ticker.read();
+  }
+
+  @Override
+  public void secureConnectStart(Call call) {
+    secureConnectStart = ticker.read();
+  }
+
+  @Override
+  public void secureConnectEnd(Call call, Handshake handshake) {
+    sink.record(endpoint, MetricsSink.Phase.TLS, ticker.read() - secureConnectStart);
+  }
+
+  @Override
+  public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+    sink.record(endpoint, MetricsSink.Phase.CONNECT, ticker.read() - connectStart);
+  }
+
+  @Override
+  public void requestHeadersStart(Call call) {
+    requestStart = ticker.read();
+  }
+
+  @Override
+  public void responseHeadersStart(Call call) {
+    sink.record(endpoint, MetricsSink.Phase.TIME_TO_FIRST_BYTE, ticker.read() - requestStart);
+  }
+
+  @Override
+  public void callEnd(Call call) {
+    sink.record(endpoint, MetricsSink.Phase.CALL, ticker.read() - callStart);
+  }
+
+  @Override
+  public void callFailed(Call call, IOException ioe) {
+    sink.recordFailure(endpoint, ioe);
+  }
+}
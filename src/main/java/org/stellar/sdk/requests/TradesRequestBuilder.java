@@ -1,5 +1,7 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import org.stellar.sdk.Asset;
@@ -13,7 +15,11 @@ import java.io.IOException;
  */
 public class TradesRequestBuilder extends RequestBuilder {
     public TradesRequestBuilder(OkHttpClient httpClient, HttpUrl serverUrl) {
-        super(httpClient, serverUrl, "order_book/trades");
+        this(new RequestContext(httpClient), serverUrl);
+    }
+
+    public TradesRequestBuilder(RequestContext context, HttpUrl serverUrl) {
+        super(context, serverUrl, "order_book/trades");
     }
 
     public TradesRequestBuilder buyingAsset(Asset asset) {
@@ -43,4 +49,41 @@ public class TradesRequestBuilder extends RequestBuilder {
     public TradeResponse execute(HttpUrl url) throws IOException, TooManyRequestsException {
         return get(url, TradeResponse.class);
     }
+
+    /**
+     * Build and execute request asynchronously.
+     * @return future completed with {@link TradeResponse}
+     */
+    public ListenableFuture<TradeResponse> executeAsync() {
+        return this.executeAsync(this.buildUrl());
+    }
+
+    /**
+     * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link TradeResponse}.
+     * Cancelling the returned future cancels the HTTP call.
+     */
+    public ListenableFuture<TradeResponse> executeAsync(HttpUrl url) {
+        return getAsync(url, TradeResponse.class);
+    }
+
+    /**
+     * Compiles the query built so far into an immutable {@link QueryTemplate} returning {@link TradeResponse},
+     * which can be executed repeatedly from any thread. This builder shouldn't be used afterwards.
+     * @return {@link QueryTemplate} of the query
+     */
+    public QueryTemplate<TradeResponse> template() {
+        return template(TradeResponse.class);
+    }
+
+    @Override
+    public TradesRequestBuilder priority(RequestPriority priority) {
+        super.priority(priority);
+        return this;
+    }
+
+    @Override
+    public TradesRequestBuilder cancellation(CancellationToken token) {
+        super.cancellation(token);
+        return this;
+    }
 }
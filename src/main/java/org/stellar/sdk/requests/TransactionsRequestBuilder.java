@@ -1,14 +1,25 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.gson.reflect.TypeToken;
 
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.AccountResponse;
+import org.stellar.sdk.responses.LedgerResponse;
 import org.stellar.sdk.responses.Page;
+import org.stellar.sdk.responses.RawRecord;
 import org.stellar.sdk.responses.TransactionResponse;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -17,7 +28,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class TransactionsRequestBuilder extends RequestBuilder {
   public TransactionsRequestBuilder(OkHttpClient httpClient, HttpUrl serverUrl) {
-    super(httpClient, serverUrl, "transactions");
+    this(new RequestContext(httpClient), serverUrl);
+  }
+
+  public TransactionsRequestBuilder(RequestContext context, HttpUrl serverUrl) {
+    super(context, serverUrl, "transactions");
   }
 
   /**
@@ -40,6 +55,102 @@ public class TransactionsRequestBuilder extends RequestBuilder {
     return this.transaction(this.buildUrl());
   }
 
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link TransactionResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<TransactionResponse> transactionAsync(HttpUrl url) {
+    return getAsync(url, TransactionResponse.class);
+  }
+
+  /**
+   * Asynchronously requests <code>GET /transactions/{transactionId}</code>
+   * @param transactionId Transaction to fetch
+   * @return future completed with {@link TransactionResponse}
+   */
+  public ListenableFuture<TransactionResponse> transactionAsync(String transactionId) {
+    this.setPathSegments("transactions", transactionId);
+    return this.transactionAsync(this.buildUrl());
+  }
+
+  /**
+   * Requests <code>GET /transactions/{transactionId}</code> and then the selected links of the transaction
+   * concurrently.
+   * @param transactionId Transaction to fetch
+   * @param relations links to expand
+   * @throws IOException
+   */
+  public ExpandedTransaction expandTransaction(String transactionId, ExpandedTransaction.Relation... relations) throws IOException {
+    return await(this.expandTransactionAsync(transactionId, relations));
+  }
+
+  /**
+   * Asynchronously requests <code>GET /transactions/{transactionId}</code> and then the selected links of the
+   * transaction concurrently.
+   * @param transactionId Transaction to fetch
+   * @param relations links to expand
+   * @return future completed with {@link ExpandedTransaction}
+   */
+  public ListenableFuture<ExpandedTransaction> expandTransactionAsync(String transactionId, final ExpandedTransaction.Relation... relations) {
+    return Futures.transform(this.transactionAsync(transactionId), new AsyncFunction<TransactionResponse, ExpandedTransaction>() {
+      @Override
+      public ListenableFuture<ExpandedTransaction> apply(TransactionResponse transaction) {
+        return expand(transaction, relations);
+      }
+    });
+  }
+
+  /**
+   * Asynchronously requests the selected links of the transaction concurrently. Links the transaction doesn't
+   * have are skipped. Collections of operations and effects are requested page by page until they are
+   * complete.
+   * @param transaction transaction to expand
+   * @param relations links to expand
+   * @return future completed with {@link ExpandedTransaction} when all links are fetched, or failed with the
+   *     first failure. Cancelling the returned future cancels all HTTP calls.
+   */
+  public ListenableFuture<ExpandedTransaction> expand(final TransactionResponse transaction, ExpandedTransaction.Relation... relations) {
+    checkNotNull(transaction, "transaction cannot be null");
+    TransactionResponse.Links links = transaction.getLinks();
+    Map<ExpandedTransaction.Relation, ListenableFuture<?>> resources =
+            new EnumMap<ExpandedTransaction.Relation, ListenableFuture<?>>(ExpandedTransaction.Relation.class);
+    for (ExpandedTransaction.Relation relation : relations) {
+      ListenableFuture<?> resource = null;
+      if (links != null) {
+        switch (relation) {
+          case OPERATIONS:
+            resource = followCollection(links.getOperations(), new TypeToken<Page<OperationResponse>>() {}.getType());
+            break;
+          case EFFECTS:
+            resource = followCollection(links.getEffects(), new TypeToken<Page<EffectResponse>>() {}.getType());
+            break;
+          case LEDGER:
+            resource = followLink(links.getLedger(), LedgerResponse.class, false);
+            break;
+          case ACCOUNT:
+            resource = followLink(links.getAccount(), AccountResponse.class, false);
+            break;
+          case PRECEDES:
+            resource = followLink(links.getPrecedes(), new TypeToken<Page<TransactionResponse>>() {}.getType(), false);
+            break;
+          case SUCCEEDS:
+            resource = followLink(links.getSucceeds(), new TypeToken<Page<TransactionResponse>>() {}.getType(), false);
+            break;
+        }
+      }
+      if (resource != null) {
+        resources.put(relation, resource);
+      }
+    }
+    return Futures.transform(allOf(ExpandedTransaction.Relation.class, resources),
+            new Function<Map<ExpandedTransaction.Relation, Object>, ExpandedTransaction>() {
+              @Override
+              public ExpandedTransaction apply(Map<ExpandedTransaction.Relation, Object> expanded) {
+                return new ExpandedTransaction(transaction, expanded);
+              }
+            });
+  }
+
   /**
    * Builds request to <code>GET /accounts/{account}/transactions</code>
    * @see <a href="https://www.stellar.org/developers/horizon/reference/transactions-for-account.html">Transactions for Account</a>
@@ -69,25 +180,37 @@ public class TransactionsRequestBuilder extends RequestBuilder {
    * @see <a href="http://www.w3.org/TR/eventsource/" target="_blank">Server-Sent Events</a>
    * @see <a href="https://www.stellar.org/developers/horizon/learn/responses.html" target="_blank">Response Format documentation</a>
    * @param listener {@link EventListener} implementation with {@link TransactionResponse} type
-   * @return EventSource object, so you can <code>close()</code> connection when not needed anymore
+   * @return SSEStream object, so you can <code>close()</code> connection when not needed anymore
    */
-  /*
-  public EventSource stream(final EventListener<TransactionResponse> listener) {
-    Client client = ClientBuilder.newBuilder().register(SseFeature.class).build();
-    WebTarget target = client.target(this.buildUri());
-    EventSource eventSource = new EventSource(target) {
-      @Override
-      public void onEvent(InboundEvent inboundEvent) {
-        String data = inboundEvent.readData(String.class);
-        if (data.equals("\"hello\"")) {
-          return;
-        }
-        TransactionResponse transaction = GsonSingleton.getInstance().fromJson(data, TransactionResponse.class);
-        listener.onEvent(transaction);
-      }
-    };
-    return eventSource;
-  }*/
+  public SSEStream<TransactionResponse> stream(final EventListener<TransactionResponse> listener) {
+    return stream(listener, TransactionResponse.class);
+  }
+
+  @Override
+  public SSEStream<RawRecord> streamRaw(EventListener<RawRecord> listener) {
+    return super.streamRaw(listener);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream. Up to {@link StreamPublisher#DEFAULT_BUFFER_SIZE} events are buffered for a subscriber
+   * and reading from the connection is paused when the buffer is full.
+   * @return {@link StreamPublisher} of {@link TransactionResponse}
+   */
+  public StreamPublisher<TransactionResponse> publisher() {
+    return this.publisher(StreamPublisher.DEFAULT_BUFFER_SIZE, StreamPublisher.OverflowPolicy.BLOCK);
+  }
+
+  /**
+   * Returns {@link Publisher} of SSE events from horizon honoring the demand of its subscribers. Every subscriber
+   * opens its own stream.
+   * @param bufferSize maximum number of events buffered for a subscriber ahead of its demand
+   * @param overflowPolicy what to do with new events when the buffer is full
+   * @return {@link StreamPublisher} of {@link TransactionResponse}
+   */
+  public StreamPublisher<TransactionResponse> publisher(int bufferSize, StreamPublisher.OverflowPolicy overflowPolicy) {
+    return publisher(TransactionResponse.class, bufferSize, overflowPolicy);
+  }
 
   /**
    * Build and execute request.
@@ -111,6 +234,93 @@ public class TransactionsRequestBuilder extends RequestBuilder {
     return get(url, typeToken.getType());
   }
 
+  /**
+   * Build and execute request asynchronously.
+   * @return future completed with {@link Page} of {@link TransactionResponse}
+   */
+  public ListenableFuture<Page<TransactionResponse>> executeAsync() {
+    return this.executeAsync(this.buildUrl());
+  }
+
+  /**
+   * Asynchronously requests specific <code>uri</code> and returns a future completed with {@link Page} of {@link TransactionResponse}.
+   * Cancelling the returned future cancels the HTTP call.
+   */
+  public ListenableFuture<Page<TransactionResponse>> executeAsync(HttpUrl url) {
+    TypeToken typeToken = new TypeToken<Page<TransactionResponse>>() {};
+    return getAsync(url, typeToken.getType());
+  }
+
+  /**
+   * Compiles the query built so far into an immutable {@link QueryTemplate} returning {@link Page} of {@link TransactionResponse},
+   * which can be executed repeatedly from any thread. This builder shouldn't be used afterwards.
+   * @return {@link QueryTemplate} of the query
+   */
+  public QueryTemplate<Page<TransactionResponse>> template() {
+    TypeToken typeToken = new TypeToken<Page<TransactionResponse>>() {};
+    return template(typeToken.getType());
+  }
+
+  @Override
+  public TransactionsRequestBuilder priority(RequestPriority priority) {
+    super.priority(priority);
+    return this;
+  }
+
+  @Override
+  public TransactionsRequestBuilder cancellation(CancellationToken token) {
+    super.cancellation(token);
+    return this;
+  }
+
+  /**
+   * Iterates over all {@link TransactionResponse} records, following <code>next</code> links and fetching one page
+   * in the background ahead of the consumer. Page size is set using {@link #limit(int)}.
+   * @return {@link PagingIterable} of {@link TransactionResponse}
+   */
+  public PagingIterable<TransactionResponse> iterate() {
+    return this.iterate(1);
+  }
+
+  /**
+   * Iterates over all {@link TransactionResponse} records, following <code>next</code> links.
+   * Page size is set using {@link #limit(int)}.
+   * @param prefetchDepth number of pages fetched in the background ahead of the consumer
+   * @return {@link PagingIterable} of {@link TransactionResponse}
+   */
+  public PagingIterable<TransactionResponse> iterate(int prefetchDepth) {
+    TypeToken typeToken = new TypeToken<Page<TransactionResponse>>() {};
+    return iterate(typeToken.getType(), prefetchDepth);
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw() {
+    return super.iterateRaw();
+  }
+
+  @Override
+  public PagingIterable<RawRecord> iterateRaw(int prefetchDepth) {
+    return super.iterateRaw(prefetchDepth);
+  }
+
+  @Override
+  public TransactionsRequestBuilder checkpoint(CursorStore store, String key) {
+    super.checkpoint(store, key);
+    return this;
+  }
+
+  @Override
+  public TransactionsRequestBuilder adaptiveLimit(int minLimit, int maxLimit) {
+    super.adaptiveLimit(minLimit, maxLimit);
+    return this;
+  }
+
+  @Override
+  public TransactionsRequestBuilder fields(String... fields) {
+    super.fields(fields);
+    return this;
+  }
+
   @Override
   public TransactionsRequestBuilder cursor(String token) {
     super.cursor(token);
@@ -0,0 +1,198 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Connection pool, dispatcher, protocol and timeout settings of the HTTP client.
+ * <p>{@link Builder} starts with OkHttp's defaults. {@link #highThroughput()} suits applications sending many
+ * concurrent requests: it keeps more idle connections and allows more requests to a single Horizon server in
+ * flight, which are multiplexed over a few connections when the server supports HTTP/2.</p>
+ * @see org.stellar.sdk.Server.Builder#transportProfile(TransportProfile)
+ */
+public final class TransportProfile {
+  private final int maxIdleConnections;
+  private final long keepAliveMillis;
+  private final int maxRequests;
+  private final int maxRequestsPerHost;
+  private final boolean http2;
+  private final long connectTimeoutMillis;
+  private final long readTimeoutMillis;
+  private final long writeTimeoutMillis;
+
+  private TransportProfile(Builder builder) {
+    this.maxIdleConnections = builder.maxIdleConnections;
+    this.keepAliveMillis = builder.keepAliveMillis;
+    this.maxRequests = builder.maxRequests;
+    this.maxRequestsPerHost = builder.maxRequestsPerHost;
+    this.http2 = builder.http2;
+    this.connectTimeoutMillis = builder.connectTimeoutMillis;
+    this.readTimeoutMillis = builder.readTimeoutMillis;
+    this.writeTimeoutMillis = builder.writeTimeoutMillis;
+  }
+
+  /**
+   * Returns profile for many concurrent requests: 32 idle connections kept for 5 minutes, 256 requests in flight,
+   * 64 of them to a single host, HTTP/2, 5 seconds connect, 30 seconds read and 10 seconds write timeouts.
+   */
+  public static TransportProfile highThroughput() {
+    return new Builder()
+            .connectionPool(32, 5, TimeUnit.MINUTES)
+            .maxRequests(256)
+            .maxRequestsPerHost(64)
+            .http2(true)
+            .connectTimeout(5, TimeUnit.SECONDS)
+            .readTimeout(30, TimeUnit.SECONDS)
+            .writeTimeout(10, TimeUnit.SECONDS)
+            .build();
+  }
+
+  public int getMaxIdleConnections() {
+    return maxIdleConnections;
+  }
+
+  public long getKeepAliveMillis() {
+    return keepAliveMillis;
+  }
+
+  public int getMaxRequests() {
+    return maxRequests;
+  }
+
+  public int getMaxRequestsPerHost() {
+    return maxRequestsPerHost;
+  }
+
+  public boolean isHttp2() {
+    return http2;
+  }
+
+  public long getConnectTimeoutMillis() {
+    return connectTimeoutMillis;
+  }
+
+  public long getReadTimeoutMillis() {
+    return readTimeoutMillis;
+  }
+
+  public long getWriteTimeoutMillis() {
+    return writeTimeoutMillis;
+  }
+
+  /**
+   * Applies the profile to the HTTP client builder. New connection pool and dispatcher are set, so clients
+   * sharing them with the builder are not affected.
+   * @return the given builder so you can chain methods.
+   */
+  public OkHttpClient.Builder applyTo(OkHttpClient.Builder httpClientBuilder) {
+    checkNotNull(httpClientBuilder, "httpClientBuilder cannot be null");
+    Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(maxRequests);
+    dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+    return httpClientBuilder
+            .dispatcher(dispatcher)
+            .connectionPool(new ConnectionPool(maxIdleConnections, keepAliveMillis, TimeUnit.MILLISECONDS))
+            .protocols(http2 ? Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1) : Collections.singletonList(Protocol.HTTP_1_1))
+            .connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS)
+            .readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS)
+            .writeTimeout(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Builds a new {@link TransportProfile}.
+   */
+  public static class Builder {
+    private int maxIdleConnections = 5;
+    private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+    private int maxRequests = 64;
+    private int maxRequestsPerHost = 5;
+    private boolean http2 = true;
+    private long connectTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+    private long readTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+    private long writeTimeoutMillis = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Sets maximum number of idle connections and how long they are kept.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder connectionPool(int maxIdleConnections, long keepAlive, TimeUnit unit) {
+      checkArgument(maxIdleConnections >= 0, "maxIdleConnections cannot be negative");
+      checkArgument(keepAlive > 0, "keepAlive must be positive");
+      this.maxIdleConnections = maxIdleConnections;
+      this.keepAliveMillis = unit.toMillis(keepAlive);
+      return this;
+    }
+
+    /**
+     * Sets maximum number of asynchronous requests in flight.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder maxRequests(int maxRequests) {
+      checkArgument(maxRequests > 0, "maxRequests must be positive");
+      this.maxRequests = maxRequests;
+      return this;
+    }
+
+    /**
+     * Sets maximum number of asynchronous requests in flight to a single host.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+      checkArgument(maxRequestsPerHost > 0, "maxRequestsPerHost must be positive");
+      this.maxRequestsPerHost = maxRequestsPerHost;
+      return this;
+    }
+
+    /**
+     * Sets whether HTTP/2 is used with servers supporting it.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder http2(boolean http2) {
+      this.http2 = http2;
+      return this;
+    }
+
+    /**
+     * Sets connect timeout, <code>0</code> means no timeout.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder connectTimeout(long timeout, TimeUnit unit) {
+      checkArgument(timeout >= 0, "timeout cannot be negative");
+      this.connectTimeoutMillis = unit.toMillis(timeout);
+      return this;
+    }
+
+    /**
+     * Sets read timeout, <code>0</code> means no timeout. Streams are never timed out.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder readTimeout(long timeout, TimeUnit unit) {
+      checkArgument(timeout >= 0, "timeout cannot be negative");
+      this.readTimeoutMillis = unit.toMillis(timeout);
+      return this;
+    }
+
+    /**
+     * Sets write timeout, <code>0</code> means no timeout.
+     * @return Builder object so you can chain methods.
+     */
+    public Builder writeTimeout(long timeout, TimeUnit unit) {
+      checkArgument(timeout >= 0, "timeout cannot be negative");
+      this.writeTimeoutMillis = unit.toMillis(timeout);
+      return this;
+    }
+
+    public TransportProfile build() {
+      return new TransportProfile(this);
+    }
+  }
+}
@@ -2,6 +2,7 @@ package org.stellar.sdk.responses;
 
 import com.google.gson.annotations.SerializedName;
 
+import org.stellar.sdk.Amount;
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
 import org.stellar.sdk.KeyPair;
@@ -202,6 +203,20 @@ public class AccountResponse extends Response implements org.stellar.sdk.Transac
     public String getLimit() {
       return limit;
     }
+
+    /**
+     * Returns the balance as {@link Amount}.
+     */
+    public Amount getBalanceValue() {
+      return balance != null ? Amount.parse(balance) : null;
+    }
+
+    /**
+     * Returns the limit of the trustline as {@link Amount}, or <code>null</code> for native balance.
+     */
+    public Amount getLimitValue() {
+      return limit != null ? Amount.parse(limit) : null;
+    }
   }
 
   /**
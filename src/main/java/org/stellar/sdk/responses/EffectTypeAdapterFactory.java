@@ -0,0 +1,62 @@
+package org.stellar.sdk.responses;
+
+import org.stellar.sdk.responses.effects.*;
+
+/**
+ * Decodes {@link EffectResponse} subclasses by <code>type_i</code>.
+ */
+class EffectTypeAdapterFactory extends TypeDispatchingAdapterFactory<EffectResponse> {
+  EffectTypeAdapterFactory() {
+    super(EffectResponse.class);
+  }
+
+  @Override
+  Class<? extends EffectResponse> subtype(int type) {
+    switch (type) {
+      // Account effects
+      case 0:
+        return AccountCreatedEffectResponse.class;
+      case 1:
+        return AccountRemovedEffectResponse.class;
+      case 2:
+        return AccountCreditedEffectResponse.class;
+      case 3:
+        return AccountDebitedEffectResponse.class;
+      case 4:
+        return AccountThresholdsUpdatedEffectResponse.class;
+      case 5:
+        return AccountHomeDomainUpdatedEffectResponse.class;
+      case 6:
+        return AccountFlagsUpdatedEffectResponse.class;
+      // Signer effects
+      case 10:
+        return SignerCreatedEffectResponse.class;
+      case 11:
+        return SignerRemovedEffectResponse.class;
+      case 12:
+        return SignerUpdatedEffectResponse.class;
+      // Trustline effects
+      case 20:
+        return TrustlineCreatedEffectResponse.class;
+      case 21:
+        return TrustlineRemovedEffectResponse.class;
+      case 22:
+        return TrustlineUpdatedEffectResponse.class;
+      case 23:
+        return TrustlineAuthorizedEffectResponse.class;
+      case 24:
+        return TrustlineDeauthorizedEffectResponse.class;
+      // Trading effects
+      case 30:
+        return OfferCreatedEffectResponse.class;
+      case 31:
+        return OfferRemovedEffectResponse.class;
+      case 32:
+        return OfferUpdatedEffectResponse.class;
+      case 33:
+        return TradeEffectResponse.class;
+      default:
+        return null;
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package org.stellar.sdk.responses;
+
+import com.google.common.base.Joiner;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Decodes only the named top level fields of records, Ex. <code>id</code>, <code>paging_token</code>,
+ * <code>type</code> and <code>amount</code> of operations. Other fields of a record are skipped token by token
+ * without being decoded or allocated, and the corresponding getters of the decoded responses return
+ * <code>null</code>. Fields needed to choose the class of a record, <code>type_i</code>, <code>memo_type</code>
+ * and <code>memo</code>, are always kept.
+ * <p>Records are the objects in <code>_embedded.records</code> of a {@link Page}, or the decoded object itself
+ * for other types.</p>
+ * @see org.stellar.sdk.requests.RequestBuilder#fields(String...)
+ */
+public final class FieldProjection {
+  private static final Set<String> REQUIRED_FIELDS = new HashSet<String>(Arrays.asList("type_i", "memo_type", "memo"));
+  // Depth of members of records in a page: the page, _embedded, records and the record.
+  private static final int PAGE_RECORD_DEPTH = 4;
+
+  private final Set<String> fields;
+
+  private FieldProjection(Set<String> fields) {
+    this.fields = fields;
+  }
+
+  /**
+   * Returns a projection keeping the given fields of records.
+   * @param fields JSON names of the fields, Ex. <code>paging_token</code>
+   */
+  public static FieldProjection of(String... fields) {
+    checkNotNull(fields, "fields cannot be null");
+    checkArgument(fields.length > 0, "fields cannot be empty");
+    Set<String> projected = new TreeSet<String>();
+    for (String field : fields) {
+      projected.add(checkNotNull(field, "field cannot be null"));
+    }
+    return new FieldProjection(Collections.unmodifiableSet(projected));
+  }
+
+  /**
+   * Returns the kept fields, without the always kept ones.
+   */
+  public Set<String> getFields() {
+    return fields;
+  }
+
+  /**
+   * Decodes JSON to the given type using {@link GsonSingleton}, keeping only the projected fields of records.
+   * @param json JSON to decode
+   * @param type type of the result, Ex. {@link Page} of operations
+   * @throws JsonSyntaxException when the JSON is malformed
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T fromJson(Reader json, Type type) {
+    TypeToken<T> typeToken = (TypeToken<T>) TypeToken.get(type);
+    TypeAdapter<T> adapter = GsonSingleton.getInstance().getAdapter(typeToken);
+    JsonReader reader = new JsonReader(json);
+    reader.setLenient(true);
+    int recordDepth = typeToken.getRawType() == Page.class ? PAGE_RECORD_DEPTH : 1;
+    try {
+      return adapter.read(new ProjectingJsonReader(reader, recordDepth));
+    } catch (IOException e) {
+      throw new JsonSyntaxException(e);
+    } catch (IllegalStateException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  private boolean keeps(String field) {
+    return fields.contains(field) || REQUIRED_FIELDS.contains(field);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    return object instanceof FieldProjection && fields.equals(((FieldProjection) object).fields);
+  }
+
+  @Override
+  public int hashCode() {
+    return fields.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "fields=" + Joiner.on(',').join(fields);
+  }
+
+  /**
+   * Hides members of records which are not projected from the type adapters, skipping their values.
+   */
+  private class ProjectingJsonReader extends ForwardingJsonReader {
+    private final JsonReader in;
+    private final int recordDepth;
+    private int depth;
+    private String pendingName;
+
+    ProjectingJsonReader(JsonReader in, int recordDepth) {
+      this.in = in;
+      this.recordDepth = recordDepth;
+    }
+
+    @Override
+    protected JsonReader delegate() {
+      return in;
+    }
+
+    /**
+     * Skips members of the current record up to the next projected one.
+     */
+    private void skipMembers() throws IOException {
+      if (depth != recordDepth || pendingName != null) {
+        return;
+      }
+      while (in.peek() == JsonToken.NAME) {
+        String name = in.nextName();
+        if (keeps(name)) {
+          pendingName = name;
+          return;
+        }
+        in.skipValue();
+      }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      skipMembers();
+      return pendingName != null || in.hasNext();
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+      skipMembers();
+      return pendingName != null ? JsonToken.NAME : in.peek();
+    }
+
+    @Override
+    public String nextName() throws IOException {
+      skipMembers();
+      if (pendingName != null) {
+        String name = pendingName;
+        pendingName = null;
+        return name;
+      }
+      return in.nextName();
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+      if (pendingName != null) {
+        // The name was already read from the stream.
+        pendingName = null;
+        return;
+      }
+      in.skipValue();
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+      in.beginArray();
+      depth++;
+    }
+
+    @Override
+    public void endArray() throws IOException {
+      in.endArray();
+      depth--;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+      in.beginObject();
+      depth++;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+      skipMembers();
+      in.endObject();
+      depth--;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * {@link JsonReader} forwarding all calls to another reader, so subclasses can change what a type adapter reads
+ * without copying the JSON.
+ */
+abstract class ForwardingJsonReader extends JsonReader {
+  private static final Reader UNREADABLE_READER = new Reader() {
+    @Override
+    public int read(char[] buffer, int offset, int count) throws IOException {
+      throw new AssertionError();
+    }
+
+    @Override
+    public void close() throws IOException {
+      throw new AssertionError();
+    }
+  };
+
+  ForwardingJsonReader() {
+    super(UNREADABLE_READER);
+  }
+
+  /**
+   * Returns the reader the next call is forwarded to.
+   */
+  protected abstract JsonReader delegate() throws IOException;
+
+  @Override
+  public void beginArray() throws IOException {
+    delegate().beginArray();
+  }
+
+  @Override
+  public void endArray() throws IOException {
+    delegate().endArray();
+  }
+
+  @Override
+  public void beginObject() throws IOException {
+    delegate().beginObject();
+  }
+
+  @Override
+  public void endObject() throws IOException {
+    delegate().endObject();
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    return delegate().hasNext();
+  }
+
+  @Override
+  public JsonToken peek() throws IOException {
+    return delegate().peek();
+  }
+
+  @Override
+  public String nextName() throws IOException {
+    return delegate().nextName();
+  }
+
+  @Override
+  public String nextString() throws IOException {
+    return delegate().nextString();
+  }
+
+  @Override
+  public boolean nextBoolean() throws IOException {
+    return delegate().nextBoolean();
+  }
+
+  @Override
+  public void nextNull() throws IOException {
+    delegate().nextNull();
+  }
+
+  @Override
+  public double nextDouble() throws IOException {
+    return delegate().nextDouble();
+  }
+
+  @Override
+  public long nextLong() throws IOException {
+    return delegate().nextLong();
+  }
+
+  @Override
+  public int nextInt() throws IOException {
+    return delegate().nextInt();
+  }
+
+  @Override
+  public void skipValue() throws IOException {
+    delegate().skipValue();
+  }
+
+  @Override
+  public void close() throws IOException {
+    delegate().close();
+  }
+
+  @Override
+  public String getPath() {
+    try {
+      return delegate().getPath();
+    } catch (IOException e) {
+      return "$";
+    }
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + " at path " + getPath();
+  }
+}
@@ -1,5 +1,7 @@
 package org.stellar.sdk.responses;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
@@ -8,7 +10,18 @@ import org.stellar.sdk.KeyPair;
 
 import java.io.IOException;
 
+/**
+ * Decodes account IDs to {@link KeyPair}s without private keys.
+ * <p>Responses repeat the same accounts, e.g. the source account of every operation of a transaction or the
+ * accounts of a market, so decoded keys are interned in a cache of the {@link #CACHE_SIZE} most recently used
+ * account IDs, which skips decoding and checksum verification of hot accounts. Such key pairs are immutable, so
+ * responses can share them.</p>
+ */
 class KeyPairTypeAdapter extends TypeAdapter<KeyPair> {
+  static final int CACHE_SIZE = 4096;
+
+  private final Cache<String, KeyPair> cache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
   @Override
   public void write(JsonWriter out, KeyPair value) throws IOException {
     // Don't need this.
@@ -16,6 +29,12 @@ class KeyPairTypeAdapter extends TypeAdapter<KeyPair> {
 
   @Override
   public KeyPair read(JsonReader in) throws IOException {
-    return KeyPair.fromAccountId(in.nextString());
+    String accountId = in.nextString();
+    KeyPair keyPair = cache.getIfPresent(accountId);
+    if (keyPair == null) {
+      keyPair = KeyPair.fromAccountId(accountId);
+      cache.put(accountId, keyPair);
+    }
+    return keyPair;
   }
 }
@@ -1,6 +1,7 @@
 package org.stellar.sdk.responses;
 
 import com.google.gson.annotations.SerializedName;
+import org.stellar.sdk.Amount;
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.Price;
 
@@ -66,6 +67,13 @@ public class OrderBookResponse extends Response {
             return amount;
         }
 
+        /**
+         * Returns the amount as {@link Amount}.
+         */
+        public Amount getAmountValue() {
+            return Amount.parse(amount);
+        }
+
         public String getPrice() {
             return price;
         }
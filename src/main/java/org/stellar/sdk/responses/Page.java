@@ -2,6 +2,7 @@ package org.stellar.sdk.responses;
 
 import com.google.gson.annotations.SerializedName;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents page of objects.
@@ -15,6 +16,11 @@ public class Page<T> extends Response {
 
   Page() {}
 
+  Page(ArrayList<T> records, Links links) {
+    this.records = records;
+    this.links = links;
+  }
+
   public ArrayList<T> getRecords() {
     return records;
   }
@@ -23,6 +29,20 @@ public class Page<T> extends Response {
     return links;
   }
 
+  /**
+   * Returns a new page with the given records followed by the records of this page, and the links of this page.
+   * This page is not changed, so it can be shared with caches and other callers.
+   * @param previous records of the preceding pages
+   */
+  public Page<T> withPreviousRecords(List<T> previous) {
+    ArrayList<T> all = new ArrayList<T>(previous.size() + (records != null ? records.size() : 0));
+    all.addAll(previous);
+    if (records != null) {
+      all.addAll(records);
+    }
+    return new Page<T>(all, links);
+  }
+
   /**
    * Links connected to page response.
    */
@@ -0,0 +1,83 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+
+/**
+ * Decodes {@link Page} of any record type straight from <code>_embedded.records</code> and <code>_links</code>,
+ * using the adapter of the records created once per {@link Gson} instance.
+ */
+class PageTypeAdapterFactory implements TypeAdapterFactory {
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (type.getRawType() != Page.class || !(type.getType() instanceof ParameterizedType)) {
+      return null;
+    }
+    Type recordType = ((ParameterizedType) type.getType()).getActualTypeArguments()[0];
+    return (TypeAdapter<T>) new Adapter<Object>((TypeAdapter<Object>) gson.getAdapter(TypeToken.get(recordType)),
+            gson.getAdapter(Page.Links.class)).nullSafe();
+  }
+
+  private static class Adapter<E> extends TypeAdapter<Page<E>> {
+    private final TypeAdapter<E> recordAdapter;
+    private final TypeAdapter<Page.Links> linksAdapter;
+
+    Adapter(TypeAdapter<E> recordAdapter, TypeAdapter<Page.Links> linksAdapter) {
+      this.recordAdapter = recordAdapter;
+      this.linksAdapter = linksAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, Page<E> value) throws IOException {
+      // Don't need this.
+    }
+
+    @Override
+    public Page<E> read(JsonReader in) throws IOException {
+      ArrayList<E> records = null;
+      Page.Links links = null;
+      in.beginObject();
+      while (in.hasNext()) {
+        String name = in.nextName();
+        if (name.equals("_embedded") && in.peek() == JsonToken.BEGIN_OBJECT) {
+          in.beginObject();
+          while (in.hasNext()) {
+            if (in.nextName().equals("records") && in.peek() == JsonToken.BEGIN_ARRAY) {
+              records = readRecords(in);
+            } else {
+              in.skipValue();
+            }
+          }
+          in.endObject();
+        } else if (name.equals("_links")) {
+          links = linksAdapter.read(in);
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+      return new Page<E>(records, links);
+    }
+
+    private ArrayList<E> readRecords(JsonReader in) throws IOException {
+      ArrayList<E> records = new ArrayList<E>();
+      in.beginArray();
+      while (in.hasNext()) {
+        records.add(recordAdapter.read(in));
+      }
+      in.endArray();
+      return records;
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package org.stellar.sdk.responses;
+
+import com.google.common.base.Charsets;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Finds values in UTF-8 encoded JSON without decoding it, so values can be sliced from the buffer as they are.
+ * Only strings that are asked for are decoded.
+ */
+class RawJsonScanner {
+  private final byte[] json;
+  private int position;
+
+  RawJsonScanner(byte[] json) {
+    this.json = json;
+  }
+
+  /**
+   * Returns the offset following the last consumed token.
+   */
+  int position() {
+    return position;
+  }
+
+  /**
+   * Returns the first character of the next value.
+   */
+  char peek() {
+    skipWhitespace();
+    if (position >= json.length) {
+      throw syntaxError("Unexpected end of JSON");
+    }
+    return (char) json[position];
+  }
+
+  void beginObject() {
+    expect('{');
+  }
+
+  void beginArray() {
+    expect('[');
+  }
+
+  /**
+   * Returns <code>true</code> when the current object or array has another member or element, or consumes its
+   * end otherwise.
+   */
+  boolean hasNext() {
+    char c = peek();
+    if (c == ',') {
+      position++;
+      return true;
+    }
+    if (c == '}' || c == ']') {
+      position++;
+      return false;
+    }
+    return true;
+  }
+
+  String nextName() {
+    String name = nextString();
+    expect(':');
+    return name;
+  }
+
+  String nextString() {
+    expect('"');
+    int start = position;
+    StringBuilder unescaped = null;
+    while (position < json.length) {
+      byte b = json[position];
+      if (b == '"') {
+        String value;
+        if (unescaped == null) {
+          value = new String(json, start, position - start, Charsets.UTF_8);
+        } else {
+          value = unescaped.append(new String(json, start, position - start, Charsets.UTF_8)).toString();
+        }
+        position++;
+        return value;
+      }
+      if (b == '\\') {
+        if (unescaped == null) {
+          unescaped = new StringBuilder();
+        }
+        unescaped.append(new String(json, start, position - start, Charsets.UTF_8));
+        unescaped.append(unescape());
+        start = position;
+        continue;
+      }
+      position++;
+    }
+    throw syntaxError("Unterminated string");
+  }
+
+  /**
+   * Skips the next value, including nested objects and arrays.
+   */
+  void skipValue() {
+    char c = peek();
+    if (c == '"') {
+      skipString();
+      return;
+    }
+    if (c != '{' && c != '[') {
+      while (position < json.length && !isDelimiter(json[position])) {
+        position++;
+      }
+      return;
+    }
+    int depth = 0;
+    while (position < json.length) {
+      byte b = json[position];
+      if (b == '"') {
+        skipString();
+        continue;
+      }
+      position++;
+      if (b == '{' || b == '[') {
+        depth++;
+      } else if ((b == '}' || b == ']') && --depth == 0) {
+        return;
+      }
+    }
+    throw syntaxError("Unexpected end of JSON");
+  }
+
+  JsonSyntaxException syntaxError(String message) {
+    return new JsonSyntaxException(message + " at offset " + position);
+  }
+
+  private void skipString() {
+    position++;
+    while (position < json.length) {
+      byte b = json[position++];
+      if (b == '\\') {
+        position++;
+      } else if (b == '"') {
+        return;
+      }
+    }
+    throw syntaxError("Unterminated string");
+  }
+
+  private char unescape() {
+    position++;
+    if (position >= json.length) {
+      throw syntaxError("Unterminated escape sequence");
+    }
+    byte b = json[position++];
+    switch (b) {
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'u':
+        if (position + 4 > json.length) {
+          throw syntaxError("Unterminated escape sequence");
+        }
+        try {
+          char c = (char) Integer.parseInt(new String(json, position, 4, Charsets.US_ASCII), 16);
+          position += 4;
+          return c;
+        } catch (NumberFormatException e) {
+          throw syntaxError("Invalid escape sequence");
+        }
+      default:
+        return (char) b;
+    }
+  }
+
+  private void expect(char c) {
+    if (peek() != c) {
+      throw syntaxError("Expected '" + c + "'");
+    }
+    position++;
+  }
+
+  private void skipWhitespace() {
+    while (position < json.length) {
+      byte b = json[position];
+      if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+        return;
+      }
+      position++;
+    }
+  }
+
+  private static boolean isDelimiter(byte b) {
+    return b == ',' || b == '}' || b == ']' || b == ' ' || b == '\t' || b == '\n' || b == '\r';
+  }
+}
@@ -0,0 +1,179 @@
+package org.stellar.sdk.responses;
+
+import com.google.common.base.Charsets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Undecoded JSON of a record, as sent by Horizon, with its <code>paging_token</code>.
+ * <p>Records of a page are slices of the buffer holding the whole response, so forwarding them doesn't copy
+ * or decode anything. {@link #asByteBuffer()} and {@link #writeTo(OutputStream)} expose the slice without
+ * copying it.</p>
+ * @see org.stellar.sdk.requests.OperationsRequestBuilder#iterateRaw()
+ * @see org.stellar.sdk.requests.OperationsRequestBuilder#streamRaw(org.stellar.sdk.requests.EventListener)
+ */
+public final class RawRecord {
+  private final byte[] buffer;
+  private final int offset;
+  private final int length;
+  private final String pagingToken;
+
+  private RawRecord(byte[] buffer, int offset, int length, String pagingToken) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+    this.pagingToken = pagingToken;
+  }
+
+  /**
+   * Wraps UTF-8 encoded JSON of a single record, reading its <code>paging_token</code>.
+   * @param json JSON of the record, which must not be modified afterwards
+   */
+  public static RawRecord of(byte[] json) {
+    checkNotNull(json, "json cannot be null");
+    return slice(new RawJsonScanner(json), json);
+  }
+
+  /**
+   * Slices records of a UTF-8 encoded page from <code>_embedded.records</code>. Page links are decoded.
+   * @param json JSON of the page, which must not be modified afterwards
+   */
+  public static Page<RawRecord> pageOf(byte[] json) {
+    checkNotNull(json, "json cannot be null");
+    RawJsonScanner scanner = new RawJsonScanner(json);
+    ArrayList<RawRecord> records = null;
+    Page.Links links = null;
+    scanner.beginObject();
+    while (scanner.hasNext()) {
+      String name = scanner.nextName();
+      if (name.equals("_embedded") && scanner.peek() == '{') {
+        scanner.beginObject();
+        while (scanner.hasNext()) {
+          if (scanner.nextName().equals("records") && scanner.peek() == '[') {
+            records = new ArrayList<RawRecord>();
+            scanner.beginArray();
+            while (scanner.hasNext()) {
+              records.add(slice(scanner, json));
+            }
+          } else {
+            scanner.skipValue();
+          }
+        }
+      } else if (name.equals("_links") && scanner.peek() == '{') {
+        links = links(scanner);
+      } else {
+        scanner.skipValue();
+      }
+    }
+    return new Page<RawRecord>(records, links);
+  }
+
+  /**
+   * Returns <code>paging_token</code> of the record or <code>null</code> if it has none.
+   */
+  public String getPagingToken() {
+    return pagingToken;
+  }
+
+  /**
+   * Returns the number of bytes of the record.
+   */
+  public int getLength() {
+    return length;
+  }
+
+  /**
+   * Returns a read-only buffer of the record sharing the response buffer.
+   */
+  public ByteBuffer asByteBuffer() {
+    return ByteBuffer.wrap(buffer, offset, length).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Writes the record to <code>out</code>.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(buffer, offset, length);
+  }
+
+  /**
+   * Returns a copy of the record.
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOfRange(buffer, offset, offset + length);
+  }
+
+  /**
+   * Returns the JSON of the record.
+   */
+  @Override
+  public String toString() {
+    return new String(buffer, offset, length, Charsets.UTF_8);
+  }
+
+  private static RawRecord slice(RawJsonScanner scanner, byte[] json) {
+    boolean object = scanner.peek() == '{';
+    int start = scanner.position();
+    String pagingToken = null;
+    if (object) {
+      scanner.beginObject();
+      while (scanner.hasNext()) {
+        if (scanner.nextName().equals("paging_token") && scanner.peek() == '"') {
+          pagingToken = scanner.nextString();
+        } else {
+          scanner.skipValue();
+        }
+      }
+    } else {
+      scanner.skipValue();
+    }
+    return new RawRecord(json, start, scanner.position() - start, pagingToken);
+  }
+
+  private static Page.Links links(RawJsonScanner scanner) {
+    Link next = null;
+    Link prev = null;
+    Link self = null;
+    scanner.beginObject();
+    while (scanner.hasNext()) {
+      String name = scanner.nextName();
+      if (scanner.peek() != '{') {
+        scanner.skipValue();
+        continue;
+      }
+      Link link = link(scanner);
+      if (name.equals("next")) {
+        next = link;
+      } else if (name.equals("prev")) {
+        prev = link;
+      } else if (name.equals("self")) {
+        self = link;
+      }
+    }
+    return new Page.Links(next, prev, self);
+  }
+
+  private static Link link(RawJsonScanner scanner) {
+    String href = null;
+    boolean templated = false;
+    scanner.beginObject();
+    while (scanner.hasNext()) {
+      String name = scanner.nextName();
+      if (name.equals("href") && scanner.peek() == '"') {
+        href = scanner.nextString();
+      } else if (name.equals("templated") && scanner.peek() == 't') {
+        templated = true;
+        scanner.skipValue();
+      } else {
+        scanner.skipValue();
+      }
+    }
+    return new Link(href, templated);
+  }
+}
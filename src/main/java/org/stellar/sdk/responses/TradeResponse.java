@@ -1,6 +1,7 @@
 package org.stellar.sdk.responses;
 
 import com.google.gson.annotations.SerializedName;
+import org.stellar.sdk.Amount;
 import org.stellar.sdk.KeyPair;
 
 /**
@@ -78,6 +79,13 @@ public class TradeResponse extends Response {
         return soldAmount;
     }
 
+    /**
+     * Returns the sold amount as {@link Amount}.
+     */
+    public Amount getSoldAmountValue() {
+        return soldAmount != null ? Amount.parse(soldAmount) : null;
+    }
+
     public String getSoldAssetType() {
         return soldAssetType;
     }
@@ -98,6 +106,13 @@ public class TradeResponse extends Response {
         return boughtAmount;
     }
 
+    /**
+     * Returns the bought amount as {@link Amount}.
+     */
+    public Amount getBoughtAmountValue() {
+        return boughtAmount != null ? Amount.parse(boughtAmount) : null;
+    }
+
     public String getBoughtAssetType() {
         return boughtAssetType;
     }
@@ -0,0 +1,147 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import org.apache.commons.codec.binary.Base64;
+import org.stellar.sdk.Memo;
+
+import java.io.IOException;
+
+/**
+ * Decodes {@link TransactionResponse} including its {@link Memo} in one pass over the {@link JsonReader}.
+ * <code>memo_type</code> and <code>memo</code> members are captured while the reflective adapter of
+ * {@link TransactionResponse} reads the object.
+ */
+class TransactionTypeAdapterFactory implements TypeAdapterFactory {
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    if (type.getRawType() != TransactionResponse.class) {
+      return null;
+    }
+    final TypeAdapter<TransactionResponse> delegate = gson.getDelegateAdapter(this, TypeToken.get(TransactionResponse.class));
+    return (TypeAdapter<T>) new TypeAdapter<TransactionResponse>() {
+      @Override
+      public void write(JsonWriter out, TransactionResponse value) throws IOException {
+        // Don't need this.
+      }
+
+      @Override
+      public TransactionResponse read(JsonReader in) throws IOException {
+        MemoCapturingReader reader = new MemoCapturingReader(in);
+        TransactionResponse transaction = delegate.read(reader);
+        if (transaction != null) {
+          transaction.setMemo(memo(reader.memoType, reader.memo));
+        }
+        return transaction;
+      }
+    };
+  }
+
+  private static Memo memo(String memoType, String memoValue) {
+    if (memoType == null) {
+      throw new JsonParseException("Missing memo_type.");
+    }
+    if (memoType.equals("none")) {
+      return Memo.none();
+    }
+    // Because of the way "encoding/json" works on structs in Go, if transaction
+    // has an empty `memo_text` value, the `memo` field won't be present in a JSON
+    // representation of a transaction. That's why we need to handle a special case
+    // here.
+    if (memoType.equals("text")) {
+      return Memo.text(memoValue != null ? memoValue : "");
+    }
+    if (memoValue == null) {
+      throw new JsonParseException("Missing memo.");
+    }
+    if (memoType.equals("id")) {
+      return Memo.id(Long.parseLong(memoValue));
+    } else if (memoType.equals("hash")) {
+      return Memo.hash(Base64.decodeBase64(memoValue));
+    } else if (memoType.equals("return")) {
+      return Memo.returnHash(Base64.decodeBase64(memoValue));
+    } else {
+      throw new JsonParseException("Unknown memo type.");
+    }
+  }
+
+  /**
+   * Captures the values of top level <code>memo_type</code> and <code>memo</code> members, which the reflective
+   * adapter skips.
+   */
+  private static class MemoCapturingReader extends ForwardingJsonReader {
+    private final JsonReader in;
+    private int depth;
+    private String member;
+    String memoType;
+    String memo;
+
+    MemoCapturingReader(JsonReader in) {
+      this.in = in;
+    }
+
+    @Override
+    protected JsonReader delegate() {
+      return in;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+      in.beginArray();
+      depth++;
+    }
+
+    @Override
+    public void endArray() throws IOException {
+      in.endArray();
+      depth--;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+      in.beginObject();
+      depth++;
+    }
+
+    @Override
+    public void endObject() throws IOException {
+      in.endObject();
+      depth--;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+      String name = in.nextName();
+      member = depth == 1 && (name.equals("memo_type") || name.equals("memo")) ? name : null;
+      return name;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+      if (member == null) {
+        in.skipValue();
+        return;
+      }
+      String value = null;
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+      } else {
+        value = in.nextString();
+      }
+      if (member.equals("memo_type")) {
+        memoType = value;
+      } else {
+        memo = value;
+      }
+      member = null;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.internal.bind.JsonTreeReader;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes subclasses of <code>baseType</code> chosen by the integer <code>type_i</code> member of the JSON object.
+ * <p>The object is decoded in one pass over the {@link JsonReader}. Members preceding <code>type_i</code>,
+ * usually <code>_links</code> and a few ids, are buffered. The adapter of the subclass then reads them from the
+ * buffer followed by the remaining members straight from the stream. Adapters of the subclasses are created
+ * once per {@link Gson} instance.</p>
+ */
+abstract class TypeDispatchingAdapterFactory<T> implements TypeAdapterFactory {
+  private static final String TYPE_MEMBER = "type_i";
+
+  private final Class<T> baseType;
+
+  TypeDispatchingAdapterFactory(Class<T> baseType) {
+    this.baseType = baseType;
+  }
+
+  /**
+   * Returns the subclass of the given <code>type_i</code> or <code>null</code> if the type is unknown.
+   */
+  abstract Class<? extends T> subtype(int type);
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <R> TypeAdapter<R> create(Gson gson, TypeToken<R> type) {
+    if (type.getRawType() != baseType) {
+      return null;
+    }
+    return (TypeAdapter<R>) new Adapter(gson).nullSafe();
+  }
+
+  private class Adapter extends TypeAdapter<T> {
+    private final Gson gson;
+    private final TypeAdapter<JsonElement> elementAdapter;
+    private final Map<Integer, TypeAdapter<? extends T>> adapters = new HashMap<Integer, TypeAdapter<? extends T>>();
+
+    Adapter(Gson gson) {
+      this.gson = gson;
+      this.elementAdapter = gson.getAdapter(JsonElement.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+      // Don't need this.
+    }
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+      JsonObject head = new JsonObject();
+      in.beginObject();
+      while (in.hasNext()) {
+        String name = in.nextName();
+        if (!name.equals(TYPE_MEMBER)) {
+          head.add(name, elementAdapter.read(in));
+          continue;
+        }
+        int type = in.nextInt();
+        head.addProperty(name, type);
+        return adapter(type).read(new SplicedJsonReader(head, in));
+      }
+      throw new JsonParseException("Missing " + TYPE_MEMBER + " at " + in.getPath());
+    }
+
+    private synchronized TypeAdapter<? extends T> adapter(int type) {
+      TypeAdapter<? extends T> adapter = adapters.get(type);
+      if (adapter == null) {
+        Class<? extends T> subtype = subtype(type);
+        if (subtype == null) {
+          throw new JsonParseException("Invalid " + baseType.getSimpleName() + " type " + type);
+        }
+        adapter = gson.getAdapter(subtype);
+        adapters.put(type, adapter);
+      }
+      return adapter;
+    }
+  }
+
+  /**
+   * Reads an object whose first members are buffered in <code>head</code> and whose remaining members follow in
+   * <code>tail</code>, which is positioned inside the object.
+   */
+  private static class SplicedJsonReader extends ForwardingJsonReader {
+    private final JsonReader head;
+    private final JsonReader tail;
+    private int headDepth;
+    private boolean inTail;
+
+    SplicedJsonReader(JsonObject head, JsonReader tail) {
+      this.head = new JsonTreeReader(head);
+      this.tail = tail;
+    }
+
+    @Override
+    protected JsonReader delegate() throws IOException {
+      if (!inTail && headDepth == 1 && head.peek() == JsonToken.END_OBJECT) {
+        // The buffered members are read, continue in the stream.
+        inTail = true;
+      }
+      return inTail ? tail : head;
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+      delegate().beginArray();
+      if (!inTail) {
+        headDepth++;
+      }
+    }
+
+    @Override
+    public void endArray() throws IOException {
+      delegate().endArray();
+      if (!inTail) {
+        headDepth--;
+      }
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+      delegate().beginObject();
+      if (!inTail) {
+        headDepth++;
+      }
+    }
+
+    @Override
+    public void endObject() throws IOException {
+      delegate().endObject();
+      if (!inTail) {
+        headDepth--;
+      }
+    }
+  }
+}
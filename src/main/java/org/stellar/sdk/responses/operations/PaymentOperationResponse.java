@@ -2,6 +2,7 @@ package org.stellar.sdk.responses.operations;
 
 import com.google.gson.annotations.SerializedName;
 
+import org.stellar.sdk.Amount;
 import org.stellar.sdk.Asset;
 import org.stellar.sdk.AssetTypeNative;
 import org.stellar.sdk.KeyPair;
@@ -39,6 +40,13 @@ public class PaymentOperationResponse extends OperationResponse {
     return amount;
   }
 
+  /**
+   * Returns the amount as {@link Amount}.
+   */
+  public Amount getAmountValue() {
+    return amount != null ? Amount.parse(amount) : null;
+  }
+
   public Asset getAsset() {
     if (assetType.equals("native")) {
       return new AssetTypeNative();
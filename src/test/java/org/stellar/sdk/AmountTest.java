@@ -0,0 +1,103 @@
+package org.stellar.sdk;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AmountTest {
+  @Test
+  public void testParse() {
+    assertEquals(12500000L, Amount.parseStroops("1.25"));
+    assertEquals(12500000L, Amount.parseStroops("1.2500000"));
+    assertEquals(12500000L, Amount.parseStroops("+1.250000000"));
+    assertEquals(-1L, Amount.parseStroops("-0.0000001"));
+    assertEquals(5000000L, Amount.parseStroops(".5"));
+    assertEquals(50000000L, Amount.parseStroops("5."));
+    assertEquals(0L, Amount.parseStroops("0"));
+    assertEquals(Long.MAX_VALUE, Amount.parseStroops("922337203685.4775807"));
+    assertEquals(Long.MIN_VALUE, Amount.parseStroops("-922337203685.4775808"));
+    assertEquals(1000000000L, Amount.parseStroops("1E+2"));
+    assertEquals(Amount.ofStroops(12500000L), Amount.parse("1.25"));
+  }
+
+  @Test
+  public void testParseInvalid() {
+    for (String amount : new String[] {"", "-", ".", "1.2.3", "1,5", "abc", " 1"}) {
+      try {
+        Amount.parseStroops(amount);
+        fail(amount);
+      } catch (NumberFormatException e) {
+        // expected
+      }
+    }
+    for (String amount : new String[] {"0.00000001", "922337203685.4775808", "10000000000000"}) {
+      try {
+        Amount.parseStroops(amount);
+        fail(amount);
+      } catch (ArithmeticException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testFormat() {
+    assertEquals("1.25", Amount.format(12500000L));
+    assertEquals("1", Amount.format(10000000L));
+    assertEquals("0", Amount.format(0));
+    assertEquals("0.0000001", Amount.format(1));
+    assertEquals("-0.5", Amount.format(-5000000L));
+    assertEquals("922337203685.4775807", Amount.format(Long.MAX_VALUE));
+    assertEquals("-922337203685.4775808", Amount.format(Long.MIN_VALUE));
+    assertEquals("x1.0000102", Amount.appendTo(new StringBuilder("x"), 10000102L).toString());
+  }
+
+  @Test
+  public void testMatchesBigDecimal() {
+    BigDecimal one = new BigDecimal(10).pow(7);
+    long[] values = {1, 9, 10, 123, 10000000L, 10000001L, 99999999L, 123456789012L, -70000L, Long.MAX_VALUE};
+    for (long value : values) {
+      String expected = new BigDecimal(value).divide(one).toPlainString();
+      assertEquals(expected, Amount.format(value));
+      assertEquals(value, Amount.parseStroops(expected));
+    }
+  }
+
+  @Test
+  public void testArithmetic() {
+    Amount a = Amount.parse("1.5");
+    Amount b = Amount.parse("0.25");
+    assertEquals(Amount.parse("1.75"), a.add(b));
+    assertEquals(Amount.parse("1.25"), a.subtract(b));
+    assertEquals(Amount.parse("4.5"), a.multiply(3));
+    assertEquals(Amount.parse("-1.5"), a.negate());
+    assertEquals(-1, a.negate().signum());
+    assertTrue(b.compareTo(a) < 0);
+    assertEquals(Amount.ZERO, a.subtract(a));
+    assertEquals("1.75", a.add(b).toString());
+    try {
+      Amount.ofStroops(Long.MAX_VALUE).add(Amount.ofStroops(1));
+      fail();
+    } catch (ArithmeticException e) {
+      // expected
+    }
+    try {
+      Amount.ofStroops(Long.MIN_VALUE).negate();
+      fail();
+    } catch (ArithmeticException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testOperationBuilders() {
+    KeyPair destination = KeyPair.fromAccountId("GDEAOZWTVHQZGGJY6KG4NAGJQ6DXATXAJO3AMW7C4IXLKMPWWB4FDNFZ");
+    PaymentOperation payment = new PaymentOperation.Builder(destination, new AssetTypeNative(), Amount.parse("10.1234567")).build();
+    assertEquals("10.1234567", payment.getAmount());
+    assertEquals(101234567L, payment.toXdr().getBody().getPaymentOp().getAmount().getInt64().longValue());
+  }
+}
@@ -76,4 +76,37 @@ public class KeyPairTest {
       assertEquals("KeyPair does not contain secret key. Use KeyPair.fromSecretSeed method to create a new KeyPair with a secret key.", e.getMessage());
     }
   }
+
+  @Test
+  public void testVerifyWithAccountId() {
+    String sig = "587d4b472eeef7d07aafcd0b049640b0bb3f39784118c2e2b73a04fa2f64c9c538b4b2d0f5335e968a480021fdc23e98c0ddf424cb15d8131df8cb6c4bb58309";
+    KeyPair signer = KeyPair.fromSecretSeed(Util.hexToBytes(SEED));
+    // The public key is decoded to a curve point only for verification.
+    KeyPair keypair = KeyPair.fromAccountId(signer.getAccountId());
+    assertEquals(signer.getAccountId(), keypair.getAccountId());
+    Assert.assertArrayEquals(signer.getPublicKey(), keypair.getPublicKey());
+    assertTrue(keypair.verify("hello world".getBytes(), Util.hexToBytes(sig)));
+    assertFalse(KeyPair.fromPublicKey(signer.getPublicKey()).verify("hello".getBytes(), Util.hexToBytes(sig)));
+  }
+
+  @Test
+  public void testFromPublicKeyWrongLength() {
+    try {
+      KeyPair.fromPublicKey(new byte[31]);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("public-key length is wrong", e.getMessage());
+    }
+  }
+
+  @Test
+  public void testPublicKeyCopied() {
+    KeyPair signer = KeyPair.fromSecretSeed(Util.hexToBytes(SEED));
+    byte[] buffer = signer.getPublicKey();
+    KeyPair keypair = KeyPair.fromPublicKey(buffer);
+    buffer[0]++;
+    keypair.getPublicKey()[1]++;
+    assertEquals(signer.getAccountId(), keypair.getAccountId());
+    Assert.assertArrayEquals(signer.getPublicKey(), keypair.getPublicKey());
+  }
 }
@@ -0,0 +1,125 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.HttpResponseException;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.AccountResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AccountBatchTest {
+  @Test
+  public void testLoadsAccountsWithFailures() {
+    final List<KeyPair> accounts = new ArrayList<KeyPair>();
+    for (int i = 0; i < 20; i++) {
+      accounts.add(KeyPair.random());
+    }
+    final String missing = accounts.get(7).getAccountId();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        int current = running.incrementAndGet();
+        synchronized (maxRunning) {
+          maxRunning.set(Math.max(maxRunning.get(), current));
+        }
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        running.decrementAndGet();
+
+        String accountId = chain.request().url().pathSegments().get(1);
+        if (accountId.equals(missing)) {
+          return FakeHorizon.json(chain, 404, "{}");
+        }
+        return FakeHorizon.json(chain, "{\"account_id\": \"" + accountId + "\", \"sequence\": 1}");
+      }
+    });
+    Server server = new Server(httpClient, "https://horizon-testnet.stellar.org");
+
+    AccountBatch batch = server.accounts().accounts(accounts, 3);
+    assertEquals(20, batch.size());
+    Map<String, AccountBatch.Result> results = new HashMap<String, AccountBatch.Result>();
+    for (AccountBatch.Result result : batch) {
+      results.put(result.getAccount().getAccountId(), result);
+    }
+
+    assertEquals(20, results.size());
+    assertTrue(maxRunning.get() <= 3);
+    AccountBatch.Result failed = results.get(missing);
+    assertFalse(failed.isSuccessful());
+    assertNull(failed.getResponse());
+    assertEquals(404, ((HttpResponseException) failed.getError()).getStatusCode());
+    for (KeyPair account : accounts) {
+      if (!account.getAccountId().equals(missing)) {
+        AccountResponse response = results.get(account.getAccountId()).getResponse();
+        assertEquals(account.getAccountId(), response.getKeypair().getAccountId());
+      }
+    }
+  }
+
+  @Test
+  public void testSynchronousCompletion() {
+    List<KeyPair> accounts = new ArrayList<KeyPair>();
+    for (int i = 0; i < 10000; i++) {
+      accounts.add(KeyPair.random());
+    }
+    AccountBatch batch = new AccountBatch(accounts, 1, new AccountBatch.AccountFetcher() {
+      @Override
+      public SettableFuture<AccountResponse> fetch(KeyPair account) {
+        SettableFuture<AccountResponse> future = SettableFuture.create();
+        future.setException(new IOException());
+        return future;
+      }
+    });
+    batch.start();
+    int count = 0;
+    for (AccountBatch.Result result : batch) {
+      assertFalse(result.isSuccessful());
+      count++;
+    }
+    assertEquals(10000, count);
+  }
+
+  @Test
+  public void testClose() {
+    final List<SettableFuture<AccountResponse>> futures = new ArrayList<SettableFuture<AccountResponse>>();
+    List<KeyPair> accounts = new ArrayList<KeyPair>();
+    for (int i = 0; i < 5; i++) {
+      accounts.add(KeyPair.random());
+    }
+    AccountBatch batch = new AccountBatch(accounts, 2, new AccountBatch.AccountFetcher() {
+      @Override
+      public SettableFuture<AccountResponse> fetch(KeyPair account) {
+        SettableFuture<AccountResponse> future = SettableFuture.create();
+        futures.add(future);
+        return future;
+      }
+    });
+    batch.start();
+    assertEquals(2, futures.size());
+    batch.close();
+    assertTrue(futures.get(0).isCancelled());
+    assertTrue(futures.get(1).isCancelled());
+    assertFalse(batch.iterator().hasNext());
+    assertEquals(2, futures.size());
+  }
+}
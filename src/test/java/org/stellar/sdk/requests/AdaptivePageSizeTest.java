@@ -0,0 +1,101 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptivePageSizeTest {
+  /**
+   * Simulates a network where a page takes 100 ms plus 0.1 ms and 0.01 ms squared per record, so the highest
+   * rate is at 100 records.
+   */
+  private static int tune(AdaptivePageSize pageSize, int pages) {
+    for (int i = 0; i < pages; i++) {
+      int limit = pageSize.getLimit();
+      double millis = 100 + 0.1 * limit + 0.01 * limit * limit;
+      pageSize.record(limit, limit, (long) (millis * 1000000));
+    }
+    return pageSize.getLimit();
+  }
+
+  @Test
+  public void testConvergesFromBelow() {
+    int limit = tune(new AdaptivePageSize(10, 200, 10), 100);
+    assertTrue("limit " + limit, limit >= 80 && limit <= 125);
+  }
+
+  @Test
+  public void testConvergesFromAbove() {
+    int limit = tune(new AdaptivePageSize(10, 200, 200), 100);
+    assertTrue("limit " + limit, limit >= 80 && limit <= 125);
+  }
+
+  @Test
+  public void testBounds() {
+    int limit = tune(new AdaptivePageSize(10, 60, 500), 100);
+    assertTrue("limit " + limit, limit >= 50 && limit <= 60);
+    assertEquals(10, new AdaptivePageSize(10, 60, 1).getLimit());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMaxLimitAcceptedByHorizon() {
+    new Server("https://horizon-testnet.stellar.org").ledgers().adaptiveLimit(10, RequestBuilder.MAX_LIMIT + 1);
+  }
+
+  @Test
+  public void testIgnoresStalePages() {
+    AdaptivePageSize pageSize = new AdaptivePageSize(10, 200, 50);
+    pageSize.record(50, 50, 1000000);
+    pageSize.record(40, 40, 1000000);
+    pageSize.record(50, 20, 1000000);
+    assertEquals(50, pageSize.getLimit());
+    pageSize.record(50, 50, 1000000);
+    assertEquals(100, pageSize.getLimit());
+  }
+
+  @Test
+  public void testIterate() {
+    final List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        HttpUrl url = chain.request().url();
+        urls.add(url);
+        int limit = Integer.parseInt(url.queryParameter("limit"));
+        int cursor = url.queryParameter("cursor") != null ? Integer.parseInt(url.queryParameter("cursor")) : 0;
+        int count = Math.min(limit, 1000 - cursor);
+        StringBuilder records = new StringBuilder();
+        for (int i = cursor + 1; i <= cursor + count; i++) {
+          if (records.length() > 0) {
+            records.append(",");
+          }
+          records.append("{\"sequence\": ").append(i).append("}");
+        }
+        String next = "https://horizon-testnet.stellar.org/ledgers?cursor=" + (cursor + count) + "&limit=" + limit;
+        String body = "{\"_links\": {\"next\": {\"href\": \"" + next + "\"}}, \"_embedded\": {\"records\": [" + records + "]}}";
+        return FakeHorizon.json(chain, body);
+      }
+    });
+    Server server = new Server(httpClient, "https://horizon-testnet.stellar.org");
+
+    long expected = 1;
+    for (LedgerResponse ledger : server.ledgers().limit(20).adaptiveLimit(10, 200).iterate(0)) {
+      assertEquals(expected++, (long) ledger.getSequence());
+    }
+    assertEquals(1001, expected);
+    assertEquals("20", urls.get(0).queryParameter("limit"));
+    assertEquals("20", urls.get(1).queryParameter("limit"));
+    assertEquals("40", urls.get(2).queryParameter("limit"));
+  }
+}
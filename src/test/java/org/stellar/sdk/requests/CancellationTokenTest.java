@@ -0,0 +1,231 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CancellationTokenTest {
+  private static final String PAGE = "{\"_links\": {\"next\": {\"href\": \"/ledgers?cursor=2&limit=1\"}}, " +
+          "\"_embedded\": {\"records\": [{\"sequence\": 1}]}}";
+
+  /**
+   * Responds to the first <code>answered</code> requests and hangs the following ones until their call is cancelled.
+   */
+  private static Server server(final int answered, final AtomicInteger requests, final AtomicInteger cancelled) {
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        if (requests.incrementAndGet() > answered) {
+          for (int i = 0; i < 500 && !chain.call().isCanceled(); i++) {
+            try {
+              Thread.sleep(10);
+            } catch (InterruptedException e) {
+              throw new InterruptedIOException();
+            }
+          }
+          if (chain.call().isCanceled()) {
+            cancelled.incrementAndGet();
+          }
+          throw new IOException("Canceled");
+        }
+        return FakeHorizon.json(chain, PAGE);
+      }
+    });
+    return new Server(httpClient, "https://horizon-testnet.stellar.org");
+  }
+
+  private static void cancelLater(final CancellationToken token) {
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          return;
+        }
+        token.cancel();
+      }
+    }).start();
+  }
+
+  @Test
+  public void testCancel() throws IOException {
+    AtomicInteger requests = new AtomicInteger();
+    AtomicInteger cancelled = new AtomicInteger();
+    CancellationToken token = new CancellationToken();
+    cancelLater(token);
+    try {
+      server(0, requests, cancelled).ledgers().cancellation(token).ledger(7);
+      fail();
+    } catch (SocketTimeoutException e) {
+      fail();
+    } catch (InterruptedIOException e) {
+      assertEquals("Canceled", e.getMessage());
+    }
+    assertTrue(token.isCancelled());
+    assertFalse(token.isDeadlineExceeded());
+    awaitCount(cancelled, 1);
+  }
+
+  @Test
+  public void testDeadline() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    AtomicInteger cancelled = new AtomicInteger();
+    CancellationToken token = CancellationToken.withTimeout(100, TimeUnit.MILLISECONDS);
+    ListenableFuture<LedgerResponse> future = server(0, requests, cancelled).ledgers().cancellation(token).ledgerAsync(7);
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof SocketTimeoutException);
+      assertEquals("Deadline exceeded", e.getCause().getMessage());
+    }
+    assertTrue(token.isDeadlineExceeded());
+    awaitCount(cancelled, 1);
+  }
+
+  @Test
+  public void testCancelledBeforeRequest() throws IOException {
+    AtomicInteger requests = new AtomicInteger();
+    CancellationToken token = new CancellationToken();
+    token.cancel();
+    try {
+      server(1, requests, new AtomicInteger()).ledgers().cancellation(token).ledger(7);
+      fail();
+    } catch (InterruptedIOException e) {
+      assertEquals("Canceled", e.getMessage());
+    }
+    assertEquals(0, requests.get());
+  }
+
+  @Test
+  public void testIteration() {
+    AtomicInteger requests = new AtomicInteger();
+    AtomicInteger cancelled = new AtomicInteger();
+    CancellationToken token = new CancellationToken();
+    Iterator<LedgerResponse> iterator = server(1, requests, cancelled).ledgers().cancellation(token).limit(1)
+            .iterate(0).iterator();
+    assertEquals(new Long(1), iterator.next().getSequence());
+    cancelLater(token);
+    try {
+      iterator.next();
+      fail();
+    } catch (RuntimeException e) {
+      assertTrue(e.getCause() instanceof InterruptedIOException);
+    }
+    awaitCount(cancelled, 1);
+  }
+
+  @Test
+  public void testTemplateTokenPerExecution() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    CancellationToken expired = new CancellationToken();
+    expired.cancel();
+    // Templates don't inherit the token of their builder.
+    QueryTemplate<Page<LedgerResponse>> template = server(2, requests, new AtomicInteger()).ledgers()
+            .cancellation(expired).template();
+    assertEquals(new Long(1), template.execute().getRecords().get(0).getSequence());
+    assertEquals(new Long(1), template.executeAsync("1", new CancellationToken()).get(5, TimeUnit.SECONDS)
+            .getRecords().get(0).getSequence());
+    try {
+      template.execute(expired);
+      fail();
+    } catch (InterruptedIOException e) {
+      assertEquals("Canceled", e.getMessage());
+    }
+    assertEquals(2, requests.get());
+  }
+
+  @Test
+  public void testClosedStreamReleasesToken() {
+    CancellationToken token = new CancellationToken();
+    SSEStream<LedgerResponse> stream = server(0, new AtomicInteger(), new AtomicInteger()).ledgers()
+            .cancellation(token).stream(new EventListener<LedgerResponse>() {
+              @Override
+              public void onEvent(LedgerResponse ledger) {
+              }
+            });
+    assertEquals(1, token.getListenerCount());
+    stream.close();
+    assertEquals(0, token.getListenerCount());
+  }
+
+  @Test
+  public void testCancelledStreamNotifiesListener() throws Exception {
+    CancellationToken token = new CancellationToken();
+    final List<Throwable> failures = new CopyOnWriteArrayList<Throwable>();
+    SSEStream<LedgerResponse> stream = server(0, new AtomicInteger(), new AtomicInteger()).ledgers()
+            .cancellation(token).stream(new StreamListener<LedgerResponse>() {
+              @Override
+              public void onEvent(LedgerResponse ledger) {
+              }
+
+              @Override
+              public void onFailure(Throwable error, boolean closed) {
+                failures.add(error);
+              }
+            });
+    token.cancel();
+    assertTrue(stream.isClosed());
+    assertEquals(1, failures.size());
+    assertTrue(failures.get(0) instanceof InterruptedIOException);
+  }
+
+  @Test
+  public void testListeners() {
+    CancellationToken token = new CancellationToken();
+    final AtomicInteger runs = new AtomicInteger();
+    Runnable listener = new Runnable() {
+      @Override
+      public void run() {
+        runs.incrementAndGet();
+      }
+    };
+    Runnable removed = new Runnable() {
+      @Override
+      public void run() {
+        fail();
+      }
+    };
+    token.addListener(listener);
+    token.addListener(removed);
+    token.removeListener(removed);
+    token.cancel();
+    token.cancel();
+    assertEquals(1, runs.get());
+    // Listeners added after cancellation run right away.
+    token.addListener(listener);
+    assertEquals(2, runs.get());
+  }
+
+  private static void awaitCount(AtomicInteger count, int expected) {
+    for (int i = 0; i < 500 && count.get() != expected; i++) {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    }
+    assertEquals(expected, count.get());
+  }
+}
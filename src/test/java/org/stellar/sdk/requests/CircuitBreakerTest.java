@@ -0,0 +1,157 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+  private static class FakeTicker extends Ticker {
+    private long nanos = 1000;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long time, TimeUnit unit) {
+      nanos += unit.toNanos(time);
+    }
+  }
+
+  /**
+   * Responds with the given status code and advances the ticker by <code>latencyMillis</code>.
+   */
+  private static class CannedServer implements Interceptor {
+    private final FakeTicker ticker;
+    int code = 200;
+    long latencyMillis;
+    int requests;
+
+    CannedServer(FakeTicker ticker) {
+      this.ticker = ticker;
+    }
+
+    @Override
+    public okhttp3.Response intercept(Chain chain) throws IOException {
+      requests++;
+      ticker.advance(latencyMillis, TimeUnit.MILLISECONDS);
+      return FakeHorizon.json(chain, code, "{\"sequence\": 7, \"hash\": \"" + chain.request().url().host() + "\"}");
+    }
+  }
+
+  private static okhttp3.Response get(OkHttpClient httpClient, String url) throws IOException {
+    okhttp3.Response response = httpClient.newCall(new Request.Builder().url(url).build()).execute();
+    response.close();
+    return response;
+  }
+
+  @Test
+  public void testOpensOnErrors() throws IOException {
+    FakeTicker ticker = new FakeTicker();
+    CannedServer server = new CannedServer(ticker);
+    CircuitBreaker breaker = new CircuitBreaker(0.5, 1000, 4, 30000, ticker);
+    OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(breaker).addInterceptor(server).build();
+
+    server.code = 500;
+    get(httpClient, "https://horizon.stellar.org/accounts/GA");
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(HttpUrl.parse("https://horizon.stellar.org/accounts")));
+    get(httpClient, "https://horizon.stellar.org/accounts/GB");
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState(HttpUrl.parse("https://horizon.stellar.org/accounts")));
+
+    try {
+      get(httpClient, "https://horizon.stellar.org/accounts/GA");
+      fail();
+    } catch (CircuitBreakerOpenException e) {
+      assertEquals("horizon.stellar.org:443/accounts", e.getCircuit());
+      assertEquals(30000, e.getRetryAfterMillis());
+    }
+    assertEquals(2, server.requests);
+
+    server.code = 200;
+    get(httpClient, "https://horizon.stellar.org/ledgers/1");
+    Map<String, CircuitBreaker.State> states = breaker.getStates();
+    assertEquals(CircuitBreaker.State.OPEN, states.get("horizon.stellar.org:443/accounts"));
+    assertEquals(CircuitBreaker.State.CLOSED, states.get("horizon.stellar.org:443/ledgers"));
+  }
+
+  @Test
+  public void testHalfOpen() throws IOException {
+    FakeTicker ticker = new FakeTicker();
+    CannedServer server = new CannedServer(ticker);
+    CircuitBreaker breaker = new CircuitBreaker(0.5, 1000, 2, 30000, ticker);
+    OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(breaker).addInterceptor(server).build();
+    HttpUrl url = HttpUrl.parse("https://horizon.stellar.org/ledgers/1");
+
+    server.code = 503;
+    get(httpClient, url.toString());
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState(url));
+
+    ticker.advance(30, TimeUnit.SECONDS);
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(url));
+    get(httpClient, url.toString());
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState(url));
+
+    ticker.advance(30, TimeUnit.SECONDS);
+    server.code = 200;
+    get(httpClient, url.toString());
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(url));
+    assertEquals(3, server.requests);
+  }
+
+  @Test
+  public void testSlowCalls() throws IOException {
+    FakeTicker ticker = new FakeTicker();
+    CannedServer server = new CannedServer(ticker);
+    CircuitBreaker breaker = new CircuitBreaker(0.5, 1000, 4, 30000, ticker);
+    OkHttpClient httpClient = new OkHttpClient.Builder().addInterceptor(breaker).addInterceptor(server).build();
+    HttpUrl url = HttpUrl.parse("https://horizon.stellar.org/ledgers/1");
+
+    server.latencyMillis = 100;
+    for (int i = 0; i < 10; i++) {
+      get(httpClient, url.toString());
+    }
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(url));
+
+    server.latencyMillis = 5000;
+    get(httpClient, url.toString());
+    get(httpClient, url.toString());
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState(url));
+  }
+
+  @Test
+  public void testFallbackToReplica() throws IOException {
+    FakeTicker ticker = new FakeTicker();
+    CannedServer server = new CannedServer(ticker);
+    CircuitBreaker breaker = new CircuitBreaker(0.5, 1000, 2, 30000, ticker);
+
+    server.code = 500;
+    get(new OkHttpClient.Builder().addInterceptor(breaker).addInterceptor(server).build(),
+            "https://a.example.com/ledgers/7");
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState(HttpUrl.parse("https://a.example.com/ledgers")));
+
+    server.code = 200;
+    HorizonPool pool = new HorizonPool("https://a.example.com", "https://b.example.com");
+    OkHttpClient httpClient = new OkHttpClient.Builder()
+            .addInterceptor(pool)
+            .addInterceptor(breaker)
+            .addInterceptor(server)
+            .build();
+    LedgerResponse ledger = new Server(httpClient, pool.getPrimaryUrl().toString()).ledgers().ledger(7);
+    assertEquals("b.example.com", ledger.getHash());
+    assertTrue(pool.isHealthy(HttpUrl.parse("https://a.example.com")));
+  }
+}
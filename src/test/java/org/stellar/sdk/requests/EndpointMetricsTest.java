@@ -0,0 +1,110 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EndpointMetricsTest {
+  private static class FakeTicker extends Ticker {
+    private long nanos = 1000;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long time, TimeUnit unit) {
+      nanos += unit.toNanos(time);
+    }
+  }
+
+  @Test
+  public void testEndpoint() {
+    assertEquals("horizon.stellar.org/ledgers",
+            TimingEventListener.endpoint(HttpUrl.parse("https://horizon.stellar.org/ledgers?limit=200")));
+    assertEquals("horizon.stellar.org/accounts/{id}/payments",
+            TimingEventListener.endpoint(HttpUrl.parse("https://horizon.stellar.org/accounts/GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7/payments")));
+    assertEquals("horizon.stellar.org/order_book/trades",
+            TimingEventListener.endpoint(HttpUrl.parse("https://horizon.stellar.org/order_book/trades")));
+    assertEquals("horizon.stellar.org",
+            TimingEventListener.endpoint(HttpUrl.parse("https://horizon.stellar.org/")));
+  }
+
+  @Test
+  public void testCallPhases() {
+    FakeTicker ticker = new FakeTicker();
+    EndpointMetrics metrics = new EndpointMetrics();
+    Call call = new OkHttpClient().newCall(new Request.Builder().url("https://horizon.stellar.org/ledgers/100").build());
+    EventListener listener = TimingEventListener.factory(metrics, ticker).create(call);
+    InetSocketAddress address = InetSocketAddress.createUnresolved("horizon.stellar.org", 443);
+
+    listener.callStart(call);
+    listener.dnsStart(call, "horizon.stellar.org");
+    ticker.advance(5, TimeUnit.MILLISECONDS);
+    listener.dnsEnd(call, "horizon.stellar.org", Collections.<InetAddress>emptyList());
+    listener.connectStart(call, address, Proxy.NO_PROXY);
+    ticker.advance(20, TimeUnit.MILLISECONDS);
+    listener.secureConnectStart(call);
+    ticker.advance(40, TimeUnit.MILLISECONDS);
+    listener.secureConnectEnd(call, null);
+    listener.connectEnd(call, address, Proxy.NO_PROXY, Protocol.HTTP_2);
+    listener.requestHeadersStart(call);
+    ticker.advance(100, TimeUnit.MILLISECONDS);
+    listener.responseHeadersStart(call);
+    ticker.advance(10, TimeUnit.MILLISECONDS);
+    listener.callEnd(call);
+
+    String endpoint = "horizon.stellar.org/ledgers/{id}";
+    assertEquals(new TreeSet<String>(Arrays.asList(endpoint)), metrics.getEndpoints());
+    assertEquals(5, metrics.getHistogram(endpoint, MetricsSink.Phase.DNS).getPercentile(0.5, TimeUnit.MILLISECONDS), 1);
+    assertEquals(60, metrics.getHistogram(endpoint, MetricsSink.Phase.CONNECT).getPercentile(0.5, TimeUnit.MILLISECONDS), 8);
+    assertEquals(40, metrics.getHistogram(endpoint, MetricsSink.Phase.TLS).getPercentile(0.5, TimeUnit.MILLISECONDS), 5);
+    assertEquals(100, metrics.getHistogram(endpoint, MetricsSink.Phase.TIME_TO_FIRST_BYTE).getPercentile(0.5, TimeUnit.MILLISECONDS), 13);
+    assertEquals(175, metrics.getHistogram(endpoint, MetricsSink.Phase.CALL).getPercentile(0.5, TimeUnit.MILLISECONDS), 22);
+    assertEquals(0, metrics.getHistogram(endpoint, MetricsSink.Phase.DECODE).getCount());
+
+    listener.callFailed(call, new IOException());
+    assertEquals(1, metrics.getFailureCount(endpoint));
+    assertNull(metrics.getHistogram("horizon.stellar.org/ledgers", MetricsSink.Phase.DNS));
+  }
+
+  @Test
+  public void testDecodeTimings() throws IOException {
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        return FakeHorizon.json(chain, "{\"sequence\": 7}");
+      }
+    });
+    EndpointMetrics metrics = new EndpointMetrics();
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(httpClient)
+            .transportProfile(TransportProfile.highThroughput())
+            .metricsSink(metrics)
+            .build();
+
+    server.ledgers().ledger(7);
+    server.ledgers().ledger(8);
+    assertEquals(2, metrics.getHistogram("horizon-testnet.stellar.org/ledgers/{id}", MetricsSink.Phase.DECODE).getCount());
+  }
+}
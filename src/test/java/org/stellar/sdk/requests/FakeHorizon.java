@@ -0,0 +1,67 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Fake Horizon transport for tests. An {@link Interceptor} added by {@link #client(Interceptor)} answers requests
+ * with responses built by {@link #json(Interceptor.Chain, String)} and {@link #events(Interceptor.Chain, String)}
+ * without reaching the network.
+ */
+public final class FakeHorizon {
+  private static final MediaType JSON = MediaType.parse("application/json");
+  private static final MediaType EVENT_STREAM = MediaType.parse("text/event-stream");
+
+  private FakeHorizon() {
+  }
+
+  /**
+   * Returns a client whose requests are answered by <code>horizon</code>.
+   */
+  public static OkHttpClient client(Interceptor horizon) {
+    return new OkHttpClient.Builder().addInterceptor(horizon).build();
+  }
+
+  /**
+   * Returns a client answering every request with the given status code and JSON body.
+   */
+  public static OkHttpClient client(final int code, final String body) {
+    return client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        return json(chain, code, body);
+      }
+    });
+  }
+
+  public static okhttp3.Response json(Interceptor.Chain chain, String body) {
+    return json(chain, 200, body);
+  }
+
+  public static okhttp3.Response json(Interceptor.Chain chain, int code, String body) {
+    return response(chain, code, JSON, body);
+  }
+
+  public static okhttp3.Response events(Interceptor.Chain chain, String body) {
+    return events(chain, 200, body);
+  }
+
+  public static okhttp3.Response events(Interceptor.Chain chain, int code, String body) {
+    return response(chain, code, EVENT_STREAM, body);
+  }
+
+  private static okhttp3.Response response(Interceptor.Chain chain, int code, MediaType type, String body) {
+    return new okhttp3.Response.Builder()
+            .request(chain.request())
+            .protocol(Protocol.HTTP_1_1)
+            .code(code)
+            .message(code < 400 ? "OK" : "Error")
+            .body(ResponseBody.create(type, body))
+            .build();
+  }
+}
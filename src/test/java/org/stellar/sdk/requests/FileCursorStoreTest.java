@@ -0,0 +1,65 @@
+package org.stellar.sdk.requests;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileCursorStoreTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testSyncOnSave() throws IOException {
+    File file = new File(folder.getRoot(), "cursors.properties");
+    FileCursorStore store = new FileCursorStore(file, 0);
+    assertNull(store.load("payments"));
+    store.save("payments", "3860428274794497");
+    store.save("ledgers", "1");
+
+    FileCursorStore reopened = new FileCursorStore(file, 0);
+    assertEquals("3860428274794497", reopened.load("payments"));
+    assertEquals("1", reopened.load("ledgers"));
+    assertFalse(new File(folder.getRoot(), "cursors.properties.tmp").exists());
+  }
+
+  @Test
+  public void testBatchedSync() throws IOException {
+    File file = new File(folder.getRoot(), "cursors.properties");
+    FileCursorStore store = new FileCursorStore(file, 3600000);
+    store.save("payments", "1");
+    store.save("payments", "2");
+    assertEquals("2", store.load("payments"));
+    assertFalse(file.exists());
+
+    store.sync();
+    assertEquals("2", new FileCursorStore(file, 0).load("payments"));
+
+    store.save("payments", "3");
+    store.close();
+    assertEquals("3", new FileCursorStore(file, 0).load("payments"));
+  }
+
+  @Test
+  public void testRecoverFromTemporaryFile() throws IOException {
+    File file = new File(folder.getRoot(), "cursors.properties");
+    new FileCursorStore(file, 0).save("payments", "7");
+    // Crash after the previous file was deleted and before the temporary file was renamed.
+    File temporaryFile = new File(folder.getRoot(), "cursors.properties.tmp");
+    assertTrue(file.renameTo(temporaryFile));
+
+    FileCursorStore store = new FileCursorStore(file, 0);
+    assertEquals("7", store.load("payments"));
+    store.sync();
+    assertTrue(file.exists());
+    assertFalse(temporaryFile.exists());
+    assertEquals("7", new FileCursorStore(file, 0).load("payments"));
+  }
+}
@@ -0,0 +1,149 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HorizonPoolTest {
+  private static class FakeTicker extends Ticker {
+    private long nanos = 1000;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long time, TimeUnit unit) {
+      nanos += unit.toNanos(time);
+    }
+  }
+
+  private final Set<String> downHosts = new HashSet<String>();
+  private final Set<String> laggingHosts = new HashSet<String>();
+  private final List<String> requestedHosts = new CopyOnWriteArrayList<String>();
+  private final List<String> requestedUrls = new CopyOnWriteArrayList<String>();
+
+  private OkHttpClient client(HorizonPool pool) {
+    OkHttpClient.Builder builder = new OkHttpClient.Builder();
+    if (pool != null) {
+      builder.addInterceptor(pool);
+    }
+    return builder
+            .addInterceptor(new Interceptor() {
+              @Override
+              public okhttp3.Response intercept(Chain chain) throws IOException {
+                String host = chain.request().url().host();
+                requestedHosts.add(host);
+                requestedUrls.add(chain.request().url().toString());
+                if (downHosts.contains(host)) {
+                  throw new IOException("Connection refused");
+                }
+                String body;
+                if (!chain.request().url().encodedPath().contains("/ledgers/")) {
+                  body = "{\"history_latest_ledger\": " + (laggingHosts.contains(host) ? 90 : 100) + "}";
+                } else {
+                  body = "{\"sequence\": 1}";
+                }
+                return FakeHorizon.json(chain, body);
+              }
+            })
+            .build();
+  }
+
+  @Test
+  public void testFailover() throws IOException {
+    FakeTicker ticker = new FakeTicker();
+    HorizonPool pool = new HorizonPool(1000, 5, ticker, "https://a.example.com", "https://b.example.com");
+    Server server = new Server(client(pool), pool.getPrimaryUrl().toString());
+
+    downHosts.add("a.example.com");
+    LedgerResponse ledger = server.ledgers().ledger(1);
+    assertEquals(new Long(1), ledger.getSequence());
+    assertEquals("a.example.com", requestedHosts.get(0));
+    assertEquals("b.example.com", requestedHosts.get(1));
+    assertFalse(pool.isHealthy(HttpUrl.parse("https://a.example.com")));
+
+    // Ejected server is not used until the ejection period ends
+    requestedHosts.clear();
+    server.ledgers().ledger(1);
+    assertEquals("b.example.com", requestedHosts.get(0));
+    assertEquals(1, requestedHosts.size());
+
+    downHosts.clear();
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertTrue(pool.isHealthy(HttpUrl.parse("https://a.example.com")));
+  }
+
+  @Test
+  public void testPrimaryPinning() {
+    HorizonPool pool = new HorizonPool(1000, 5, new FakeTicker(), "https://a.example.com", "https://b.example.com");
+    assertEquals("a.example.com", pool.primary().url.host());
+
+    downHosts.add("a.example.com");
+    try {
+      client(pool).newCall(new okhttp3.Request.Builder()
+              .url("https://a.example.com/transactions")
+              .post(okhttp3.FormBody.create(MediaType.parse("text/plain"), "tx"))
+              .build()).execute();
+    } catch (IOException e) {
+      // Submissions are not retried on other servers
+    }
+    assertEquals(1, requestedHosts.size());
+    assertEquals("b.example.com", pool.primary().url.host());
+  }
+
+  @Test
+  public void testLaggingServerEjected() {
+    laggingHosts.add("lagging.example.com");
+    HorizonPool pool = new HorizonPool(1000, 5, new FakeTicker(), "https://lagging.example.com", "https://b.example.com");
+    pool.checkHealth(client(null));
+    assertFalse(pool.isHealthy(HttpUrl.parse("https://lagging.example.com")));
+    assertTrue(pool.isHealthy(HttpUrl.parse("https://b.example.com")));
+    assertEquals("b.example.com", pool.ranked().get(0).url.host());
+  }
+
+  @Test
+  public void testLaggingServerStaysEjectedUntilCaughtUp() throws IOException {
+    laggingHosts.add("lagging.example.com");
+    HorizonPool pool = new HorizonPool(1000, 5, new FakeTicker(), "https://lagging.example.com", "https://b.example.com");
+    Server server = new Server(client(pool), pool.getPrimaryUrl().toString());
+    pool.checkHealth(client(null));
+
+    // Used as a last resort, but a response doesn't bring it back into rotation
+    downHosts.add("b.example.com");
+    server.ledgers().ledger(1);
+    assertFalse(pool.isHealthy(HttpUrl.parse("https://lagging.example.com")));
+
+    laggingHosts.clear();
+    pool.checkHealth(client(null));
+    assertTrue(pool.isHealthy(HttpUrl.parse("https://lagging.example.com")));
+  }
+
+  @Test
+  public void testPathPrefixRebased() throws IOException {
+    HorizonPool pool = new HorizonPool(1000, 5, new FakeTicker(), "https://lb.example.com/horizon-1/", "https://lb2.example.com/horizon-2");
+    Server server = new Server(client(pool), pool.getPrimaryUrl().toString());
+
+    downHosts.add("lb.example.com");
+    server.ledgers().ledger(1);
+    assertEquals("https://lb.example.com/horizon-1/ledgers/1", requestedUrls.get(0));
+    assertEquals("https://lb2.example.com/horizon-2/ledgers/1", requestedUrls.get(1));
+  }
+}
@@ -0,0 +1,128 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+
+import okhttp3.Interceptor;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LedgerPollSchedulerTest {
+  private static class FakeTicker extends Ticker {
+    private long nanos = 1000;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long time, TimeUnit unit) {
+      nanos += unit.toNanos(time);
+    }
+  }
+
+  private static class LatestLedger implements Interceptor {
+    volatile long sequence;
+    volatile String closedAt;
+
+    @Override
+    public okhttp3.Response intercept(Chain chain) throws IOException {
+      String body = "{\"_embedded\": {\"records\": [{\"sequence\": " + sequence + ", \"closed_at\": \"" + closedAt + "\"}]}}";
+      return FakeHorizon.json(chain, body);
+    }
+  }
+
+  private static Server server(LatestLedger horizon) {
+    return new Server(FakeHorizon.client(horizon), "https://horizon-testnet.stellar.org");
+  }
+
+  @Test
+  public void testPollsAfterExpectedClose() {
+    LatestLedger horizon = new LatestLedger();
+    FakeTicker ticker = new FakeTicker();
+    LedgerPollScheduler scheduler = new LedgerPollScheduler(
+            server(horizon).ledgers().order(RequestBuilder.Order.DESC).limit(1).template(), 500, ticker);
+    final List<Long> sequences = new ArrayList<Long>();
+    scheduler.addTask(new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        sequences.add(ledger.getSequence());
+      }
+    });
+
+    horizon.sequence = 10;
+    horizon.closedAt = "2017-03-20T19:50:00Z";
+    // Ledger is seen when it closes; next one is expected after the initial interval.
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(5500), scheduler.poll());
+
+    // Ledger 11 closes after 6 seconds, so the poll is too early.
+    ticker.advance(5500, TimeUnit.MILLISECONDS);
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(500), scheduler.poll());
+    assertEquals(1, scheduler.getEmptyPollCount());
+
+    ticker.advance(500, TimeUnit.MILLISECONDS);
+    horizon.sequence = 11;
+    horizon.closedAt = "2017-03-20T19:50:06Z";
+    // Interval moves towards 6 seconds: 5000 + 0.2 * 1000.
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(5200 + 500), scheduler.poll());
+    assertEquals(5200, scheduler.getCloseIntervalMillis());
+    assertEquals(Arrays.asList(10L, 11L), sequences);
+    assertEquals(3, scheduler.getPollCount());
+    scheduler.close();
+  }
+
+  @Test
+  public void testLateObservation() {
+    LatestLedger horizon = new LatestLedger();
+    FakeTicker ticker = new FakeTicker();
+    LedgerPollScheduler scheduler = new LedgerPollScheduler(
+            server(horizon).ledgers().order(RequestBuilder.Order.DESC).limit(1).template(), 500, ticker);
+
+    horizon.sequence = 10;
+    horizon.closedAt = "2017-03-20T19:50:00Z";
+    scheduler.poll();
+
+    // Ledger 12 is seen 2 seconds after its close, the delay of ledger 10 was 0. The lowest delay is kept, moved
+    // by an eighth towards the new one, so the next poll is planned 250 ms after the next close.
+    ticker.advance(12000, TimeUnit.MILLISECONDS);
+    horizon.sequence = 12;
+    horizon.closedAt = "2017-03-20T19:50:10Z";
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(5000 + 500 + 250 - 2000), scheduler.poll());
+    assertEquals(5000, scheduler.getCloseIntervalMillis());
+    assertEquals(new Long(12), scheduler.getLastLedger().getSequence());
+    scheduler.close();
+  }
+
+  @Test
+  public void testStart() throws Exception {
+    LatestLedger horizon = new LatestLedger();
+    horizon.sequence = 10;
+    horizon.closedAt = "2017-03-20T19:50:00Z";
+    LedgerPollScheduler scheduler = new LedgerPollScheduler(server(horizon).ledgers());
+    final List<Long> sequences = Collections.synchronizedList(new ArrayList<Long>());
+    final CountDownLatch latch = new CountDownLatch(1);
+    scheduler.addTask(new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        sequences.add(ledger.getSequence());
+        latch.countDown();
+      }
+    });
+    scheduler.start();
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(10L), sequences);
+    scheduler.close();
+  }
+}
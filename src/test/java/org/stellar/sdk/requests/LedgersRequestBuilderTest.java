@@ -1,12 +1,20 @@
 package org.stellar.sdk.requests;
 
+import com.google.common.util.concurrent.ListenableFuture;
+
 import okhttp3.HttpUrl;
 import org.junit.Test;
+import org.stellar.sdk.HttpResponseException;
 import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
 
 import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class LedgersRequestBuilderTest {
   @Test
@@ -18,4 +26,25 @@ public class LedgersRequestBuilderTest {
             .buildUrl();
     assertEquals("https://horizon-testnet.stellar.org/ledgers?limit=200&order=asc", url.toString());
   }
+
+  @Test
+  public void testLedgerAsync() throws Exception {
+    Server server = new Server(FakeHorizon.client(200, "{\"sequence\": 898826, \"paging_token\": \"3860428274794496\"}"), "https://horizon-testnet.stellar.org");
+    ListenableFuture<LedgerResponse> future = server.ledgers().ledgerAsync(898826);
+    LedgerResponse ledger = future.get(5, TimeUnit.SECONDS);
+    assertEquals(new Long(898826), ledger.getSequence());
+    assertEquals("3860428274794496", ledger.getPagingToken());
+  }
+
+  @Test
+  public void testLedgerAsyncError() throws Exception {
+    Server server = new Server(FakeHorizon.client(404, "{}"), "https://horizon-testnet.stellar.org");
+    try {
+      server.ledgers().ledgerAsync(898826).get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof HttpResponseException);
+      assertEquals(404, ((HttpResponseException) e.getCause()).getStatusCode());
+    }
+  }
 }
@@ -0,0 +1,197 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LinkExpansionTest {
+  private static final String HORIZON = "https://horizon-testnet.stellar.org";
+
+  private static final String TRANSACTION = "{\"hash\": \"abc\", \"ledger\": 7, \"memo_type\": \"none\", \"_links\": {" +
+          "\"operations\": {\"href\": \"" + HORIZON + "/transactions/abc/operations{?cursor,limit,order}\", \"templated\": true}," +
+          "\"effects\": {\"href\": \"" + HORIZON + "/transactions/abc/effects{?cursor,limit,order}\", \"templated\": true}," +
+          "\"ledger\": {\"href\": \"" + HORIZON + "/ledgers/7\"}}}";
+
+  private static final String LEDGER = "{\"sequence\": 7, \"_links\": {" +
+          "\"transactions\": {\"href\": \"" + HORIZON + "/ledgers/7/transactions{?cursor,limit,order}\", \"templated\": true}," +
+          "\"operations\": {\"href\": \"" + HORIZON + "/ledgers/7/operations{?cursor,limit,order}\", \"templated\": true}," +
+          "\"effects\": {\"href\": \"" + HORIZON + "/ledgers/7/effects{?cursor,limit,order}\", \"templated\": true}}}";
+
+  private static final String EMPTY_PAGE = "{\"_embedded\": {\"records\": []}}";
+
+  /**
+   * Serves the transaction, its ledger and empty collections. Requests for links wait until
+   * <code>concurrentLinks</code> of them are in flight, so expansion fails unless links are requested concurrently.
+   */
+  private static Server server(final List<HttpUrl> urls, final CountDownLatch concurrentLinks) {
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        HttpUrl url = chain.request().url();
+        urls.add(url);
+        String path = url.encodedPath();
+        String body;
+        if (path.equals("/transactions/abc")) {
+          body = TRANSACTION;
+        } else if (path.equals("/ledgers/7") && urls.size() == 1) {
+          body = LEDGER;
+        } else {
+          concurrentLinks.countDown();
+          if (!Uninterruptibles.awaitUninterruptibly(concurrentLinks, 5, TimeUnit.SECONDS)) {
+            throw new IOException("Links are not requested concurrently");
+          }
+          body = path.equals("/ledgers/7") ? LEDGER : EMPTY_PAGE;
+        }
+        return FakeHorizon.json(chain, body);
+      }
+    });
+    return new Server.Builder(HORIZON).httpClient(httpClient).requestCoalescer(null).build();
+  }
+
+  @Test
+  public void testExpandTransaction() throws IOException {
+    List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    Server server = server(urls, new CountDownLatch(3));
+
+    ExpandedTransaction expanded = server.transactions().expandTransaction("abc",
+            ExpandedTransaction.Relation.OPERATIONS, ExpandedTransaction.Relation.EFFECTS,
+            ExpandedTransaction.Relation.LEDGER, ExpandedTransaction.Relation.PRECEDES);
+
+    assertEquals("abc", expanded.getTransaction().getHash());
+    assertEquals(0, expanded.getOperations().getRecords().size());
+    assertEquals(0, expanded.getEffects().getRecords().size());
+    assertEquals(new Long(7), expanded.getLedger().getSequence());
+    // The transaction has no precedes link.
+    assertNull(expanded.getPrecedes());
+    assertNull(expanded.getAccount());
+    assertEquals(4, urls.size());
+    for (HttpUrl url : urls) {
+      assertTrue(url.toString(), url.encodedPath().indexOf('{') < 0);
+      if (url.encodedPath().endsWith("operations") || url.encodedPath().endsWith("effects")) {
+        assertEquals("200", url.queryParameter("limit"));
+      }
+    }
+  }
+
+  @Test
+  public void testExpandLedger() throws IOException {
+    List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    Server server = server(urls, new CountDownLatch(2));
+
+    ExpandedLedger expanded = server.ledgers().expandLedger(7,
+            ExpandedLedger.Relation.TRANSACTIONS, ExpandedLedger.Relation.OPERATIONS);
+
+    assertEquals(new Long(7), expanded.getLedger().getSequence());
+    assertEquals(0, expanded.getTransactions().getRecords().size());
+    assertEquals(0, expanded.getOperations().getRecords().size());
+    assertNull(expanded.getEffects());
+    assertEquals(3, urls.size());
+  }
+
+  /**
+   * Serves the ledger, the transaction and their collections as a full page of 200 records followed by a page of one.
+   */
+  private static OkHttpClient pagedClient(final List<HttpUrl> urls) {
+    return FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        HttpUrl url = chain.request().url();
+        urls.add(url);
+        String body;
+        String path = url.encodedPath();
+        if (path.equals("/ledgers/7")) {
+          body = LEDGER;
+        } else if (path.equals("/transactions/abc")) {
+          body = TRANSACTION;
+        } else {
+          String cursor = url.queryParameter("cursor");
+          int count = cursor == null ? RequestBuilder.MAX_LIMIT : 1;
+          StringBuilder records = new StringBuilder();
+          for (int i = 0; i < count; i++) {
+            String id = String.valueOf(cursor == null ? i : 200);
+            records.append(i == 0 ? "" : ",").append(path.endsWith("effects") ?
+                    "{\"id\": \"" + id + "\", \"type_i\": 0}" :
+                    "{\"hash\": \"" + id + "\", \"memo_type\": \"none\"}");
+          }
+          body = "{\"_embedded\": {\"records\": [" + records + "]}, \"_links\": {\"next\": {\"href\": \"" +
+                  HORIZON + path + "?cursor=" + (cursor == null ? "p1" : "p2") + "&limit=200\"}}}";
+        }
+        return FakeHorizon.json(chain, body);
+      }
+    });
+  }
+
+  @Test
+  public void testExpandLedgerFollowsPages() throws IOException {
+    List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    Server server = new Server.Builder(HORIZON).httpClient(pagedClient(urls)).build();
+
+    ExpandedLedger expanded = server.ledgers().expandLedger(7, ExpandedLedger.Relation.TRANSACTIONS);
+
+    assertEquals(201, expanded.getTransactions().getRecords().size());
+    assertEquals("0", expanded.getTransactions().getRecords().get(0).getHash());
+    assertEquals("200", expanded.getTransactions().getRecords().get(200).getHash());
+    assertEquals(3, urls.size());
+    assertEquals("p1", urls.get(2).queryParameter("cursor"));
+  }
+
+  @Test
+  public void testExpandTransactionFollowsPages() throws IOException {
+    List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    Server server = new Server.Builder(HORIZON).httpClient(pagedClient(urls)).build();
+
+    ExpandedTransaction expanded = server.transactions().expandTransaction("abc",
+            ExpandedTransaction.Relation.EFFECTS);
+
+    assertEquals(201, expanded.getEffects().getRecords().size());
+    assertEquals("200", expanded.getEffects().getRecords().get(200).getId());
+    assertEquals("p1", urls.get(2).queryParameter("cursor"));
+  }
+
+  @Test
+  public void testExpandCachedLedgerTwice() throws IOException {
+    List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    Server server = new Server.Builder(HORIZON)
+            .httpClient(pagedClient(urls))
+            .responseCache(new ResponseCache(ResponseCache.DEFAULT_MAX_ENTRIES))
+            .build();
+
+    ExpandedLedger first = server.ledgers().expandLedger(7, ExpandedLedger.Relation.TRANSACTIONS);
+    ExpandedLedger second = server.ledgers().expandLedger(7, ExpandedLedger.Relation.TRANSACTIONS);
+
+    // Cached pages are not changed by collecting their records.
+    assertEquals(201, first.getTransactions().getRecords().size());
+    assertEquals(201, second.getTransactions().getRecords().size());
+    assertEquals("200", second.getTransactions().getRecords().get(200).getHash());
+    assertEquals(3, urls.size());
+  }
+
+  @Test
+  public void testFailure() {
+    List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    // Only one of two links can be in flight at once, so both fail.
+    Server server = server(urls, new CountDownLatch(3));
+    try {
+      server.ledgers().expandLedger(7, ExpandedLedger.Relation.TRANSACTIONS, ExpandedLedger.Relation.EFFECTS);
+      fail();
+    } catch (IOException e) {
+      assertEquals("Links are not requested concurrently", e.getMessage());
+    }
+  }
+}
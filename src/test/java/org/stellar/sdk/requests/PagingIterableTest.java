@@ -0,0 +1,148 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PagingIterableTest {
+  private static final int PAGES = 3;
+  private static final int PAGE_SIZE = 2;
+
+  private final List<HttpUrl> requestedUrls = new CopyOnWriteArrayList<HttpUrl>();
+
+  @Test
+  public void testIterate() {
+    assertSequences(server().ledgers().limit(PAGE_SIZE).iterate());
+  }
+
+  @Test
+  public void testIterateWithoutPrefetch() {
+    assertSequences(server().ledgers().limit(PAGE_SIZE).iterate(0));
+  }
+
+  @Test
+  public void testIterateWithDeepPrefetch() {
+    assertSequences(server().ledgers().limit(PAGE_SIZE).iterate(5));
+  }
+
+  @Test
+  public void testIterateWithCheckpoint() throws IOException {
+    final Map<String, String> cursors = new HashMap<String, String>();
+    CursorStore store = new CursorStore() {
+      @Override
+      public String load(String key) {
+        return cursors.get(key);
+      }
+
+      @Override
+      public void save(String key, String cursor) {
+        cursors.put(key, cursor);
+      }
+    };
+
+    Iterator<LedgerResponse> ledgers = server().ledgers().limit(PAGE_SIZE).checkpoint(store, "ledgers").iterate(0).iterator();
+    for (int i = 0; i < PAGE_SIZE + 1; i++) {
+      ledgers.next();
+    }
+    assertEquals(String.valueOf(PAGE_SIZE), store.load("ledgers"));
+
+    List<Long> sequences = new ArrayList<Long>();
+    for (LedgerResponse ledger : server().ledgers().limit(PAGE_SIZE).checkpoint(store, "ledgers").iterate()) {
+      sequences.add(ledger.getSequence());
+    }
+    assertEquals(new Long(PAGE_SIZE + 1), sequences.get(0));
+    assertEquals((PAGES - 1) * PAGE_SIZE, sequences.size());
+    assertEquals(String.valueOf(PAGES * PAGE_SIZE), store.load("ledgers"));
+  }
+
+  @Test
+  public void testCloseCancelsPrefetchedPages() {
+    final Page<LedgerResponse> page = GsonSingleton.getInstance().fromJson(
+            "{\"_links\": {\"next\": {\"href\": \"/ledgers?cursor=1\"}}, \"_embedded\": {\"records\": [{\"sequence\": 1}]}}",
+            new TypeToken<Page<LedgerResponse>>() {}.getType());
+    final List<SettableFuture<Page<LedgerResponse>>> requests = new ArrayList<SettableFuture<Page<LedgerResponse>>>();
+    PagingIterable<LedgerResponse> iterable = new PagingIterable<LedgerResponse>(
+            HttpUrl.parse("https://horizon-testnet.stellar.org/ledgers"), 2, new PagingIterable.PageFetcher<LedgerResponse>() {
+      @Override
+      public ListenableFuture<Page<LedgerResponse>> fetch(HttpUrl url) {
+        SettableFuture<Page<LedgerResponse>> future = SettableFuture.create();
+        requests.add(future);
+        if (requests.size() == 1) {
+          future.set(page);
+        }
+        return future;
+      }
+    });
+
+    PagingIterable.CloseableIterator<LedgerResponse> ledgers = iterable.iterator();
+    assertEquals(new Long(1), ledgers.next().getSequence());
+    assertEquals(2, requests.size());
+    ledgers.close();
+
+    assertTrue(requests.get(1).isCancelled());
+    assertFalse(ledgers.hasNext());
+    // Pages chained after the cancelled one are never requested.
+    assertEquals(2, requests.size());
+  }
+
+  private void assertSequences(Iterable<LedgerResponse> ledgers) {
+    List<Long> sequences = new ArrayList<Long>();
+    for (LedgerResponse ledger : ledgers) {
+      sequences.add(ledger.getSequence());
+    }
+
+    assertEquals(PAGES * PAGE_SIZE, sequences.size());
+    for (int i = 0; i < sequences.size(); i++) {
+      assertEquals(new Long(i + 1), sequences.get(i));
+    }
+    assertEquals(null, requestedUrls.get(0).queryParameter("cursor"));
+    assertEquals("2", requestedUrls.get(1).queryParameter("cursor"));
+    assertEquals(String.valueOf(PAGE_SIZE), requestedUrls.get(1).queryParameter("limit"));
+  }
+
+  private Server server() {
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        HttpUrl url = chain.request().url();
+        requestedUrls.add(url);
+        String cursor = url.queryParameter("cursor");
+        int start = cursor == null ? 0 : Integer.parseInt(cursor);
+
+        StringBuilder records = new StringBuilder();
+        for (int i = start + 1; i <= start + PAGE_SIZE && i <= PAGES * PAGE_SIZE; i++) {
+          if (records.length() > 0) {
+            records.append(",");
+          }
+          records.append("{\"sequence\": ").append(i).append(", \"paging_token\": \"").append(i).append("\"}");
+        }
+        String next = url.newBuilder().setQueryParameter("cursor", String.valueOf(start + PAGE_SIZE)).build().toString();
+        String body = "{\"_links\": {\"next\": {\"href\": \"" + next + "\"}}, \"_embedded\": {\"records\": [" + records + "]}}";
+
+        return FakeHorizon.json(chain, body);
+      }
+    });
+    return new Server(httpClient, "https://horizon-testnet.stellar.org");
+  }
+}
@@ -0,0 +1,168 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PriorityDispatcherTest {
+  private static Thread acquire(final PriorityDispatcher dispatcher, final RequestPriority priority, final List<RequestPriority> started) {
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          dispatcher.acquire(priority);
+          started.add(priority);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    thread.start();
+    return thread;
+  }
+
+  private static void awaitWaiting(PriorityDispatcher dispatcher, RequestPriority priority, int count) throws InterruptedException {
+    for (int i = 0; i < 500 && dispatcher.getWaitingCount(priority) != count; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(count, dispatcher.getWaitingCount(priority));
+  }
+
+  @Test
+  public void testStartsByPriority() throws Exception {
+    PriorityDispatcher dispatcher = new PriorityDispatcher(1, 0, 1);
+    List<RequestPriority> started = Collections.synchronizedList(new ArrayList<RequestPriority>());
+    dispatcher.acquire(RequestPriority.LOW);
+
+    Thread low = acquire(dispatcher, RequestPriority.LOW, started);
+    awaitWaiting(dispatcher, RequestPriority.LOW, 1);
+    Thread normal = acquire(dispatcher, RequestPriority.NORMAL, started);
+    awaitWaiting(dispatcher, RequestPriority.NORMAL, 1);
+    Thread high = acquire(dispatcher, RequestPriority.HIGH, started);
+    awaitWaiting(dispatcher, RequestPriority.HIGH, 1);
+
+    dispatcher.release(RequestPriority.LOW);
+    high.join(5000);
+    assertEquals(Arrays.asList(RequestPriority.HIGH), started);
+    dispatcher.release(RequestPriority.HIGH);
+    normal.join(5000);
+    dispatcher.release(RequestPriority.NORMAL);
+    low.join(5000);
+    assertEquals(Arrays.asList(RequestPriority.HIGH, RequestPriority.NORMAL, RequestPriority.LOW), started);
+    assertEquals(1, dispatcher.getInFlightCount(RequestPriority.LOW));
+  }
+
+  @Test
+  public void testReserve() throws Exception {
+    PriorityDispatcher dispatcher = new PriorityDispatcher(3, 1, 1);
+    List<RequestPriority> started = Collections.synchronizedList(new ArrayList<RequestPriority>());
+    dispatcher.acquire(RequestPriority.LOW);
+
+    // Low priority requests are limited to one.
+    Thread low = acquire(dispatcher, RequestPriority.LOW, started);
+    awaitWaiting(dispatcher, RequestPriority.LOW, 1);
+    dispatcher.acquire(RequestPriority.NORMAL);
+
+    // The last slot is reserved for high priority requests.
+    Thread normal = acquire(dispatcher, RequestPriority.NORMAL, started);
+    awaitWaiting(dispatcher, RequestPriority.NORMAL, 1);
+    dispatcher.acquire(RequestPriority.HIGH);
+    assertEquals(1, dispatcher.getInFlightCount(RequestPriority.HIGH));
+
+    dispatcher.release(RequestPriority.HIGH);
+    dispatcher.release(RequestPriority.LOW);
+    normal.join(5000);
+    assertEquals(Arrays.asList(RequestPriority.NORMAL), started);
+    assertTrue(low.isAlive());
+    low.interrupt();
+    low.join(5000);
+    assertEquals(0, dispatcher.getWaitingCount(RequestPriority.LOW));
+    assertEquals(2, dispatcher.getInFlightCount(RequestPriority.NORMAL));
+  }
+
+  private static OkHttpClient fakeHorizon(final PriorityDispatcher dispatcher, final List<Object> tags,
+                                          final List<Integer> inFlight) {
+    return FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        RequestPriority priority = (RequestPriority) chain.request().tag();
+        tags.add(priority);
+        inFlight.add(dispatcher.getInFlightCount(priority));
+        return FakeHorizon.json(chain, "{\"sequence\": 7}");
+      }
+    });
+  }
+
+  @Test
+  public void testServer() throws Exception {
+    PriorityDispatcher dispatcher = new PriorityDispatcher(1, 0, 1);
+    List<Object> tags = Collections.synchronizedList(new ArrayList<Object>());
+    List<Integer> inFlight = Collections.synchronizedList(new ArrayList<Integer>());
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(fakeHorizon(dispatcher, tags, inFlight))
+            .priorityDispatcher(dispatcher)
+            .build();
+
+    // Slots are released when response bodies are closed, so requests with a single slot don't wait forever.
+    server.ledgers().priority(RequestPriority.HIGH).ledgerAsync(7).get(5, TimeUnit.SECONDS);
+    server.ledgers().priority(RequestPriority.LOW).ledger(8);
+    server.ledgers().ledger(9);
+    assertEquals(Arrays.<Object>asList(RequestPriority.HIGH, RequestPriority.LOW, RequestPriority.NORMAL), tags);
+    assertEquals(Arrays.asList(1, 1, 1), inFlight);
+    for (RequestPriority priority : RequestPriority.values()) {
+      assertEquals(0, dispatcher.getInFlightCount(priority));
+    }
+  }
+
+  @Test
+  public void testAsyncRequestsWaitWithoutThreads() throws Exception {
+    PriorityDispatcher dispatcher = new PriorityDispatcher(1, 0, 1);
+    List<Object> tags = Collections.synchronizedList(new ArrayList<Object>());
+    List<Integer> inFlight = Collections.synchronizedList(new ArrayList<Integer>());
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(fakeHorizon(dispatcher, tags, inFlight))
+            .priorityDispatcher(dispatcher)
+            .build();
+    dispatcher.acquire(RequestPriority.HIGH);
+
+    List<ListenableFuture<LedgerResponse>> low = new ArrayList<ListenableFuture<LedgerResponse>>();
+    for (int i = 0; i < 100; i++) {
+      low.add(server.ledgers().priority(RequestPriority.LOW).ledgerAsync(i));
+    }
+    ListenableFuture<LedgerResponse> normal = server.ledgers().ledgerAsync(7);
+    ListenableFuture<LedgerResponse> cancelled = server.ledgers().ledgerAsync(8);
+    assertTrue(cancelled.cancel(true));
+
+    // Waiting calls are held by the dispatcher and weren't handed to OkHttp.
+    assertEquals(100, dispatcher.getWaitingCount(RequestPriority.LOW));
+    assertEquals(2, dispatcher.getWaitingCount(RequestPriority.NORMAL));
+    assertTrue(tags.isEmpty());
+
+    dispatcher.release(RequestPriority.HIGH);
+    normal.get(5, TimeUnit.SECONDS);
+    for (ListenableFuture<LedgerResponse> future : low) {
+      future.get(5, TimeUnit.SECONDS);
+    }
+    assertEquals(RequestPriority.NORMAL, tags.get(0));
+    assertEquals(101, tags.size());
+    assertEquals(Collections.nCopies(101, 1), inFlight);
+    for (RequestPriority priority : RequestPriority.values()) {
+      assertEquals(0, dispatcher.getInFlightCount(priority));
+      assertEquals(0, dispatcher.getWaitingCount(priority));
+    }
+  }
+}
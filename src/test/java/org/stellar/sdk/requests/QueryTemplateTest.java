@@ -0,0 +1,128 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QueryTemplateTest {
+  private static OkHttpClient echoClient(final List<HttpUrl> urls) {
+    return FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        HttpUrl url = chain.request().url();
+        urls.add(url);
+        String cursor = url.queryParameter("cursor");
+        String body = "{\"_embedded\": {\"records\": [{\"sequence\": " + (cursor == null ? 0 : cursor) + "}]}}";
+        return FakeHorizon.json(chain, body);
+      }
+    });
+  }
+
+  @Test
+  public void testUrl() {
+    Server server = new Server("https://horizon-testnet.stellar.org");
+    QueryTemplate<Page<LedgerResponse>> template = server.ledgers()
+            .cursor("13537736921089")
+            .limit(200)
+            .order(RequestBuilder.Order.ASC)
+            .template();
+    assertEquals("https://horizon-testnet.stellar.org/ledgers?cursor=13537736921089&limit=200&order=asc",
+            template.getUrl().toString());
+    assertEquals("https://horizon-testnet.stellar.org/ledgers?limit=200&order=asc&cursor=42",
+            template.getUrl("42").toString());
+    assertEquals("https://horizon-testnet.stellar.org/ledgers?cursor=13537736921089&limit=200&order=asc",
+            template.getUrl().toString());
+  }
+
+  @Test
+  public void testExecuteWithCursor() throws Exception {
+    List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    Server server = new Server(echoClient(urls), "https://horizon-testnet.stellar.org");
+    QueryTemplate<Page<LedgerResponse>> template = server.ledgers().limit(10).template();
+
+    assertEquals(new Long(0), template.execute().getRecords().get(0).getSequence());
+    assertEquals(new Long(5), template.execute("5").getRecords().get(0).getSequence());
+    assertEquals(new Long(6), template.executeAsync("6").get(5, TimeUnit.SECONDS).getRecords().get(0).getSequence());
+    assertEquals(3, urls.size());
+    assertEquals("10", urls.get(2).queryParameter("limit"));
+  }
+
+  @Test
+  public void testExecuteFromManyThreads() throws Exception {
+    List<HttpUrl> urls = Collections.synchronizedList(new ArrayList<HttpUrl>());
+    Server server = new Server(echoClient(urls), "https://horizon-testnet.stellar.org");
+    final QueryTemplate<Page<LedgerResponse>> template = server.ledgers().order(RequestBuilder.Order.DESC).template();
+    final AtomicInteger mismatches = new AtomicInteger();
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int t = 0; t < 8; t++) {
+      final int thread = t;
+      threads.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int i = 0; i < 25; i++) {
+            long cursor = thread * 100 + i;
+            try {
+              Page<LedgerResponse> page = template.execute(String.valueOf(cursor));
+              if (page.getRecords().get(0).getSequence() != cursor) {
+                mismatches.incrementAndGet();
+              }
+            } catch (IOException e) {
+              mismatches.incrementAndGet();
+            }
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join(10000);
+    }
+
+    assertEquals(0, mismatches.get());
+    assertEquals(200, urls.size());
+    for (HttpUrl url : urls) {
+      assertEquals("desc", url.queryParameter("order"));
+      assertEquals(1, url.queryParameterValues("cursor").size());
+    }
+    assertTrue(template.getUrl().queryParameter("cursor") == null);
+  }
+
+  @Test
+  public void testSettingsCopiedFromBuilder() throws Exception {
+    final List<Object> tags = Collections.synchronizedList(new ArrayList<Object>());
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        tags.add(chain.request().tag());
+        return FakeHorizon.json(chain, "{\"sequence\": 7}");
+      }
+    });
+    Server server = new Server(httpClient, "https://horizon-testnet.stellar.org");
+    LedgersRequestBuilder builder = server.ledgers().priority(RequestPriority.LOW);
+    QueryTemplate<Page<LedgerResponse>> template = builder.template();
+
+    // Changing the builder afterwards doesn't change the template.
+    builder.priority(RequestPriority.HIGH);
+    template.execute();
+    template.executeAsync().get(5, TimeUnit.SECONDS);
+    assertEquals(Arrays.<Object>asList(RequestPriority.LOW, RequestPriority.LOW), tags);
+  }
+}
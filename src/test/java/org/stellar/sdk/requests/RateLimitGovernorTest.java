@@ -0,0 +1,170 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import okhttp3.Headers;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RateLimitGovernorTest {
+  private static class FakeTicker extends Ticker {
+    private long nanos = 1000;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long time, TimeUnit unit) {
+      nanos += unit.toNanos(time);
+    }
+  }
+
+  private static Headers rateLimitHeaders(int limit, int remaining, int reset) {
+    return new Headers.Builder()
+            .add("X-Ratelimit-Limit", String.valueOf(limit))
+            .add("X-Ratelimit-Remaining", String.valueOf(remaining))
+            .add("X-Ratelimit-Reset", String.valueOf(reset))
+            .build();
+  }
+
+  @Test
+  public void testUnknownQuotaDoesNotDelay() {
+    RateLimitGovernor governor = new RateLimitGovernor(2, 1, new FakeTicker());
+    for (int i = 0; i < 100; i++) {
+      assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+    }
+    assertEquals(-1, governor.getRemaining());
+  }
+
+  @Test
+  public void testBurstThenPaced() {
+    FakeTicker ticker = new FakeTicker();
+    RateLimitGovernor governor = new RateLimitGovernor(2, 0, ticker);
+    // 10 requests in 10 seconds = 1 request per second
+    governor.update(rateLimitHeaders(3600, 10, 10));
+
+    assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+    assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+    long wait = governor.reserve(RequestPriority.NORMAL);
+    assertEquals(TimeUnit.SECONDS.toNanos(1), wait);
+
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+    assertEquals(7, governor.getRemaining());
+  }
+
+  @Test
+  public void testPriorityReserve() {
+    FakeTicker ticker = new FakeTicker();
+    RateLimitGovernor governor = new RateLimitGovernor(10, 2, ticker);
+    governor.update(rateLimitHeaders(3600, 3, 60));
+
+    assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+    // Remaining quota is reserved for priority requests until the window resets
+    assertEquals(TimeUnit.SECONDS.toNanos(60), governor.reserve(RequestPriority.NORMAL));
+    assertEquals(0, governor.reserve(RequestPriority.HIGH));
+    assertEquals(0, governor.reserve(RequestPriority.HIGH));
+
+    ticker.advance(60, TimeUnit.SECONDS);
+    assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+  }
+
+  @Test
+  public void testNewWindowPacedWithLastLimit() {
+    FakeTicker ticker = new FakeTicker();
+    RateLimitGovernor governor = new RateLimitGovernor(2, 0, ticker);
+    governor.update(rateLimitHeaders(10, 0, 10));
+    assertEquals(TimeUnit.SECONDS.toNanos(10), governor.reserve(RequestPriority.NORMAL));
+
+    // Requests held back until the reset get the burst, the rest are paced by the last known limit.
+    ticker.advance(10, TimeUnit.SECONDS);
+    assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+    assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+    assertEquals(TimeUnit.SECONDS.toNanos(1), governor.reserve(RequestPriority.NORMAL));
+    assertEquals(8, governor.getRemaining());
+
+    // Headers of the new window update the bucket.
+    governor.update(rateLimitHeaders(20, 18, 10));
+    assertEquals(18, governor.getRemaining());
+  }
+
+  @Test
+  public void testPauseAfterTooManyRequests() {
+    FakeTicker ticker = new FakeTicker();
+    RateLimitGovernor governor = new RateLimitGovernor(10, 0, ticker);
+    governor.pause("5");
+    assertEquals(TimeUnit.SECONDS.toNanos(5), governor.reserve(RequestPriority.HIGH));
+    ticker.advance(5, TimeUnit.SECONDS);
+    assertEquals(0, governor.reserve(RequestPriority.NORMAL));
+  }
+
+  @Test
+  public void testAsyncRequestsWaitBeforeDispatch() throws Exception {
+    RateLimitGovernor governor = new RateLimitGovernor(2, 0);
+    OkHttpClient httpClient = FakeHorizon.client(200, "{\"sequence\": 7}");
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(httpClient)
+            .rateLimitGovernor(governor)
+            .build();
+    governor.update(rateLimitHeaders(10, 0, 60));
+
+    List<ListenableFuture<LedgerResponse>> held = new ArrayList<ListenableFuture<LedgerResponse>>();
+    for (int i = 0; i < 10; i++) {
+      held.add(server.ledgers().ledgerAsync(i));
+    }
+    // Held requests don't take slots of OkHttp's dispatcher, so a submission is not queued behind them.
+    assertEquals(10, governor.getWaitingCount());
+    assertEquals(0, httpClient.dispatcher().runningCallsCount());
+    LedgerResponse ledger = server.ledgers().priority(RequestPriority.HIGH).ledgerAsync(7).get(5, TimeUnit.SECONDS);
+    assertEquals(new Long(7), ledger.getSequence());
+
+    for (ListenableFuture<LedgerResponse> future : held) {
+      future.cancel(true);
+    }
+    long deadline = System.currentTimeMillis() + 5000;
+    while (governor.getWaitingCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, governor.getWaitingCount());
+  }
+
+  @Test
+  public void testCancelledRequestStopsWaiting() throws Exception {
+    RateLimitGovernor governor = new RateLimitGovernor(2, 0);
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(FakeHorizon.client(200, "{\"sequence\": 7}"))
+            .rateLimitGovernor(governor)
+            .build();
+    governor.update(rateLimitHeaders(10, 0, 60));
+
+    CancellationToken token = new CancellationToken();
+    ListenableFuture<LedgerResponse> future = server.ledgers().cancellation(token).ledgerAsync(7);
+    assertEquals(1, governor.getWaitingCount());
+    token.cancel();
+    try {
+      future.get(1, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof InterruptedIOException);
+    }
+    long deadline = System.currentTimeMillis() + 1000;
+    while (governor.getWaitingCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    assertEquals(0, governor.getWaitingCount());
+  }
+}
@@ -0,0 +1,190 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.AccountResponse;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCoalescerTest {
+  private static OkHttpClient blockingClient(final AtomicInteger requests, final CountDownLatch release) {
+    return FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.incrementAndGet();
+        Uninterruptibles.awaitUninterruptibly(release, 5, TimeUnit.SECONDS);
+        return FakeHorizon.json(chain, "{\"sequence\": 7}");
+      }
+    });
+  }
+
+  @Test
+  public void testAsyncRequestsShareCall() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    RequestCoalescer coalescer = new RequestCoalescer();
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(blockingClient(requests, release))
+            .requestCoalescer(coalescer)
+            .build();
+
+    ListenableFuture<LedgerResponse> first = server.ledgers().ledgerAsync(7);
+    ListenableFuture<LedgerResponse> second = server.ledgers().ledgerAsync(7);
+    ListenableFuture<LedgerResponse> other = server.ledgers().ledgerAsync(8);
+    release.countDown();
+
+    assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    assertEquals(new Long(7), other.get(5, TimeUnit.SECONDS).getSequence());
+    assertEquals(2, requests.get());
+    assertEquals(3, coalescer.getRequestCount());
+    assertEquals(1, coalescer.getCoalescedCount());
+  }
+
+  @Test
+  public void testSyncRequestsShareCall() throws Exception {
+    final AtomicInteger requests = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    RequestCoalescer coalescer = new RequestCoalescer();
+    final Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(blockingClient(requests, release))
+            .requestCoalescer(coalescer)
+            .build();
+
+    final LedgerResponse[] responses = new LedgerResponse[4];
+    Thread[] threads = new Thread[responses.length];
+    for (int i = 0; i < threads.length; i++) {
+      final int index = i;
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            responses[index] = server.ledgers().ledger(7);
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        }
+      });
+      threads[i].start();
+    }
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (coalescer.getRequestCount() < threads.length && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    release.countDown();
+    for (Thread thread : threads) {
+      thread.join(5000);
+    }
+
+    assertEquals(1, requests.get());
+    assertEquals(3, coalescer.getCoalescedCount());
+    for (LedgerResponse response : responses) {
+      assertSame(responses[0], response);
+    }
+  }
+
+  @Test
+  public void testCancelOneWaiter() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(blockingClient(requests, release))
+            .requestCoalescer(new RequestCoalescer())
+            .build();
+
+    ListenableFuture<LedgerResponse> first = server.ledgers().ledgerAsync(7);
+    ListenableFuture<LedgerResponse> second = server.ledgers().ledgerAsync(7);
+    assertTrue(first.cancel(true));
+    release.countDown();
+
+    assertEquals(new Long(7), second.get(5, TimeUnit.SECONDS).getSequence());
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  public void testNoCoalescingAfterCompletion() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(0);
+    RequestCoalescer coalescer = new RequestCoalescer();
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(blockingClient(requests, release))
+            .requestCoalescer(coalescer)
+            .build();
+
+    HttpUrl url = HttpUrl.parse("https://horizon-testnet.stellar.org/ledgers/7");
+    server.ledgers().ledger(url);
+    server.ledgers().ledger(url);
+    assertEquals(2, requests.get());
+    assertEquals(0, coalescer.getCoalescedCount());
+  }
+
+  @Test
+  public void testCoalescingByDefault() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(blockingClient(requests, release))
+            .build();
+
+    ListenableFuture<LedgerResponse> first = server.ledgers().ledgerAsync(7);
+    ListenableFuture<LedgerResponse> second = server.ledgers().ledgerAsync(7);
+    release.countDown();
+
+    assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  public void testCoalescingDisabled() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(blockingClient(requests, release))
+            .requestCoalescer(null)
+            .build();
+
+    ListenableFuture<LedgerResponse> first = server.ledgers().ledgerAsync(7);
+    ListenableFuture<LedgerResponse> second = server.ledgers().ledgerAsync(7);
+    release.countDown();
+
+    assertNotSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    assertEquals(2, requests.get());
+  }
+
+  @Test
+  public void testAccountsNotCoalesced() throws Exception {
+    AtomicInteger requests = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    RequestCoalescer coalescer = new RequestCoalescer();
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(blockingClient(requests, release))
+            .requestCoalescer(coalescer)
+            .build();
+
+    KeyPair account = KeyPair.fromAccountId("GBAH7FQMC3CZJ4WD6GE7G7YXCIU36LC2IHXQ7D5MQAUO4PODOWIVLSFS");
+    ListenableFuture<AccountResponse> first = server.accounts().accountAsync(account);
+    ListenableFuture<AccountResponse> second = server.accounts().accountAsync(account);
+    release.countDown();
+
+    // Building a transaction increments the sequence number, so every caller needs its own account.
+    assertNotSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+    assertEquals(2, requests.get());
+    assertEquals(0, coalescer.getCoalescedCount());
+  }
+}
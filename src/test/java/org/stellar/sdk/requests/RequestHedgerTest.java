@@ -0,0 +1,152 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RequestHedgerTest {
+  @Test
+  public void testHistogramPercentile() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(-1, histogram.getPercentile(0.5, TimeUnit.MILLISECONDS));
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i, TimeUnit.MILLISECONDS);
+    }
+    assertEquals(100, histogram.getCount());
+    long median = histogram.getPercentile(0.5, TimeUnit.MILLISECONDS);
+    assertTrue(median >= 50 && median <= 60);
+    long p95 = histogram.getPercentile(0.95, TimeUnit.MILLISECONDS);
+    assertTrue(p95 >= 95 && p95 <= 114);
+    assertEquals(1, histogram.getPercentile(0, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testHistogramDecay() {
+    LatencyHistogram histogram = new LatencyHistogram(10);
+    for (int i = 0; i < 9; i++) {
+      histogram.record(1, TimeUnit.SECONDS);
+    }
+    histogram.record(1, TimeUnit.MILLISECONDS);
+    assertEquals(4, histogram.getCount());
+  }
+
+  @Test
+  public void testDelayFromHistogram() {
+    RequestHedger hedger = new RequestHedger(0.9, 10, 1000);
+    HttpUrl url = HttpUrl.parse("https://horizon-testnet.stellar.org/ledgers/7");
+    assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), hedger.getDelayNanos(url));
+    hedger.close();
+  }
+
+  @Test
+  public void testSlowRequestIsHedged() throws IOException {
+    final AtomicInteger requests = new AtomicInteger();
+    final AtomicBoolean firstCancelled = new AtomicBoolean();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        if (requests.incrementAndGet() == 1) {
+          long deadline = System.currentTimeMillis() + 5000;
+          while (!chain.call().isCanceled() && System.currentTimeMillis() < deadline) {
+            try {
+              Thread.sleep(5);
+            } catch (InterruptedException e) {
+              throw new IOException(e);
+            }
+          }
+          firstCancelled.set(chain.call().isCanceled());
+          throw new IOException("Canceled");
+        }
+        return FakeHorizon.json(chain, "{\"sequence\": 7}");
+      }
+    });
+    RequestHedger hedger = new RequestHedger(0.95, 20, 20);
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(httpClient)
+            .requestHedger(hedger)
+            .build();
+
+    LedgerResponse ledger = server.ledgers().ledger(7);
+    assertEquals(new Long(7), ledger.getSequence());
+    assertEquals(2, requests.get());
+    assertEquals(1, hedger.getHedgeCount());
+    assertEquals(1, hedger.getHedgeWinCount());
+
+    // The cancelled original is recorded too, so slow responses are not left out of the histogram.
+    LatencyHistogram histogram = hedger.getHistogram(HttpUrl.parse("https://horizon-testnet.stellar.org/"));
+    long deadline = System.currentTimeMillis() + 5000;
+    while ((!firstCancelled.get() || histogram.getCount() < 2) && System.currentTimeMillis() < deadline) {
+      Thread.yield();
+    }
+    assertTrue(firstCancelled.get());
+    assertEquals(2, histogram.getCount());
+    assertTrue(histogram.getPercentile(1, TimeUnit.MILLISECONDS) >= 20);
+    hedger.close();
+  }
+
+  @Test
+  public void testFastRequestIsNotHedged() throws Exception {
+    final AtomicInteger requests = new AtomicInteger();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.incrementAndGet();
+        return FakeHorizon.json(chain, "{\"sequence\": 7}");
+      }
+    });
+    RequestHedger hedger = new RequestHedger(0.95, 200, 200);
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(httpClient)
+            .requestHedger(hedger)
+            .build();
+
+    server.ledgers().ledgerAsync(7).get(5, TimeUnit.SECONDS);
+    Thread.sleep(300);
+    assertEquals(1, requests.get());
+    assertEquals(0, hedger.getHedgeCount());
+    hedger.close();
+  }
+
+  @Test
+  public void testAllCallsFail() {
+    final AtomicInteger requests = new AtomicInteger();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.incrementAndGet();
+        try {
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        throw new IOException("Connection refused");
+      }
+    });
+    RequestHedger hedger = new RequestHedger(0.95, 10, 10);
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(httpClient)
+            .requestHedger(hedger)
+            .build();
+
+    try {
+      server.ledgers().ledger(7);
+      fail();
+    } catch (IOException e) {
+      assertEquals("Connection refused", e.getMessage());
+    }
+    assertEquals(2, requests.get());
+    hedger.close();
+  }
+}
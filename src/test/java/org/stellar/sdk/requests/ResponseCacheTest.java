@@ -0,0 +1,151 @@
+package org.stellar.sdk.requests;
+
+import com.google.common.base.Ticker;
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.AccountResponse;
+import org.stellar.sdk.responses.GsonSingleton;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.Page;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest {
+  private static class FakeTicker extends Ticker {
+    private long nanos = 1000;
+
+    @Override
+    public long read() {
+      return nanos;
+    }
+
+    void advance(long time, TimeUnit unit) {
+      nanos += unit.toNanos(time);
+    }
+  }
+
+  private static HttpUrl url(String path) {
+    return HttpUrl.parse("https://horizon-testnet.stellar.org" + path);
+  }
+
+  @Test
+  public void testImmutableResources() {
+    assertTrue(ResponseCache.isImmutable(url("/ledgers/898826")));
+    assertTrue(ResponseCache.isImmutable(url("/ledgers/898826/operations?limit=200")));
+    assertTrue(ResponseCache.isImmutable(url("/transactions/5c0e6c8f6b4f5f2b5e0a1f1c1a0e8e6c0b3b1f0a8c3d1c2a3a0c2d3d0f6a8a1a")));
+    assertTrue(ResponseCache.isImmutable(url("/transactions/5c0e6c8f/effects")));
+    assertTrue(ResponseCache.isImmutable(url("/operations/3860428274794497")));
+    assertTrue(ResponseCache.isImmutable(url("/operations/3860428274794497/effects")));
+
+    assertFalse(ResponseCache.isImmutable(url("/ledgers")));
+    assertFalse(ResponseCache.isImmutable(url("/ledgers/latest")));
+    assertFalse(ResponseCache.isImmutable(url("/accounts/GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7")));
+    assertFalse(ResponseCache.isImmutable(url("/accounts/GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7/payments")));
+    assertFalse(ResponseCache.isImmutable(url("/order_book")));
+  }
+
+  @Test
+  public void testCanonicalKey() {
+    assertEquals(ResponseCache.key(url("/ledgers/1/operations?order=asc&limit=10")),
+            ResponseCache.key(url("/ledgers/1/operations?limit=10&order=asc")));
+  }
+
+  @Test
+  public void testMutableTtl() {
+    FakeTicker ticker = new FakeTicker();
+    ResponseCache cache = new ResponseCache(10, 1000, null, ticker);
+    Object account = new Object();
+    HttpUrl accountUrl = url("/accounts/GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7");
+    cache.put(accountUrl, account);
+    assertSame(account, cache.get(accountUrl));
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertNull(cache.get(accountUrl));
+
+    ResponseCache immutableOnly = new ResponseCache(10);
+    immutableOnly.put(accountUrl, account);
+    assertNull(immutableOnly.get(accountUrl));
+  }
+
+  @Test
+  public void testAccountsNotCached() {
+    ResponseCache cache = new ResponseCache(10, 60000);
+    HttpUrl accountUrl = url("/accounts/GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7");
+    // Building a transaction increments the sequence number, so every caller needs its own account.
+    cache.put(accountUrl, new AccountResponse(KeyPair.fromAccountId(
+            "GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7"), 1L));
+    assertNull(cache.get(accountUrl));
+  }
+
+  @Test
+  public void testEmptyCollectionsNotCached() {
+    Type pageType = new TypeToken<Page<LedgerResponse>>() {}.getType();
+    Page<LedgerResponse> empty = GsonSingleton.getInstance().fromJson("{\"_embedded\": {\"records\": []}}", pageType);
+    Page<LedgerResponse> page = GsonSingleton.getInstance().fromJson(
+            "{\"_embedded\": {\"records\": [{\"sequence\": 9}]}}", pageType);
+    ResponseCache cache = new ResponseCache(10);
+
+    // Horizon returns an empty page for a ledger it hasn't ingested yet as well.
+    cache.put(url("/ledgers/9/transactions"), empty);
+    assertNull(cache.get(url("/ledgers/9/transactions")));
+    cache.put(url("/ledgers/9/transactions"), page);
+    assertSame(page, cache.get(url("/ledgers/9/transactions")));
+  }
+
+  @Test
+  public void testSizeEviction() {
+    ResponseCache cache = new ResponseCache(2);
+    cache.put(url("/ledgers/1"), new Object());
+    cache.put(url("/ledgers/2"), new Object());
+    cache.put(url("/ledgers/3"), new Object());
+    int cached = 0;
+    for (int i = 1; i <= 3; i++) {
+      if (cache.get(url("/ledgers/" + i)) != null) {
+        cached++;
+      }
+    }
+    assertEquals(2, cached);
+  }
+
+  @Test
+  public void testRequestBuilderUsesCache() throws IOException {
+    final AtomicInteger requests = new AtomicInteger();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.incrementAndGet();
+        return FakeHorizon.json(chain, "{\"sequence\": 1}");
+      }
+    });
+    ResponseCache cache = new ResponseCache(ResponseCache.DEFAULT_MAX_ENTRIES);
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org")
+            .httpClient(httpClient)
+            .responseCache(cache)
+            .build();
+
+    LedgerResponse first = server.ledgers().ledger(1);
+    LedgerResponse second = server.ledgers().ledger(1);
+    assertSame(first, second);
+    assertEquals(1, requests.get());
+    assertEquals(1, cache.getHitCount());
+
+    HttpUrl accountUrl = url("/accounts/GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7");
+    server.accounts().account(accountUrl);
+    server.accounts().account(accountUrl);
+    assertEquals(3, requests.get());
+  }
+}
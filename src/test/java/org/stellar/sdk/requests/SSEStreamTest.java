@@ -0,0 +1,263 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.Test;
+import org.stellar.sdk.HttpResponseException;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+import org.stellar.sdk.responses.OfferResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SSEStreamTest {
+  @Test
+  public void testEventParser() {
+    SSEStream.EventParser parser = new SSEStream.EventParser();
+    assertFalse(parser.processLine(": comment"));
+    assertFalse(parser.processLine("retry: 1000"));
+    assertFalse(parser.processLine("event: open"));
+    assertFalse(parser.processLine("data: \"hello\""));
+    assertTrue(parser.processLine(""));
+    assertEquals("\"hello\"", parser.getData());
+    assertEquals(new Long(1000), parser.getRetry());
+    assertNull(parser.getId());
+
+    assertFalse(parser.processLine("id: 3860428274794496"));
+    assertFalse(parser.processLine("data: {\"a\":"));
+    assertFalse(parser.processLine("data:1}"));
+    assertTrue(parser.processLine(""));
+    assertEquals("{\"a\":\n1}", parser.getData());
+    assertEquals("3860428274794496", parser.getId());
+    assertNull(parser.getRetry());
+
+    assertFalse(parser.processLine(""));
+  }
+
+  @Test
+  public void testStreamResumesFromLastEventId() throws Exception {
+    final List<Request> requests = new CopyOnWriteArrayList<Request>();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.add(chain.request());
+        String body;
+        if (requests.size() == 1) {
+          body = "retry: 10\nevent: open\ndata: \"hello\"\n\n" +
+                  "id: 1\ndata: {\"sequence\": 1, \"paging_token\": \"1\"}\n\n" +
+                  "id: 2\ndata: {\"sequence\": 2, \"paging_token\": \"2\"}\n\n";
+        } else {
+          body = "id: 3\ndata: {\"sequence\": 3, \"paging_token\": \"3\"}\n\n";
+        }
+        return FakeHorizon.events(chain, body);
+      }
+    });
+
+    final List<Long> sequences = Collections.synchronizedList(new ArrayList<Long>());
+    final CountDownLatch latch = new CountDownLatch(3);
+    Server server = new Server(httpClient, "https://horizon-testnet.stellar.org");
+    SSEStream<LedgerResponse> stream = server.ledgers().cursor("now").stream(new EventListener<LedgerResponse>() {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        sequences.add(ledger.getSequence());
+        latch.countDown();
+      }
+    });
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    stream.close();
+
+    assertEquals(3, sequences.size());
+    assertEquals(new Long(1), sequences.get(0));
+    assertEquals(new Long(3), sequences.get(2));
+    assertEquals("3", stream.getLastEventId());
+    assertTrue(stream.isClosed());
+
+    HttpUrl first = requests.get(0).url();
+    assertEquals("now", first.queryParameter("cursor"));
+    assertEquals("text/event-stream", requests.get(0).header("Accept"));
+    HttpUrl second = requests.get(1).url();
+    assertEquals("2", second.queryParameter("cursor"));
+    assertEquals("2", requests.get(1).header("Last-Event-ID"));
+  }
+
+  @Test
+  public void testStreamWithCheckpoint() throws Exception {
+    final List<Request> requests = new CopyOnWriteArrayList<Request>();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.add(chain.request());
+        String body = "retry: 10000\n" +
+                "id: 6\ndata: {\"sequence\": 6, \"paging_token\": \"6\"}\n\n" +
+                "id: 7\ndata: {\"sequence\": 7, \"paging_token\": \"7\"}\n\n";
+        return FakeHorizon.events(chain, body);
+      }
+    });
+
+    final Map<String, String> cursors = new ConcurrentHashMap<String, String>();
+    cursors.put("ledgers", "5");
+    CursorStore store = new CursorStore() {
+      @Override
+      public String load(String key) {
+        return cursors.get(key);
+      }
+
+      @Override
+      public void save(String key, String cursor) {
+        cursors.put(key, cursor);
+      }
+    };
+
+    final CountDownLatch latch = new CountDownLatch(2);
+    Server server = new Server(httpClient, "https://horizon-testnet.stellar.org");
+    SSEStream<LedgerResponse> stream = server.ledgers().cursor("now").checkpoint(store, "ledgers")
+            .stream(new EventListener<LedgerResponse>() {
+              @Override
+              public void onEvent(LedgerResponse ledger) {
+                latch.countDown();
+              }
+            });
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    // The cursor is saved after the listener returns.
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!"7".equals(cursors.get("ledgers")) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(5);
+    }
+    stream.close();
+    assertEquals("5", requests.get(0).url().queryParameter("cursor"));
+    assertEquals("7", cursors.get("ledgers"));
+  }
+
+  private static OkHttpClient statusClient(final List<Request> requests, final int... codes) {
+    return FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.add(chain.request());
+        int code = codes[Math.min(requests.size(), codes.length) - 1];
+        String body = code == 200 ? "retry: 10000\nid: 1\ndata: {\"sequence\": 1, \"paging_token\": \"1\"}\n\n" : "{}";
+        return FakeHorizon.events(chain, code, body);
+      }
+    });
+  }
+
+  private static class RecordingListener implements StreamListener<LedgerResponse> {
+    final List<Object> received = new CopyOnWriteArrayList<Object>();
+    final List<Boolean> closed = new CopyOnWriteArrayList<Boolean>();
+    final CountDownLatch latch;
+
+    RecordingListener(int count) {
+      this.latch = new CountDownLatch(count);
+    }
+
+    @Override
+    public void onEvent(LedgerResponse ledger) {
+      received.add(ledger.getSequence());
+      latch.countDown();
+    }
+
+    @Override
+    public void onFailure(Throwable error, boolean closed) {
+      received.add(error);
+      this.closed.add(closed);
+      latch.countDown();
+    }
+  }
+
+  @Test
+  public void testClientErrorClosesStream() throws Exception {
+    List<Request> requests = new CopyOnWriteArrayList<Request>();
+    Server server = new Server(statusClient(requests, 404), "https://horizon-testnet.stellar.org");
+    RecordingListener listener = new RecordingListener(1);
+    SSEStream<LedgerResponse> stream = server.ledgers().stream(listener);
+
+    assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+    assertEquals(404, ((HttpResponseException) listener.received.get(0)).getStatusCode());
+    assertEquals(Collections.singletonList(true), listener.closed);
+    assertTrue(stream.isClosed());
+    Thread.sleep(50);
+    assertEquals(1, requests.size());
+  }
+
+  @Test
+  public void testServerErrorReconnects() throws Exception {
+    List<Request> requests = new CopyOnWriteArrayList<Request>();
+    Server server = new Server(statusClient(requests, 503, 200), "https://horizon-testnet.stellar.org");
+    RecordingListener listener = new RecordingListener(2);
+    SSEStream<LedgerResponse> stream = server.ledgers().stream(listener);
+
+    assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+    stream.close();
+    assertEquals(503, ((HttpResponseException) listener.received.get(0)).getStatusCode());
+    assertEquals(new Long(1), listener.received.get(1));
+    assertEquals(Collections.singletonList(false), listener.closed);
+  }
+
+  @Test
+  public void testListenerFailureClosesStream() throws Exception {
+    List<Request> requests = new CopyOnWriteArrayList<Request>();
+    Server server = new Server(statusClient(requests, 200), "https://horizon-testnet.stellar.org");
+    final IllegalStateException failure = new IllegalStateException("listener failed");
+    final RecordingListener listener = new RecordingListener(1) {
+      @Override
+      public void onEvent(LedgerResponse ledger) {
+        throw failure;
+      }
+    };
+    SSEStream<LedgerResponse> stream = server.ledgers().stream(listener);
+
+    assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+    assertSame(failure, listener.received.get(0));
+    assertEquals(Collections.singletonList(true), listener.closed);
+    assertTrue(stream.isClosed());
+  }
+
+  @Test
+  public void testStreamOffersForAccount() throws Exception {
+    final List<Request> requests = new CopyOnWriteArrayList<Request>();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.add(chain.request());
+        return FakeHorizon.events(chain, "id: 5\ndata: {\"id\": 5, \"paging_token\": \"5\", \"amount\": \"10.0\"}\n\n");
+      }
+    });
+
+    final List<OfferResponse> offers = new CopyOnWriteArrayList<OfferResponse>();
+    final CountDownLatch latch = new CountDownLatch(1);
+    Server server = new Server(httpClient, "https://horizon-testnet.stellar.org");
+    KeyPair account = KeyPair.fromAccountId("GBAH7FQMC3CZJ4WD6GE7G7YXCIU36LC2IHXQ7D5MQAUO4PODOWIVLSFS");
+    SSEStream<OfferResponse> stream = server.offers().forAccount(account).stream(new EventListener<OfferResponse>() {
+      @Override
+      public void onEvent(OfferResponse offer) {
+        offers.add(offer);
+        latch.countDown();
+      }
+    });
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    stream.close();
+
+    assertEquals(new Long(5), offers.get(0).getId());
+    assertEquals("10.0", offers.get(0).getAmount());
+    assertEquals("/accounts/" + account.getAccountId() + "/offers", requests.get(0).url().encodedPath());
+  }
+}
@@ -0,0 +1,255 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.HttpResponseException;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.responses.LedgerResponse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StreamPublisherTest {
+  private static class FakeStream implements StreamPublisher.StreamFactory<Integer>, Closeable {
+    volatile StreamListener<Integer> listener;
+    volatile boolean closed;
+
+    @Override
+    public Closeable open(StreamListener<Integer> listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  private static class RecordingSubscriber implements Subscriber<Integer> {
+    final List<Integer> events = Collections.synchronizedList(new ArrayList<Integer>());
+    volatile Subscription subscription;
+    volatile Throwable error;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(Integer object) {
+      events.add(object);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+    }
+  }
+
+  private static RecordingSubscriber subscribe(StreamPublisher<Integer> publisher) {
+    RecordingSubscriber subscriber = new RecordingSubscriber();
+    publisher.subscribe(subscriber);
+    return subscriber;
+  }
+
+  @Test
+  public void testDemand() {
+    FakeStream stream = new FakeStream();
+    RecordingSubscriber subscriber = subscribe(new StreamPublisher<Integer>(stream, 10, StreamPublisher.OverflowPolicy.BLOCK));
+    for (int i = 1; i <= 5; i++) {
+      stream.listener.onEvent(i);
+    }
+    assertEquals(0, subscriber.events.size());
+
+    subscriber.subscription.request(2);
+    assertEquals(Arrays.asList(1, 2), subscriber.events);
+    subscriber.subscription.request(10);
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), subscriber.events);
+    stream.listener.onEvent(6);
+    assertEquals(6, subscriber.events.size());
+
+    subscriber.subscription.cancel();
+    assertTrue(stream.closed);
+    stream.listener.onEvent(7);
+    assertEquals(6, subscriber.events.size());
+  }
+
+  @Test
+  public void testBlockPausesStream() throws Exception {
+    final FakeStream stream = new FakeStream();
+    RecordingSubscriber subscriber = subscribe(new StreamPublisher<Integer>(stream, 2, StreamPublisher.OverflowPolicy.BLOCK));
+    final AtomicInteger published = new AtomicInteger();
+    Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        for (int i = 1; i <= 5; i++) {
+          stream.listener.onEvent(i);
+          published.incrementAndGet();
+        }
+      }
+    });
+    producer.start();
+
+    producer.join(200);
+    assertTrue(producer.isAlive());
+    assertEquals(2, published.get());
+
+    subscriber.subscription.request(Long.MAX_VALUE);
+    producer.join(5000);
+    assertEquals(5, published.get());
+    assertEquals(Arrays.asList(1, 2, 3, 4, 5), subscriber.events);
+  }
+
+  @Test
+  public void testInterruptWhileBlockedSignalsError() throws Exception {
+    final FakeStream stream = new FakeStream();
+    RecordingSubscriber subscriber = subscribe(new StreamPublisher<Integer>(stream, 1, StreamPublisher.OverflowPolicy.BLOCK));
+    Thread producer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        stream.listener.onEvent(1);
+        stream.listener.onEvent(2);
+      }
+    });
+    producer.start();
+    producer.join(200);
+    assertTrue(producer.isAlive());
+
+    producer.interrupt();
+    producer.join(5000);
+    assertTrue(subscriber.error instanceof InterruptedIOException);
+    assertTrue(stream.closed);
+    assertTrue(subscriber.events.isEmpty());
+  }
+
+  @Test
+  public void testStreamFailure() {
+    FakeStream stream = new FakeStream();
+    RecordingSubscriber subscriber = subscribe(new StreamPublisher<Integer>(stream, 10, StreamPublisher.OverflowPolicy.BLOCK));
+    subscriber.subscription.request(10);
+    stream.listener.onEvent(1);
+
+    // The stream reconnects after dropped connections, subscribers are not notified.
+    stream.listener.onFailure(new IOException("Connection reset"), false);
+    stream.listener.onEvent(2);
+    assertNull(subscriber.error);
+
+    HttpResponseException failure = new HttpResponseException(404, "Not Found");
+    stream.listener.onFailure(failure, true);
+    assertSame(failure, subscriber.error);
+    assertTrue(stream.closed);
+    assertEquals(Arrays.asList(1, 2), subscriber.events);
+  }
+
+  @Test
+  public void testDropPolicies() {
+    FakeStream stream = new FakeStream();
+    StreamPublisher<Integer> publisher = new StreamPublisher<Integer>(stream, 2, StreamPublisher.OverflowPolicy.DROP_OLDEST);
+    RecordingSubscriber subscriber = subscribe(publisher);
+    for (int i = 1; i <= 4; i++) {
+      stream.listener.onEvent(i);
+    }
+    subscriber.subscription.request(10);
+    assertEquals(Arrays.asList(3, 4), subscriber.events);
+    assertEquals(2, publisher.getDroppedCount());
+
+    stream = new FakeStream();
+    publisher = new StreamPublisher<Integer>(stream, 2, StreamPublisher.OverflowPolicy.DROP_LATEST);
+    subscriber = subscribe(publisher);
+    for (int i = 1; i <= 4; i++) {
+      stream.listener.onEvent(i);
+    }
+    subscriber.subscription.request(10);
+    assertEquals(Arrays.asList(1, 2), subscriber.events);
+    assertEquals(2, publisher.getDroppedCount());
+  }
+
+  @Test
+  public void testErrorPolicy() {
+    FakeStream stream = new FakeStream();
+    RecordingSubscriber subscriber = subscribe(new StreamPublisher<Integer>(stream, 2, StreamPublisher.OverflowPolicy.ERROR));
+    for (int i = 1; i <= 3; i++) {
+      stream.listener.onEvent(i);
+    }
+    assertTrue(subscriber.error instanceof IllegalStateException);
+    assertTrue(stream.closed);
+    subscriber.subscription.request(10);
+    assertEquals(0, subscriber.events.size());
+  }
+
+  @Test
+  public void testInvalidRequest() {
+    FakeStream stream = new FakeStream();
+    RecordingSubscriber subscriber = subscribe(new StreamPublisher<Integer>(stream, 2, StreamPublisher.OverflowPolicy.BLOCK));
+    subscriber.subscription.request(0);
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+    assertTrue(stream.closed);
+  }
+
+  @Test
+  public void testLedgersPublisher() throws Exception {
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        String body = "retry: 10000\ndata: \"hello\"\n\n" +
+                "id: 1\ndata: {\"sequence\": 1, \"paging_token\": \"1\"}\n\n" +
+                "id: 2\ndata: {\"sequence\": 2, \"paging_token\": \"2\"}\n\n";
+        return FakeHorizon.events(chain, body);
+      }
+    });
+    Server server = new Server(httpClient, "https://horizon-testnet.stellar.org");
+
+    final List<Long> sequences = Collections.synchronizedList(new ArrayList<Long>());
+    final CountDownLatch latch = new CountDownLatch(2);
+    server.ledgers().cursor("now").publisher().subscribe(new Subscriber<LedgerResponse>() {
+      private Subscription subscription;
+
+      @Override
+      public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+      }
+
+      @Override
+      public void onNext(LedgerResponse ledger) {
+        sequences.add(ledger.getSequence());
+        latch.countDown();
+        if (sequences.size() == 2) {
+          subscription.cancel();
+        } else {
+          subscription.request(1);
+        }
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList(1L, 2L), sequences);
+  }
+}
@@ -0,0 +1,53 @@
+package org.stellar.sdk.requests;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class TransportProfileTest {
+  @Test
+  public void testHighThroughput() {
+    OkHttpClient original = new OkHttpClient();
+    OkHttpClient client = TransportProfile.highThroughput().applyTo(original.newBuilder()).build();
+
+    assertEquals(256, client.dispatcher().getMaxRequests());
+    assertEquals(64, client.dispatcher().getMaxRequestsPerHost());
+    assertEquals(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1), client.protocols());
+    assertEquals(5000, client.connectTimeoutMillis());
+    assertEquals(30000, client.readTimeoutMillis());
+    assertEquals(10000, client.writeTimeoutMillis());
+    assertNotSame(original.dispatcher(), client.dispatcher());
+    assertNotSame(original.connectionPool(), client.connectionPool());
+    assertEquals(64, original.dispatcher().getMaxRequests());
+  }
+
+  @Test
+  public void testBuilder() {
+    TransportProfile profile = new TransportProfile.Builder()
+            .connectionPool(10, 1, TimeUnit.MINUTES)
+            .maxRequestsPerHost(20)
+            .http2(false)
+            .readTimeout(0, TimeUnit.SECONDS)
+            .build();
+    OkHttpClient client = profile.applyTo(new OkHttpClient.Builder()).build();
+
+    assertEquals(10, profile.getMaxIdleConnections());
+    assertEquals(60000, profile.getKeepAliveMillis());
+    assertEquals(64, client.dispatcher().getMaxRequests());
+    assertEquals(20, client.dispatcher().getMaxRequestsPerHost());
+    assertEquals(Collections.singletonList(Protocol.HTTP_1_1), client.protocols());
+    assertEquals(0, client.readTimeoutMillis());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidMaxRequests() {
+    new TransportProfile.Builder().maxRequests(0);
+  }
+}
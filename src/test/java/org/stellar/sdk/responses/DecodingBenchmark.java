@@ -0,0 +1,114 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import org.stellar.sdk.Asset;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+
+import java.lang.reflect.Type;
+
+/**
+ * Compares throughput of decoding a page of 200 payment operations with the streaming adapters of
+ * {@link GsonSingleton} and with the former tree-model deserializers, which created a {@link Gson} instance for
+ * every page and record. Run with <code>java org.stellar.sdk.responses.DecodingBenchmark [seconds]</code>.
+ */
+public class DecodingBenchmark {
+  private static final String PAYMENT = "{\"_links\": {" +
+          "\"self\": {\"href\": \"https://horizon-testnet.stellar.org/operations/3940808587743233\"}, " +
+          "\"transaction\": {\"href\": \"https://horizon-testnet.stellar.org/transactions/3ec9\"}, " +
+          "\"effects\": {\"href\": \"https://horizon-testnet.stellar.org/operations/3940808587743233/effects\"}, " +
+          "\"succeeds\": {\"href\": \"https://horizon-testnet.stellar.org/effects?order=desc\\u0026cursor=3940808587743233\"}, " +
+          "\"precedes\": {\"href\": \"https://horizon-testnet.stellar.org/effects?order=asc\\u0026cursor=3940808587743233\"}}, " +
+          "\"id\": \"3940808587743233\", \"paging_token\": \"3940808587743233\", " +
+          "\"source_account\": \"GBS43BF24ENNS3KPACUZVKK2VYPOZVBQO2CISGZ777RYGOPYC2FT6S3K\", " +
+          "\"type\": \"payment\", \"type_i\": 1, \"created_at\": \"2018-01-26T12:45:24Z\", " +
+          "\"transaction_hash\": \"3ec9e7b4d8d1ef3d8a74e8e1c3f5e4a4f3c2c1b6b7c8d9e0f1a2b3c4d5e6f7a8\", " +
+          "\"asset_type\": \"native\", " +
+          "\"from\": \"GBS43BF24ENNS3KPACUZVKK2VYPOZVBQO2CISGZ777RYGOPYC2FT6S3K\", " +
+          "\"to\": \"GDFH4NIYMIIAKRVEJJZOIGWKXGQUF3XHJG6ZM6CEA64AMTVDN44LHOQE\", \"amount\": \"10.1234567\"}";
+
+  private static final Type PAGE_TYPE = new TypeToken<Page<OperationResponse>>() {}.getType();
+
+  public static void main(String[] args) {
+    long seconds = args.length > 0 ? Long.parseLong(args[0]) : 5;
+    StringBuilder json = new StringBuilder("{\"_links\": {\"next\": {\"href\": \"/operations?cursor=1\"}}, \"_embedded\": {\"records\": [");
+    for (int i = 0; i < 200; i++) {
+      json.append(i > 0 ? "," : "").append(PAYMENT);
+    }
+    String page = json.append("]}}").toString();
+
+    Gson streaming = GsonSingleton.getInstance();
+    Gson tree = new GsonBuilder()
+            .registerTypeAdapter(Asset.class, new AssetDeserializer())
+            .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
+            .registerTypeAdapter(OperationResponse.class, new TreeOperationDeserializer())
+            .registerTypeAdapter(PAGE_TYPE, new TreePageDeserializer())
+            .create();
+
+    // Warm up both paths before measuring.
+    measure("warm-up tree", tree, page, 1);
+    measure("warm-up streaming", streaming, page, 1);
+    double treeRate = measure("tree model", tree, page, seconds);
+    double streamingRate = measure("streaming", streaming, page, seconds);
+    System.out.printf("speedup: %.1fx%n", streamingRate / treeRate);
+  }
+
+  private static double measure(String name, Gson gson, String page, long seconds) {
+    long end = System.nanoTime() + seconds * 1000000000L;
+    long start = System.nanoTime();
+    long records = 0;
+    while (System.nanoTime() < end) {
+      Page<OperationResponse> decoded = gson.fromJson(page, PAGE_TYPE);
+      if (!((PaymentOperationResponse) decoded.getRecords().get(199)).getAmount().equals("10.1234567")) {
+        throw new IllegalStateException();
+      }
+      records += decoded.getRecords().size();
+    }
+    double rate = records / ((System.nanoTime() - start) / 1e9);
+    System.out.printf("%s: %.0f records/s%n", name, rate);
+    return rate;
+  }
+
+  /**
+   * The former page deserializer, copying the records into a new tree and decoding it with a new {@link Gson}.
+   */
+  private static class TreePageDeserializer implements JsonDeserializer<Page<OperationResponse>> {
+    @Override
+    public Page<OperationResponse> deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+      JsonObject newJson = new JsonObject();
+      newJson.add("records", json.getAsJsonObject().get("_embedded").getAsJsonObject().get("records"));
+      newJson.add("links", json.getAsJsonObject().get("_links"));
+      Gson gson = new GsonBuilder()
+              .registerTypeAdapter(Asset.class, new AssetDeserializer())
+              .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
+              .registerTypeAdapter(OperationResponse.class, new TreeOperationDeserializer())
+              .create();
+      return gson.fromJson(newJson, new TypeToken<Page<OperationResponse>>() {}.getType());
+    }
+  }
+
+  /**
+   * The former operation deserializer, decoding every record from its tree with a new {@link Gson}.
+   */
+  private static class TreeOperationDeserializer implements JsonDeserializer<OperationResponse> {
+    @Override
+    public OperationResponse deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+      Gson gson = new GsonBuilder()
+              .registerTypeAdapter(KeyPair.class, new KeyPairTypeAdapter().nullSafe())
+              .create();
+      if (json.getAsJsonObject().get("type_i").getAsInt() != 1) {
+        throw new JsonParseException("Only payments are benchmarked");
+      }
+      return gson.fromJson(json, PaymentOperationResponse.class);
+    }
+  }
+}
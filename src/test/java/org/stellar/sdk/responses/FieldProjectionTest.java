@@ -0,0 +1,89 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.reflect.TypeToken;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.requests.FakeHorizon;
+import org.stellar.sdk.requests.ResponseCache;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class FieldProjectionTest {
+  private static final String PAYMENT = "{\"_links\": {\"self\": {\"href\": \"/operations/12884905985\"}}, " +
+          "\"id\": \"12884905985\", \"paging_token\": \"12884905985\", " +
+          "\"source_account\": \"GCYK67DDGBOANS6UODJ62QWGLEB2A7JQ3XUV25HCMLT7CI23PMMK3W6R\", " +
+          "\"type\": \"payment\", \"type_i\": 1, \"asset_type\": \"native\", " +
+          "\"from\": \"GCYK67DDGBOANS6UODJ62QWGLEB2A7JQ3XUV25HCMLT7CI23PMMK3W6R\", " +
+          "\"to\": \"GBRPYHIL2CI3FNQ4BXLFMNDLFJUNPU2HY3ZMFSHONUCEOASW7QC7OX2H\", \"amount\": \"10.5\", " +
+          "\"extra\": [1, {\"a\": [2]}]}";
+  private static final String PAGE = "{\"_links\": {\"next\": {\"href\": \"/operations?cursor=12884905985\"}}, " +
+          "\"_embedded\": {\"records\": [" + PAYMENT + ", " + PAYMENT + "]}}";
+
+  private static void assertProjected(PaymentOperationResponse payment) {
+    assertEquals(new Long(12884905985L), payment.getId());
+    assertEquals("12884905985", payment.getPagingToken());
+    assertEquals("payment", payment.getType());
+    assertEquals("10.5", payment.getAmount());
+    assertNull(payment.getLinks());
+    assertNull(payment.getSourceAccount());
+    assertNull(payment.getFrom());
+    assertNull(payment.getTo());
+  }
+
+  @Test
+  public void testPage() {
+    FieldProjection projection = FieldProjection.of("id", "paging_token", "type", "amount");
+    Page<OperationResponse> page = projection.fromJson(new StringReader(PAGE), new TypeToken<Page<OperationResponse>>() {}.getType());
+    assertEquals(2, page.getRecords().size());
+    assertProjected((PaymentOperationResponse) page.getRecords().get(0));
+    assertProjected((PaymentOperationResponse) page.getRecords().get(1));
+    // Page links are not part of the records.
+    assertEquals("/operations?cursor=12884905985", page.getLinks().getNext().getHref());
+  }
+
+  @Test
+  public void testRecord() {
+    FieldProjection projection = FieldProjection.of("paging_token", "id", "amount", "type");
+    assertProjected((PaymentOperationResponse) projection.<OperationResponse>fromJson(new StringReader(PAYMENT), OperationResponse.class));
+
+    // Nested objects of projected fields are decoded completely.
+    projection = FieldProjection.of("_links");
+    OperationResponse operation = projection.fromJson(new StringReader(PAYMENT), OperationResponse.class);
+    assertEquals("/operations/12884905985", operation.getLinks().getSelf().getHref());
+    assertNull(operation.getPagingToken());
+  }
+
+  @Test
+  public void testRequestBuilder() throws IOException {
+    final AtomicInteger requests = new AtomicInteger();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.incrementAndGet();
+        return FakeHorizon.json(chain, PAGE);
+      }
+    });
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org").httpClient(httpClient)
+            .responseCache(new ResponseCache(100, 60000)).build();
+
+    Page<OperationResponse> page = server.operations().fields("id", "paging_token", "type", "amount").execute();
+    assertProjected((PaymentOperationResponse) page.getRecords().get(0));
+    // Projected pages are not cached, so a full page is requested again.
+    page = server.operations().execute();
+    assertNotNull(((PaymentOperationResponse) page.getRecords().get(0)).getFrom());
+    assertEquals(2, requests.get());
+    server.operations().execute();
+    assertEquals(2, requests.get());
+  }
+}
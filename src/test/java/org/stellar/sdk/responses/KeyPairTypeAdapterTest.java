@@ -0,0 +1,48 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class KeyPairTypeAdapterTest {
+  private static final String ACCOUNT = "GCYK67DDGBOANS6UODJ62QWGLEB2A7JQ3XUV25HCMLT7CI23PMMK3W6R";
+  private static final String OTHER_ACCOUNT = "GBRPYHIL2CI3FNQ4BXLFMNDLFJUNPU2HY3ZMFSHONUCEOASW7QC7OX2H";
+
+  private static KeyPair read(KeyPairTypeAdapter adapter, String accountId) throws IOException {
+    return adapter.read(new JsonReader(new StringReader("\"" + accountId + "\"")));
+  }
+
+  @Test
+  public void testInterning() throws IOException {
+    KeyPairTypeAdapter adapter = new KeyPairTypeAdapter();
+    KeyPair keyPair = read(adapter, ACCOUNT);
+    assertEquals(ACCOUNT, keyPair.getAccountId());
+    assertSame(keyPair, read(adapter, ACCOUNT));
+    KeyPair other = read(adapter, OTHER_ACCOUNT);
+    assertNotSame(keyPair, other);
+    assertEquals(OTHER_ACCOUNT, other.getAccountId());
+  }
+
+  @Test
+  public void testSharedByResponses() {
+    String json = "{\"type_i\": 1, \"from\": \"" + ACCOUNT + "\", \"to\": \"" + ACCOUNT + "\"}";
+    PaymentOperationResponse payment = (PaymentOperationResponse) GsonSingleton.getInstance().fromJson(json, OperationResponse.class);
+    assertSame(payment.getFrom(), payment.getTo());
+    assertEquals(ACCOUNT, payment.getTo().getAccountId());
+
+    json = "{\"type_i\": 1, \"from\": null}";
+    payment = (PaymentOperationResponse) GsonSingleton.getInstance().fromJson(json, OperationResponse.class);
+    assertNull(payment.getFrom());
+  }
+}
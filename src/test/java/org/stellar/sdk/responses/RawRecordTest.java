@@ -0,0 +1,129 @@
+package org.stellar.sdk.responses;
+
+import com.google.common.base.Charsets;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import org.junit.Test;
+import org.stellar.sdk.Server;
+import org.stellar.sdk.requests.FakeHorizon;
+import org.stellar.sdk.requests.ResponseCache;
+import org.stellar.sdk.responses.operations.OperationResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RawRecordTest {
+  private static final String FIRST = "{\"_links\": {\"self\": {\"href\": \"/operations/1\"}}, " +
+          "\"id\": \"1\", \"paging_token\": \"1\", \"type\": \"payment\", \"type_i\": 1, " +
+          "\"memo\": \"quote \\\" and brace }\", \"extra\": [1, {\"paging_token\": \"nested\"}]}";
+  private static final String SECOND = "{\"paging_token\":\"2\",\"type_i\":0,\"starting_balance\":\"10.0\"}";
+
+  private static String page(String next, String... records) {
+    StringBuilder page = new StringBuilder("{\"_links\": {\"self\": {\"href\": \"/operations\"}, " +
+            "\"next\": {\"href\": \"" + next + "\", \"templated\": false}}, \"_embedded\": {\"records\": [");
+    for (int i = 0; i < records.length; i++) {
+      page.append(i > 0 ? ",\n  " : "\n  ").append(records[i]);
+    }
+    return page.append("\n]}}").toString();
+  }
+
+  @Test
+  public void testPage() throws IOException {
+    byte[] json = page("/operations?cursor=2\\u0026limit=2", FIRST, SECOND).getBytes(Charsets.UTF_8);
+    Page<RawRecord> page = RawRecord.pageOf(json);
+
+    assertEquals(2, page.getRecords().size());
+    RawRecord first = page.getRecords().get(0);
+    assertEquals("1", first.getPagingToken());
+    assertEquals(FIRST, first.toString());
+    assertEquals(FIRST.length(), first.getLength());
+    assertArrayEquals(FIRST.getBytes(Charsets.UTF_8), first.toByteArray());
+    RawRecord second = page.getRecords().get(1);
+    assertEquals("2", second.getPagingToken());
+    assertEquals(SECOND, second.toString());
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    second.writeTo(out);
+    assertEquals(SECOND, new String(out.toByteArray(), Charsets.UTF_8));
+    ByteBuffer buffer = second.asByteBuffer();
+    assertTrue(buffer.isReadOnly());
+    assertEquals(SECOND.length(), buffer.remaining());
+    assertEquals('{', buffer.get(0));
+
+    assertEquals("/operations?cursor=2&limit=2", page.getLinks().getNext().getHref());
+    assertEquals("/operations", page.getLinks().getSelf().getHref());
+    assertNull(page.getLinks().getPrev());
+
+    // Raw records decode to the same responses.
+    OperationResponse operation = GsonSingleton.getInstance().fromJson(first.toString(), OperationResponse.class);
+    assertEquals("1", operation.getPagingToken());
+  }
+
+  @Test
+  public void testRecord() {
+    RawRecord record = RawRecord.of(SECOND.getBytes(Charsets.UTF_8));
+    assertEquals("2", record.getPagingToken());
+    assertEquals(SECOND, record.toString());
+
+    assertNull(RawRecord.of("{\"id\": \"1\"}".getBytes(Charsets.UTF_8)).getPagingToken());
+    assertEquals(0, RawRecord.pageOf("{\"_embedded\": {\"records\": []}}".getBytes(Charsets.UTF_8)).getRecords().size());
+  }
+
+  @Test
+  public void testMalformed() {
+    try {
+      RawRecord.pageOf(page("/operations", FIRST).substring(0, 100).getBytes(Charsets.UTF_8));
+      fail();
+    } catch (RuntimeException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testIterateRaw() throws IOException {
+    final AtomicInteger requests = new AtomicInteger();
+    OkHttpClient httpClient = FakeHorizon.client(new Interceptor() {
+      @Override
+      public okhttp3.Response intercept(Chain chain) throws IOException {
+        requests.incrementAndGet();
+        String cursor = chain.request().url().queryParameter("cursor");
+        String body;
+        if (cursor == null) {
+          body = page("https://horizon-testnet.stellar.org/operations?cursor=1", FIRST);
+        } else if (cursor.equals("1")) {
+          body = page("https://horizon-testnet.stellar.org/operations?cursor=2", SECOND);
+        } else {
+          body = page("https://horizon-testnet.stellar.org/operations?cursor=2");
+        }
+        return FakeHorizon.json(chain, body);
+      }
+    });
+    Server server = new Server.Builder("https://horizon-testnet.stellar.org").httpClient(httpClient)
+            .responseCache(new ResponseCache(100, 60000)).build();
+
+    List<String> tokens = new ArrayList<String>();
+    for (RawRecord record : server.operations().iterateRaw()) {
+      tokens.add(record.getPagingToken());
+    }
+    assertEquals(2, tokens.size());
+    assertEquals("1", tokens.get(0));
+    assertEquals("2", tokens.get(1));
+
+    // Raw pages are not cached, so decoded pages of the same URL are requested again.
+    int raw = requests.get();
+    Page<OperationResponse> page = server.operations().execute();
+    assertEquals("1", page.getRecords().get(0).getPagingToken());
+    assertEquals(raw + 1, requests.get());
+  }
+}
@@ -0,0 +1,71 @@
+package org.stellar.sdk.responses;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.stellar.sdk.responses.effects.EffectResponse;
+import org.stellar.sdk.responses.effects.SignerCreatedEffectResponse;
+import org.stellar.sdk.responses.operations.OperationResponse;
+import org.stellar.sdk.responses.operations.PaymentOperationResponse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TypeDispatchingAdapterFactoryTest {
+  private static final String ACCOUNT = "GCYK67DDGBOANS6UODJ62QWGLEB2A7JQ3XUV25HCMLT7CI23PMMK3W6R";
+
+  @Test
+  public void testTypeAfterNestedMembers() {
+    String json = "{\"_links\": {\"self\": {\"href\": \"/operations/1\"}, \"list\": [1, [2], {\"a\": 3}]}, " +
+            "\"paging_token\": \"1\", \"type_i\": 1, \"amount\": \"10.5\", \"to\": \"" + ACCOUNT + "\"}";
+    PaymentOperationResponse operation = (PaymentOperationResponse) GsonSingleton.getInstance().fromJson(json, OperationResponse.class);
+    assertEquals("/operations/1", operation.getLinks().getSelf().getHref());
+    assertEquals("1", operation.getPagingToken());
+    assertEquals("10.5", operation.getAmount());
+    assertEquals(ACCOUNT, operation.getTo().getAccountId());
+  }
+
+  @Test
+  public void testTypeFirstAndLast() {
+    String first = "{\"type_i\": 10, \"public_key\": \"" + ACCOUNT + "\", \"weight\": 1}";
+    SignerCreatedEffectResponse effect = (SignerCreatedEffectResponse) GsonSingleton.getInstance().fromJson(first, EffectResponse.class);
+    assertEquals(ACCOUNT, effect.getPublicKey());
+    assertEquals(new Integer(1), effect.getWeight());
+
+    String last = "{\"public_key\": \"" + ACCOUNT + "\", \"weight\": 2, \"type_i\": 10}";
+    effect = (SignerCreatedEffectResponse) GsonSingleton.getInstance().fromJson(last, EffectResponse.class);
+    assertEquals(ACCOUNT, effect.getPublicKey());
+    assertEquals(new Integer(2), effect.getWeight());
+  }
+
+  @Test
+  public void testPageOfRecords() {
+    String json = "{\"_embedded\": {\"records\": [{\"type_i\": 1, \"amount\": \"1\"}, null, {\"paging_token\": \"2\", \"type_i\": 1, \"amount\": \"2\"}]}, " +
+            "\"_links\": {\"next\": {\"href\": \"/operations?cursor=2\"}}}";
+    Page<OperationResponse> page = GsonSingleton.getInstance().fromJson(json, new TypeToken<Page<OperationResponse>>() {}.getType());
+    assertEquals(3, page.getRecords().size());
+    assertEquals("1", ((PaymentOperationResponse) page.getRecords().get(0)).getAmount());
+    assertNull(page.getRecords().get(1));
+    assertEquals("2", ((PaymentOperationResponse) page.getRecords().get(2)).getAmount());
+    assertEquals("/operations?cursor=2", page.getLinks().getNext().getHref());
+  }
+
+  @Test
+  public void testInvalidType() {
+    try {
+      GsonSingleton.getInstance().fromJson("{\"type_i\": 99}", OperationResponse.class);
+      fail();
+    } catch (JsonParseException e) {
+      assertTrue(e.getMessage().contains("99"));
+    }
+    try {
+      GsonSingleton.getInstance().fromJson("{\"amount\": \"1\"}", OperationResponse.class);
+      fail();
+    } catch (JsonParseException e) {
+      assertTrue(e.getMessage().contains("type_i"));
+    }
+  }
+}